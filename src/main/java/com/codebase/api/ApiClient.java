@@ -0,0 +1,323 @@
+package com.codebase.api;
+
+import com.codebase.ConfigPaths.PropertiesFilePaths;
+import com.codebase.config.ConfigPropertiesLoader;
+import com.codebase.config.DotenvConfigManager;
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.codebase.parameters.ApiMode;
+import com.codebase.parameters.AppSettings;
+import com.codebase.parameters.ConfigFileAliases;
+import com.codebase.parameters.EnvironmentAliases;
+import com.codebase.utils.LoggerUtil;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.filter.Filter;
+import io.restassured.http.ContentType;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.HttpResponse;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+@SuppressWarnings("deprecation") // rest-assured only accepts the classic DefaultHttpClient API
+public class ApiClient implements AutoCloseable {
+
+    /**
+     * Sends API requests to {@code API_BASE_URL} over one pooled, keep-alive HTTP client. Every request,
+     * on every thread, reuses an open TCP/TLS connection to the host when one is idle. Connections are
+     * only opened while the pool is below its per-route limit.
+     * <p>
+     * Request specifications are built once per base path and cached. Each call to {@link #request(String)}
+     * starts from a copy, so concurrent tests never share mutable request state.
+     * <p>
+     * The default client follows the {@code api.mode} system property. {@code record} sends requests to the
+     * live API and stores every exchange in the {@link RecordingStore}. {@code replay} points the client at
+     * a local {@link ReplayServer} serving those recordings, so API suites run offline. Outside replay,
+     * the {@code API_RATE_LIMIT.*} properties add a {@link RateLimitFilter} in front of every request.
+     * Every call is recorded as a {@link TracingFilter} span. Objects are (de)serialized with the
+     * {@link ObjectMapperRegistry} mapper. The default client registers the model classes listed in the
+     * {@code jackson.models} system property when it is created.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * Response response = ApiClient.getDefault().request("/booking").get("/{id}", 1);
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ApiClient.class);
+
+    public static final String API_BASE_URL_KEY = "API_BASE_URL";
+
+    private static volatile ApiClient defaultInstance;
+
+    private final String baseUrl;
+    private final PoolingClientConnectionManager connectionManager;
+    private final RestAssuredConfig restAssuredConfig;
+    private final Map<String, RequestSpecification> specifications = new ConcurrentHashMap<>();
+    private final List<Filter> filters = new CopyOnWriteArrayList<>();
+    private final List<AutoCloseable> ownedResources = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates a client with its own connection pool.
+     *
+     * @param baseUrl           The scheme, host and optional port every request is sent to.
+     * @param maxConnections    The maximum number of pooled connections across all hosts.
+     * @param maxPerRoute       The maximum number of pooled connections to one host.
+     * @param keepAlive         How long an idle connection is kept when the server sends no Keep-Alive header.
+     */
+    public ApiClient(String baseUrl, int maxConnections, int maxPerRoute, Duration keepAlive) {
+        if (baseUrl == null || baseUrl.isBlank()) {
+            throw new IllegalArgumentException("API base URL cannot be null or empty.");
+        }
+        if (maxConnections <= 0 || maxPerRoute <= 0) {
+            throw new IllegalArgumentException("Connection limits must be greater than zero.");
+        }
+        this.baseUrl = baseUrl;
+
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager);
+        httpClient.setKeepAliveStrategy(keepAliveStrategy(keepAlive));
+        httpClient.addResponseInterceptor(ApiClient::dropEmptyEntity);
+
+        // Without reuseHttpClientInstance rest-assured shuts the connection manager down after every request
+        restAssuredConfig = RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig()
+                .reuseHttpClientInstance()
+                .httpClientFactory(() -> httpClient))
+                // Bodies passed as objects and response.as(...) use the shared, pre-warmed mapper
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory((type, charset) -> ObjectMapperRegistry.getMapper()));
+        filters.add(new TracingFilter());
+        logger.info("API client created for '{}' (max {} connections, {} per route)", baseUrl, maxConnections, maxPerRoute);
+    }
+
+    /**
+     * Returns the shared client for {@code API_BASE_URL}, sized by {@link AppSettings#API_MAX_CONNECTIONS},
+     * {@link AppSettings#API_MAX_CONNECTIONS_PER_ROUTE} and {@link AppSettings#API_KEEP_ALIVE_SECONDS},
+     * in the mode set by {@code api.mode}.
+     *
+     * @return The default ApiClient instance.
+     */
+    public static ApiClient getDefault() {
+        if (defaultInstance == null) {
+            synchronized (ApiClient.class) {
+                if (defaultInstance == null) {
+                    ObjectMapperRegistry.registerConfiguredModels();
+                    defaultInstance = create(ApiMode.fromSystemProperties(), resolveBaseUrl());
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * Creates a client for a base URL in the given mode, sized by the {@link AppSettings} API limits.
+     * The client owns the recording store or replay server it opens and closes them with itself.
+     *
+     * @param mode        Whether to call the live API, record it, or replay recordings.
+     * @param liveBaseUrl The live API base URL. In replay mode only its path is kept.
+     * @return The new client.
+     */
+    public static ApiClient create(ApiMode mode, String liveBaseUrl) {
+        int maxConnections = AppSettings.API_MAX_CONNECTIONS.getValue();
+        int maxPerRoute = AppSettings.API_MAX_CONNECTIONS_PER_ROUTE.getValue();
+        Duration keepAlive = Duration.ofSeconds(AppSettings.API_KEEP_ALIVE_SECONDS.getValue());
+
+        switch (mode) {
+            case RECORD -> {
+                RecordingStore store = RecordingStore.openDefault();
+                ApiClient client = new ApiClient(liveBaseUrl, maxConnections, maxPerRoute, keepAlive);
+                client.addRateLimits();
+                client.addFilter(new RecordingFilter(store));
+                client.ownedResources.add(store);
+                return client;
+            }
+            case REPLAY -> {
+                RecordingStore store = RecordingStore.openDefault();
+                ReplayServer server = ReplayServer.startFromSystemProperties(store);
+                String path = URI.create(liveBaseUrl).getRawPath();
+                ApiClient client = new ApiClient(server.getBaseUrl() + (path == null ? "" : path), maxConnections, maxPerRoute, keepAlive);
+                client.ownedResources.add(server);
+                client.ownedResources.add(store);
+                return client;
+            }
+            default -> {
+                ApiClient client = new ApiClient(liveBaseUrl, maxConnections, maxPerRoute, keepAlive);
+                client.addRateLimits();
+                return client;
+            }
+        }
+    }
+
+    /**
+     * Adds a rest-assured filter to every request this client sends. Specifications cached before the
+     * call are rebuilt, so add filters before handing the client to tests.
+     *
+     * @param filter The filter to add.
+     * @return This client.
+     */
+    public ApiClient addFilter(Filter filter) {
+        filters.add(filter);
+        specifications.clear();
+        return this;
+    }
+
+    /**
+     * Starts a request against a base path from the cached specification for that path.
+     *
+     * @param basePath The path prefix shared by the endpoint's requests, e.g. {@code "/booking"}.
+     * @return A new request specification ready for further customisation.
+     */
+    public RequestSpecification request(String basePath) {
+        return RestAssured.given().spec(getSpecification(basePath));
+    }
+
+    /**
+     * Returns the cached specification for a base path, building it on first use.
+     *
+     * @param basePath The path prefix shared by the endpoint's requests.
+     * @return The shared specification; callers must not modify it.
+     */
+    public RequestSpecification getSpecification(String basePath) {
+        return specifications.computeIfAbsent(basePath == null ? "" : basePath, path -> new RequestSpecBuilder()
+                .setBaseUri(baseUrl)
+                .setBasePath(path)
+                .setConfig(restAssuredConfig)
+                .setContentType(ContentType.JSON)
+                .setAccept(ContentType.JSON)
+                .addFilters(filters)
+                .build());
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public RestAssuredConfig getRestAssuredConfig() {
+        return restAssuredConfig;
+    }
+
+    /**
+     * @return The activity of every client-side rate limiter; empty when none are configured.
+     */
+    public List<RateLimitStatistics> getRateLimitStatistics() {
+        List<RateLimitStatistics> statistics = new ArrayList<>();
+        for (Filter filter : filters) {
+            if (filter instanceof RateLimitFilter rateLimitFilter) {
+                statistics.addAll(rateLimitFilter.getStatistics());
+            }
+        }
+        return statistics;
+    }
+
+    public PoolStatistics getPoolStatistics() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new PoolStatistics(stats.getLeased(), stats.getAvailable(), stats.getPending(), stats.getMax());
+    }
+
+    /**
+     * Closes pooled connections that have been idle for longer than the given time.
+     *
+     * @param idleTime The idle time after which a connection is closed.
+     */
+    public void closeIdleConnections(Duration idleTime) {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(idleTime.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void close() {
+        logger.info("Closing API client for '{}': {}", baseUrl, getPoolStatistics());
+        getRateLimitStatistics().forEach(statistics -> logger.info("Rate limit {}", statistics));
+        connectionManager.shutdown();
+        for (AutoCloseable resource : ownedResources) {
+            try {
+                resource.close();
+            } catch (Exception error) {
+                logger.warn("Failed to close {}: {}", resource.getClass().getSimpleName(), error.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads {@code API_BASE_URL} from the loaded UAT environment, falling back to the UAT properties file.
+     */
+    private static String resolveBaseUrl() {
+        try {
+            String alias = EnvironmentAliases.UAT.getAliasName();
+            if (DotenvConfigManager.exists(alias)) {
+                String baseUrl = DotenvConfigManager.getInstance(alias).getEnvironmentKey(API_BASE_URL_KEY);
+                if (baseUrl != null && !baseUrl.isBlank()) {
+                    return baseUrl;
+                }
+            }
+            return ConfigPropertiesLoader.getPropertyKey(loadActiveConfig(), API_BASE_URL_KEY);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "resolveBaseUrl", "Failed to resolve {}", API_BASE_URL_KEY);
+            throw new IllegalStateException("Failed to resolve " + API_BASE_URL_KEY, error);
+        }
+    }
+
+    /**
+     * Adds a rate limit filter when the UAT properties configure any {@code API_RATE_LIMIT.*} keys.
+     */
+    private void addRateLimits() {
+        try {
+            Map<String, String> limits = ConfigPropertiesLoader.getPropertiesWithPrefix(
+                    loadActiveConfig(), RateLimitFilter.RATE_LIMIT_PREFIX);
+            if (!limits.isEmpty()) {
+                addFilter(RateLimitFilter.fromProperties(limits));
+            }
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "addRateLimits", "Failed to load API rate limits");
+            throw new IllegalStateException("Failed to load API rate limits", error);
+        }
+    }
+
+    /**
+     * Returns the alias of the UAT properties the suite loads at setup, loading them first if the client is
+     * used before that. The file is read once, not once per client.
+     */
+    private static String loadActiveConfig() throws IOException {
+        String alias = ConfigFileAliases.UAT_FILE.getAliasName();
+        ConfigPropertiesLoader.loadConfigurationFile(alias, PropertiesFilePaths.UAT_FILE_PATH.getPath());
+        return alias;
+    }
+
+    private static ConnectionKeepAliveStrategy keepAliveStrategy(Duration keepAlive) {
+        return (response, context) -> {
+            long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return serverKeepAlive > 0 ? serverKeepAlive : keepAlive.toMillis();
+        };
+    }
+
+    /**
+     * Rest-assured never opens the body stream of a response with {@code Content-Length: 0}, so the
+     * connection would stay leased forever. Without an entity, HttpClient hands it straight back.
+     */
+    private static void dropEmptyEntity(HttpResponse response, HttpContext context) {
+        if (response.getEntity() != null && response.getEntity().getContentLength() == 0) {
+            response.setEntity(null);
+        }
+    }
+}
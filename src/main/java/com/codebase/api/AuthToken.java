@@ -0,0 +1,18 @@
+package com.codebase.api;
+
+import java.time.Instant;
+
+/**
+ * An authentication token and the moment it stops being accepted.
+ *
+ * @param value     The token sent with authenticated requests.
+ * @param expiresAt When the token expires.
+ */
+public record AuthToken(String value, Instant expiresAt) {
+
+    @Override
+    public String toString() {
+        // Never log the token itself
+        return "AuthToken[expiresAt=" + expiresAt + "]";
+    }
+}
@@ -0,0 +1,81 @@
+package com.codebase.api;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A compiled path such as {@code bookings[*].totalprice} or {@code $.data[0].name}, matched against the
+ * position of the streaming parser. Path elements are field names ({@code String}) and array indexes
+ * ({@code Integer}); {@code *} and {@code [*]} match any field or index.
+ */
+final class JsonPathPattern {
+
+    private static final Object ANY_FIELD = new Object();
+    private static final Object ANY_INDEX = new Object();
+
+    private final String expression;
+    private final Object[] segments;
+
+    private JsonPathPattern(String expression, Object[] segments) {
+        this.expression = expression;
+        this.segments = segments;
+    }
+
+    static JsonPathPattern compile(String expression) {
+        if (expression == null || expression.isBlank()) {
+            throw new IllegalArgumentException("Path expression cannot be null or empty.");
+        }
+        String path = expression.trim();
+        if (path.startsWith("$")) {
+            path = path.substring(1);
+        }
+        if (path.startsWith(".")) {
+            path = path.substring(1);
+        }
+
+        List<Object> segments = new ArrayList<>();
+        for (String part : path.isEmpty() ? new String[0] : path.split("\\.")) {
+            int bracket = part.indexOf('[');
+            String field = bracket < 0 ? part : part.substring(0, bracket);
+            if (!field.isEmpty()) {
+                segments.add("*".equals(field) ? ANY_FIELD : field);
+            }
+            while (bracket >= 0) {
+                int close = part.indexOf(']', bracket);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unclosed '[' in path: " + expression);
+                }
+                String index = part.substring(bracket + 1, close).trim();
+                try {
+                    segments.add("*".equals(index) ? ANY_INDEX : Integer.valueOf(index));
+                } catch (NumberFormatException error) {
+                    throw new IllegalArgumentException("Invalid array index '" + index + "' in path: " + expression, error);
+                }
+                bracket = part.indexOf('[', close);
+            }
+        }
+        return new JsonPathPattern(expression, segments.toArray());
+    }
+
+    boolean matches(List<Object> path) {
+        if (path.size() != segments.length) {
+            return false;
+        }
+        for (int i = segments.length - 1; i >= 0; i--) {
+            Object segment = segments[i];
+            Object element = path.get(i);
+            boolean matched = segment == ANY_FIELD ? element instanceof String
+                    : segment == ANY_INDEX ? element instanceof Integer
+                    : segment.equals(element);
+            if (!matched) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return expression;
+    }
+}
@@ -0,0 +1,194 @@
+package com.codebase.api;
+
+import com.codebase.concurrent.FrameworkExecutors;
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.codebase.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.apache.logging.log4j.Logger;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.stream.Stream;
+
+public class JsonSchemaRegistry {
+
+    /**
+     * Loads every JSON schema under a directory once and keeps the compiled validators. Schemas are
+     * named by their path relative to that directory, without the {@code .json} extension, e.g.
+     * {@code booking/create-response}.
+     * <p>
+     * All schemas are read, syntax-checked and compiled in parallel when the registry is created. A
+     * broken schema therefore fails at startup instead of in the middle of a run. Compiled
+     * {@link JsonSchema} instances are immutable and shared by every thread.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * apiClient.request("/booking").get("/{id}", 1)
+     *         .then().body(JsonSchemaRegistry.getDefault().matches("booking/get-response"));
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(JsonSchemaRegistry.class);
+
+    public static final String DEFAULT_SCHEMA_DIRECTORY = "src/test/resources/schemas";
+    private static final String SCHEMA_EXTENSION = ".json";
+
+    private static volatile JsonSchemaRegistry defaultInstance;
+
+    private final JsonSchemaFactory schemaFactory = JsonSchemaFactory.byDefault();
+    private final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Loads and compiles every {@code .json} file under a directory.
+     *
+     * @param schemaDirectory The directory to scan recursively; a missing directory yields an empty registry.
+     * @throws IOException If the directory cannot be scanned or a schema cannot be read or compiled.
+     */
+    public JsonSchemaRegistry(Path schemaDirectory) throws IOException {
+        if (!Files.isDirectory(schemaDirectory)) {
+            logger.warn("Schema directory '{}' does not exist, no schemas loaded", schemaDirectory);
+            return;
+        }
+
+        List<Path> schemaFiles;
+        try (Stream<Path> files = Files.walk(schemaDirectory)) {
+            schemaFiles = files.filter(file -> file.toString().endsWith(SCHEMA_EXTENSION)).toList();
+        }
+
+        // Compiling is CPU-bound, so it runs on the shared CPU pool
+        ExecutorService executor = FrameworkExecutors.cpu();
+        try {
+            CompletableFuture.allOf(schemaFiles.stream()
+                    .map(file -> FrameworkExecutors.runAsync(() -> compile(schemaDirectory, file), executor))
+                    .toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException error) {
+            Throwable cause = error.getCause();
+            ErrorHandler.logError(cause, "JsonSchemaRegistry", "Failed to compile schemas in {}", schemaDirectory);
+            throw cause instanceof IOException ioError ? ioError : new IOException(cause.getMessage(), cause);
+        }
+        logger.info("Compiled {} JSON schemas from '{}'", schemas.size(), schemaDirectory);
+    }
+
+    /**
+     * Returns the shared registry for {@link #DEFAULT_SCHEMA_DIRECTORY}, loading it on first use.
+     *
+     * @return The default JsonSchemaRegistry instance.
+     */
+    public static JsonSchemaRegistry getDefault() {
+        if (defaultInstance == null) {
+            synchronized (JsonSchemaRegistry.class) {
+                if (defaultInstance == null) {
+                    try {
+                        defaultInstance = new JsonSchemaRegistry(Paths.get(DEFAULT_SCHEMA_DIRECTORY));
+                    } catch (IOException error) {
+                        throw new IllegalStateException("Failed to load the default schema registry", error);
+                    }
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * @param name The schema name.
+     * @return The compiled schema.
+     * @throws IllegalArgumentException If no schema has that name.
+     */
+    public JsonSchema getSchema(String name) {
+        JsonSchema schema = schemas.get(name);
+        if (schema == null) {
+            throw new IllegalArgumentException("No JSON schema named '" + name + "'. Known schemas: " + schemas.keySet());
+        }
+        return schema;
+    }
+
+    /**
+     * Validates a JSON document against a named schema.
+     *
+     * @param name The schema name.
+     * @param json The JSON document.
+     * @return The validation report.
+     */
+    public ProcessingReport validate(String name, String json) {
+        JsonSchema schema = getSchema(name);
+        try {
+            return schema.validate(ObjectMapperRegistry.getMapper().readTree(json), true);
+        } catch (IOException | ProcessingException error) {
+            ErrorHandler.logError(error, "validate", "Failed to validate JSON against schema '{}'", name);
+            throw new IllegalStateException("Failed to validate JSON against schema '" + name + "'", error);
+        }
+    }
+
+    /**
+     * Creates a Hamcrest matcher for a response body, for use with rest-assured's {@code body(...)}.
+     *
+     * @param name The schema name.
+     * @return A matcher that accepts JSON strings valid against the schema.
+     */
+    public Matcher<String> matches(String name) {
+        getSchema(name);
+        return new TypeSafeMatcher<>() {
+            private ProcessingReport lastReport;
+
+            @Override
+            protected boolean matchesSafely(String json) {
+                lastReport = validate(name, json);
+                return lastReport.isSuccess();
+            }
+
+            @Override
+            public void describeTo(Description description) {
+                description.appendText("JSON valid against schema ").appendValue(name);
+            }
+
+            @Override
+            protected void describeMismatchSafely(String json, Description description) {
+                description.appendText("schema validation failed: ").appendText(String.valueOf(lastReport));
+            }
+        };
+    }
+
+    public boolean contains(String name) {
+        return schemas.containsKey(name);
+    }
+
+    public int size() {
+        return schemas.size();
+    }
+
+    private void compile(Path schemaDirectory, Path file) {
+        String name = schemaDirectory.relativize(file).toString().replace('\\', '/');
+        name = name.substring(0, name.length() - SCHEMA_EXTENSION.length());
+        try {
+            JsonNode schemaNode = ObjectMapperRegistry.getMapper().readTree(file.toFile());
+            ProcessingReport syntaxReport = schemaFactory.getSyntaxValidator().validateSchema(schemaNode);
+            if (!syntaxReport.isSuccess()) {
+                throw new IllegalArgumentException("Invalid JSON schema '" + name + "': " + syntaxReport);
+            }
+
+            JsonSchema schema = schemaFactory.getJsonSchema(schemaNode);
+            // Validating once builds and caches the root validator chain before the first real assertion
+            schema.validate(NullNode.getInstance());
+            schemas.put(name, schema);
+        } catch (IOException | ProcessingException error) {
+            throw new CompletionException(new IOException("Failed to load JSON schema: " + file, error));
+        }
+    }
+}
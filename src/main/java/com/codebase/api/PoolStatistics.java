@@ -0,0 +1,17 @@
+package com.codebase.api;
+
+/**
+ * A snapshot of the API client's connection pool.
+ *
+ * @param leased    Connections currently executing a request.
+ * @param available Idle keep-alive connections ready for reuse.
+ * @param pending   Requests waiting for a connection because the pool is exhausted.
+ * @param max       The maximum number of connections in the pool.
+ */
+public record PoolStatistics(int leased, int available, int pending, int max) {
+
+    @Override
+    public String toString() {
+        return String.format("leased=%d, available=%d, pending=%d, max=%d", leased, available, pending, max);
+    }
+}
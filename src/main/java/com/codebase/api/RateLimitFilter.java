@@ -0,0 +1,178 @@
+package com.codebase.api;
+
+import com.codebase.utils.LoggerUtil;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.apache.logging.log4j.Logger;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class RateLimitFilter implements Filter {
+
+    /**
+     * Holds API requests back to the limits a shared environment can take, with a {@link RateLimiter}
+     * per host and optionally per endpoint. A request takes a slot from its host's limiter and from the
+     * endpoint limiter with the longest matching path prefix, matched on whole path segments, then waits for the later of the two.
+     * <p>
+     * Limits come from {@code API_RATE_LIMIT.*} keys in the properties files. The value is requests per
+     * second, optionally followed by a burst size:
+     * <pre>
+     * API_RATE_LIMIT.restful-booker.herokuapp.com=10,5
+     * API_RATE_LIMIT.restful-booker.herokuapp.com/auth=1
+     * </pre>
+     * Hosts without a limit are not held back. When the server still answers 429, its {@code Retry-After}
+     * (one second if absent) pauses the limiters the request went through. Requests already waiting for
+     * a slot in those limiters are held until the pause ends as well.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(RateLimitFilter.class);
+
+    public static final String RATE_LIMIT_PREFIX = "API_RATE_LIMIT.";
+    private static final Duration DEFAULT_RETRY_AFTER = Duration.ofSeconds(1);
+
+    private final Map<String, RateLimiter> hostLimiters;
+    private final Map<String, List<EndpointLimiter>> endpointLimiters;
+
+    private RateLimitFilter(Map<String, RateLimiter> hostLimiters, Map<String, List<EndpointLimiter>> endpointLimiters) {
+        this.hostLimiters = hostLimiters;
+        this.endpointLimiters = endpointLimiters;
+    }
+
+    /**
+     * Builds the filter from {@code API_RATE_LIMIT.<host>[/<path prefix>]=<rate>[,<burst>]} entries.
+     *
+     * @param limits The configured keys and values, e.g. from {@code ConfigProperties.getPropertiesWithPrefix}.
+     * @return The filter; it lets everything through when no limits are configured.
+     */
+    public static RateLimitFilter fromProperties(Map<String, String> limits) {
+        Map<String, RateLimiter> hosts = new HashMap<>();
+        Map<String, List<EndpointLimiter>> endpoints = new HashMap<>();
+        for (Map.Entry<String, String> limit : limits.entrySet()) {
+            if (!limit.getKey().startsWith(RATE_LIMIT_PREFIX)) {
+                continue;
+            }
+            String target = limit.getKey().substring(RATE_LIMIT_PREFIX.length());
+            RateLimiter limiter = parseLimiter(target, limit.getValue());
+            int slash = target.indexOf('/');
+            if (slash < 0) {
+                hosts.put(target.toLowerCase(), limiter);
+            } else {
+                endpoints.computeIfAbsent(target.substring(0, slash).toLowerCase(), host -> new ArrayList<>())
+                        .add(new EndpointLimiter(target.substring(slash), limiter));
+            }
+        }
+        // Longest prefix first, so the most specific endpoint limit wins
+        endpoints.values().forEach(list -> list.sort(Comparator.comparingInt((EndpointLimiter e) -> e.pathPrefix.length()).reversed()));
+        logger.info("API rate limits: {} hosts, {} endpoints", hosts.size(), endpoints.values().stream().mapToInt(List::size).sum());
+        return new RateLimitFilter(Map.copyOf(hosts), Map.copyOf(endpoints));
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        URI uri = URI.create(requestSpec.getURI());
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase();
+        RateLimiter hostLimiter = hostLimiters.get(host);
+        RateLimiter endpointLimiter = findEndpointLimiter(host, uri.getRawPath());
+
+        long waitNanos = 0;
+        if (hostLimiter != null) {
+            waitNanos = hostLimiter.reserve();
+        }
+        if (endpointLimiter != null) {
+            waitNanos = Math.max(waitNanos, endpointLimiter.reserve());
+        }
+        RateLimiter.sleep(waitNanos);
+        // A 429 seen by another thread while this one slept pauses its limiter; wait out the Retry-After
+        while (!Thread.currentThread().isInterrupted() && (isPaused(hostLimiter) || isPaused(endpointLimiter))) {
+            RateLimiter.sleep(Math.max(rebookIfPaused(hostLimiter), rebookIfPaused(endpointLimiter)));
+        }
+
+        Response response = context.next(requestSpec, responseSpec);
+        if (response.statusCode() == 429) {
+            Duration retryAfter = parseRetryAfter(response.getHeader("Retry-After"));
+            logger.warn("Rate limited by {} despite client-side limits, pausing for {} ms", host, retryAfter.toMillis());
+            if (hostLimiter != null) {
+                hostLimiter.pause(retryAfter);
+            }
+            if (endpointLimiter != null) {
+                endpointLimiter.pause(retryAfter);
+            }
+        }
+        return response;
+    }
+
+    /**
+     * @return The statistics of every configured limiter, hosts first.
+     */
+    public List<RateLimitStatistics> getStatistics() {
+        List<RateLimitStatistics> statistics = new ArrayList<>();
+        hostLimiters.values().forEach(limiter -> statistics.add(limiter.getStatistics()));
+        endpointLimiters.values().forEach(list -> list.forEach(endpoint -> statistics.add(endpoint.limiter.getStatistics())));
+        return statistics;
+    }
+
+    private static boolean isPaused(RateLimiter limiter) {
+        return limiter != null && limiter.isPaused();
+    }
+
+    private static long rebookIfPaused(RateLimiter limiter) {
+        return isPaused(limiter) ? limiter.rebook() : 0;
+    }
+
+    private RateLimiter findEndpointLimiter(String host, String path) {
+        List<EndpointLimiter> candidates = endpointLimiters.get(host);
+        if (candidates == null || path == null) {
+            return null;
+        }
+        for (EndpointLimiter candidate : candidates) {
+            if (matchesPath(path, candidate.pathPrefix)) {
+                return candidate.limiter;
+            }
+        }
+        return null;
+    }
+
+    // Whole segments only, so a limit on /auth covers /auth/token but not /authors
+    private static boolean matchesPath(String path, String prefix) {
+        if (!path.startsWith(prefix)) {
+            return false;
+        }
+        return path.length() == prefix.length() || prefix.endsWith("/") || path.charAt(prefix.length()) == '/';
+    }
+
+    private static RateLimiter parseLimiter(String target, String value) {
+        String[] parts = value.trim().split("\\s*,\\s*");
+        try {
+            double rate = Double.parseDouble(parts[0]);
+            int burst = parts.length > 1 ? Integer.parseInt(parts[1]) : 1;
+            return new RateLimiter(target, rate, burst);
+        } catch (NumberFormatException error) {
+            throw new IllegalArgumentException("Invalid rate limit for '" + target + "': " + value, error);
+        }
+    }
+
+    private static Duration parseRetryAfter(String retryAfter) {
+        if (retryAfter == null || retryAfter.isBlank()) {
+            return DEFAULT_RETRY_AFTER;
+        }
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException error) {
+            // An HTTP date rather than seconds: fall back to the default pause
+            return DEFAULT_RETRY_AFTER;
+        }
+    }
+
+    private record EndpointLimiter(String pathPrefix, RateLimiter limiter) {
+    }
+}
@@ -0,0 +1,26 @@
+package com.codebase.api;
+
+/**
+ * A snapshot of one rate limiter's activity.
+ *
+ * @param name            The host or endpoint the limiter guards.
+ * @param ratePerSecond   The configured sustained rate.
+ * @param burst           The configured burst size.
+ * @param permits         Requests let through so far.
+ * @param delayed         Requests that had to wait for a slot.
+ * @param totalWaitMillis The time all requests spent waiting.
+ * @param maxWaitMillis   The longest single wait.
+ */
+public record RateLimitStatistics(String name, double ratePerSecond, int burst, long permits, long delayed,
+                                  long totalWaitMillis, long maxWaitMillis) {
+
+    public double getAverageWaitMillis() {
+        return delayed == 0 ? 0 : (double) totalWaitMillis / delayed;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: %.1f/s burst %d, permits=%d, delayed=%d, avgWait=%.1f ms, maxWait=%d ms",
+                name, ratePerSecond, burst, permits, delayed, getAverageWaitMillis(), maxWaitMillis);
+    }
+}
@@ -0,0 +1,185 @@
+package com.codebase.api;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class RateLimiter {
+
+    /**
+     * A lock-free token bucket, implemented as the generic cell rate algorithm (GCRA). The whole bucket
+     * state is one {@link AtomicLong}: the time the next request is due once the burst is used up. Each
+     * caller reserves its slot with a single compare-and-set and then sleeps until that slot comes.
+     * <p>
+     * Because every caller books a slot before it waits, requests leave evenly spaced at the configured
+     * rate. Throughput stays just under the limit instead of swinging between bursts and 429 back-offs.
+     * A {@link #pause(Duration)} after a 429 pushes every future slot back. Threads that booked a slot
+     * before the pause check {@link #isPaused()} when they wake, and book again behind it with
+     * {@link #rebook()}; {@link #acquire()} does this itself. No request is sent inside the pause, and
+     * the waiting threads resume one interval apart rather than all at once.
+     */
+
+    private final String name;
+    private final double ratePerSecond;
+    private final int burst;
+    private final long intervalNanos;
+    private final long toleranceNanos;
+    private final AtomicLong theoreticalArrival;
+    private final AtomicLong pausedUntil;
+
+    private final LongAdder permits = new LongAdder();
+    private final LongAdder delayed = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    /**
+     * @param name          The name shown in statistics, e.g. the host or endpoint.
+     * @param ratePerSecond The sustained number of requests per second.
+     * @param burst         How many requests may go back to back after an idle period; at least 1.
+     */
+    public RateLimiter(String name, double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1: " + ratePerSecond + ", " + burst);
+        }
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        this.toleranceNanos = (burst - 1) * intervalNanos;
+        this.theoreticalArrival = new AtomicLong(System.nanoTime() - toleranceNanos);
+        this.pausedUntil = new AtomicLong(System.nanoTime());
+    }
+
+    /**
+     * Waits until a request may be sent.
+     *
+     * @return How long the caller waited, in nanoseconds.
+     */
+    public long acquire() {
+        long waitNanos = reserve();
+        sleep(waitNanos);
+        // A pause that started while this thread slept moves its slot back
+        while (isPaused() && !Thread.currentThread().isInterrupted()) {
+            long extraNanos = rebook();
+            sleep(extraNanos);
+            waitNanos += extraNanos;
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Books the next free slot without waiting for it. Use this to reserve in several limiters at
+     * once and then {@link #sleep(long)} for the longest of the waits.
+     *
+     * @return How long the caller must wait before sending, in nanoseconds; 0 to send now.
+     */
+    public long reserve() {
+        long waitNanos = book();
+        record(waitNanos);
+        return waitNanos;
+    }
+
+    /**
+     * Books a new slot behind the current pause, for a caller whose earlier slot fell inside it. The
+     * extra wait is counted, but not as another permit.
+     *
+     * @return How long the caller must wait from now, in nanoseconds.
+     */
+    public long rebook() {
+        long waitNanos = book();
+        if (waitNanos > 0) {
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * @return True while a {@link #pause(Duration)} is in force.
+     */
+    public boolean isPaused() {
+        return pausedUntil.get() - System.nanoTime() > 0;
+    }
+
+    /**
+     * Sends a request now if the bucket allows it.
+     *
+     * @return True if a slot was taken; false if the caller would have had to wait.
+     */
+    public boolean tryAcquire() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long slot = Math.max(arrival, now - toleranceNanos);
+            if (slot > now) {
+                return false;
+            }
+            if (theoreticalArrival.compareAndSet(arrival, slot + intervalNanos)) {
+                record(0);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Holds back every request for a while, e.g. for the {@code Retry-After} of a 429 response.
+     * Requests then resume one interval apart, without a burst.
+     *
+     * @param duration How long from now no request may be sent.
+     */
+    public void pause(Duration duration) {
+        long resumeAt = System.nanoTime() + duration.toNanos();
+        // nanoTime values are compared by difference, as they may wrap
+        pausedUntil.accumulateAndGet(resumeAt, (current, next) -> next - current > 0 ? next : current);
+        theoreticalArrival.accumulateAndGet(resumeAt, Math::max);
+    }
+
+    public RateLimitStatistics getStatistics() {
+        return new RateLimitStatistics(name, ratePerSecond, burst, permits.sum(), delayed.sum(),
+                TimeUnit.NANOSECONDS.toMillis(totalWaitNanos.sum()), TimeUnit.NANOSECONDS.toMillis(maxWaitNanos.get()));
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Parks the calling thread for the given time, restoring the interrupt flag if it is interrupted.
+     *
+     * @param nanos The time to wait; nothing happens when it is 0 or less.
+     */
+    public static void sleep(long nanos) {
+        long deadline = System.nanoTime() + nanos;
+        long remaining = nanos;
+        while (remaining > 0) {
+            LockSupport.parkNanos(remaining);
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            remaining = deadline - System.nanoTime();
+        }
+    }
+
+    private long book() {
+        while (true) {
+            long now = System.nanoTime();
+            long arrival = theoreticalArrival.get();
+            long slot = Math.max(arrival, now - toleranceNanos);
+            if (theoreticalArrival.compareAndSet(arrival, slot + intervalNanos)) {
+                return Math.max(0, slot - now);
+            }
+        }
+    }
+
+    private void record(long waitNanos) {
+        permits.increment();
+        if (waitNanos > 0) {
+            delayed.increment();
+            totalWaitNanos.add(waitNanos);
+            maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.codebase.api;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A recorded API response, as stored by {@link RecordingStore} and served by {@link ReplayServer}.
+ *
+ * @param status  The HTTP status code.
+ * @param headers The response headers worth replaying, in their recorded order.
+ * @param body    The raw response body; empty when the response had none.
+ */
+public record Recording(int status, Map<String, List<String>> headers, byte[] body) {
+
+    public Recording {
+        headers = headers == null ? Map.of() : headers;
+        body = body == null ? new byte[0] : body;
+    }
+}
@@ -0,0 +1,74 @@
+package com.codebase.api;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class RecordingFilter implements Filter {
+
+    /**
+     * Passes each request through to the live API and stores the request/response pair in a
+     * {@link RecordingStore}, for {@link ReplayServer} to serve later. The response body is read into
+     * memory to record it; rest-assured keeps it, so the test can still read the response as usual.
+     * <p>
+     * Connection-level headers are not recorded, because the replay server sets its own. Neither are
+     * {@code Content-Encoding} and {@code Content-MD5}: rest-assured has already decompressed the body it
+     * hands over, so replaying them would describe bytes the recording does not hold.
+     */
+
+    private static final Set<String> SKIPPED_HEADERS = Set.of(
+            "connection", "content-encoding", "content-length", "content-md5", "date", "keep-alive",
+            "transfer-encoding", "via");
+
+    private final RecordingStore store;
+
+    public RecordingFilter(RecordingStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        Response response = context.next(requestSpec, responseSpec);
+        String key = RecordingStore.key(requestSpec.getMethod(), target(requestSpec.getURI()), bodyBytes(requestSpec.getBody()));
+        store.record(key, new Recording(response.statusCode(), headers(response), response.asByteArray()));
+        return response;
+    }
+
+    static String target(String uri) {
+        URI parsed = URI.create(uri);
+        String path = parsed.getRawPath() == null || parsed.getRawPath().isEmpty() ? "/" : parsed.getRawPath();
+        return parsed.getRawQuery() == null ? path : path + "?" + parsed.getRawQuery();
+    }
+
+    static byte[] bodyBytes(Object body) {
+        if (body == null) {
+            return new byte[0];
+        }
+        if (body instanceof byte[] bytes) {
+            return bytes;
+        }
+        return String.valueOf(body).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static Map<String, List<String>> headers(Response response) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (Header header : response.getHeaders()) {
+            if (!SKIPPED_HEADERS.contains(header.getName().toLowerCase())) {
+                headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+            }
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,354 @@
+package com.codebase.api;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+public class RecordingStore implements AutoCloseable {
+
+    /**
+     * Request/response pairs captured from the live API, in two files in one directory.
+     * {@code recordings.dat} is an append-only log of length-prefixed entries. Each entry holds the
+     * request key, status, headers and body; bodies of 512 bytes or more are deflated.
+     * {@code recordings.idx} maps each key to the offset of its latest entry, so opening a store reads
+     * only the small index and each lookup reads one entry.
+     * <p>
+     * A request is keyed by method, path with query, and a CRC-32 of its body, e.g.
+     * {@code POST /auth #1c291ca3}. Recording the same request again replaces the earlier response.
+     * The index is written on {@link #close()}. If it is missing or older than the data file, it is
+     * rebuilt by scanning the data file, so an interrupted recording run loses nothing.
+     * <p>
+     * Lookups use positional reads and are safe from any number of threads. Appends are serialised.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(RecordingStore.class);
+
+    public static final String RECORDINGS_DIR_PROPERTY = "api.recordings.dir";
+    private static final String DEFAULT_RECORDINGS_DIR = "src/test/resources/api-recordings";
+    private static final String DATA_FILE = "recordings.dat";
+    private static final String INDEX_FILE = "recordings.idx";
+
+    private static final int DATA_MAGIC = 0x41505244;  // "APRD"
+    private static final int INDEX_MAGIC = 0x41505249; // "APRI"
+    private static final int COMPRESSION_THRESHOLD = 512;
+    private static final byte RAW = 0;
+    private static final byte DEFLATED = 1;
+
+    private final Path indexFile;
+    private final FileChannel data;
+    private final Map<String, Entry> index = new ConcurrentHashMap<>();
+    private final Map<Entry, Recording> decoded = new ConcurrentHashMap<>();
+
+    private RecordingStore(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.indexFile = directory.resolve(INDEX_FILE);
+        this.data = FileChannel.open(directory.resolve(DATA_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (data.size() == 0) {
+            data.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, DATA_MAGIC));
+        } else if (readInt(0) != DATA_MAGIC) {
+            data.close();
+            throw new IOException("Not a recordings file: " + directory.resolve(DATA_FILE));
+        }
+        if (!loadIndex()) {
+            rebuildIndex();
+        }
+    }
+
+    /**
+     * Opens the store in a directory, creating it when it does not exist.
+     *
+     * @param directory The directory holding {@code recordings.dat} and {@code recordings.idx}.
+     * @return The opened store.
+     */
+    public static RecordingStore open(Path directory) {
+        try {
+            RecordingStore store = new RecordingStore(directory);
+            logger.info("Opened {} API recordings in '{}'", store.size(), directory);
+            return store;
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "open", "Failed to open API recordings in {}", directory);
+            throw new IllegalStateException("Failed to open API recordings in " + directory, error);
+        }
+    }
+
+    /**
+     * Opens the store in the directory named by {@code api.recordings.dir}, or
+     * {@code src/test/resources/api-recordings}.
+     *
+     * @return The opened store.
+     */
+    public static RecordingStore openDefault() {
+        return open(Paths.get(System.getProperty(RECORDINGS_DIR_PROPERTY, DEFAULT_RECORDINGS_DIR)));
+    }
+
+    /**
+     * Builds the key a request is stored under.
+     *
+     * @param method      The HTTP method.
+     * @param target      The path and query, e.g. {@code /booking?firstname=Jim}.
+     * @param requestBody The request body; null or empty when there is none.
+     * @return The key.
+     */
+    public static String key(String method, String target, byte[] requestBody) {
+        String bodyHash = "-";
+        if (requestBody != null && requestBody.length > 0) {
+            CRC32 crc = new CRC32();
+            crc.update(requestBody);
+            bodyHash = String.format("%08x", crc.getValue());
+        }
+        return method.toUpperCase() + " " + target + " #" + bodyHash;
+    }
+
+    /**
+     * Appends a response, replacing any earlier recording of the same request.
+     *
+     * @param key       The request key from {@link #key(String, String, byte[])}.
+     * @param recording The response to store.
+     */
+    public synchronized void record(String key, Recording recording) {
+        try {
+            byte[] payload = encode(key, recording);
+            long offset = data.size();
+            ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES + payload.length);
+            buffer.putInt(payload.length).put(payload).flip();
+            while (buffer.hasRemaining()) {
+                data.write(buffer, offset + buffer.position());
+            }
+            index.put(key, new Entry(offset + Integer.BYTES, payload.length));
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "record", "Failed to record API response for {}", key);
+            throw new IllegalStateException("Failed to record API response for " + key, error);
+        }
+    }
+
+    /**
+     * Looks up the latest response recorded for a request.
+     *
+     * @param key The request key from {@link #key(String, String, byte[])}.
+     * @return The recording, or empty when the request was never recorded.
+     */
+    public Optional<Recording> find(String key) {
+        Entry entry = index.get(key);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        return Optional.of(decoded.computeIfAbsent(entry, this::read));
+    }
+
+    public boolean contains(String key) {
+        return index.containsKey(key);
+    }
+
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Writes the index next to the data file, replacing the previous one atomically.
+     */
+    public synchronized void flush() {
+        try {
+            data.force(false);
+            Path temporary = indexFile.resolveSibling(INDEX_FILE + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temporary))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeLong(data.size());
+                out.writeInt(index.size());
+                for (Map.Entry<String, Entry> entry : index.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue().offset);
+                    out.writeInt(entry.getValue().length);
+                }
+            }
+            Files.move(temporary, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "flush", "Failed to write API recordings index {}", indexFile);
+            throw new IllegalStateException("Failed to write API recordings index " + indexFile, error);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        if (!data.isOpen()) {
+            return;
+        }
+        flush();
+        try {
+            data.close();
+        } catch (IOException error) {
+            logger.warn("Failed to close API recordings file: {}", error.getMessage());
+        }
+    }
+
+    private boolean loadIndex() throws IOException {
+        if (!Files.exists(indexFile)) {
+            return false;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(indexFile))) {
+            if (in.readInt() != INDEX_MAGIC || in.readLong() != data.size()) {
+                logger.info("API recordings index '{}' is stale, rebuilding it", indexFile);
+                return false;
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                index.put(in.readUTF(), new Entry(in.readLong(), in.readInt()));
+            }
+            return true;
+        }
+    }
+
+    private void rebuildIndex() throws IOException {
+        index.clear();
+        long offset = Integer.BYTES;
+        long size = data.size();
+        while (offset + Integer.BYTES <= size) {
+            int length = readInt(offset);
+            if (length <= 0 || offset + Integer.BYTES + length > size) {
+                // A partly written last entry: drop it so later appends start from a clean boundary
+                logger.warn("Truncating incomplete API recording at offset {}", offset);
+                data.truncate(offset);
+                break;
+            }
+            Entry entry = new Entry(offset + Integer.BYTES, length);
+            index.put(readKey(entry), entry);
+            offset = entry.offset + length;
+        }
+    }
+
+    private Recording read(Entry entry) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(readPayload(entry)))) {
+            in.readUTF();
+            int status = in.readUnsignedShort();
+            int headerCount = in.readUnsignedShort();
+            Map<String, List<String>> headers = new LinkedHashMap<>();
+            for (int i = 0; i < headerCount; i++) {
+                String name = in.readUTF();
+                int valueCount = in.readUnsignedShort();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int j = 0; j < valueCount; j++) {
+                    values.add(in.readUTF());
+                }
+                headers.put(name, List.copyOf(values));
+            }
+            byte encoding = in.readByte();
+            int rawLength = in.readInt();
+            byte[] stored = in.readAllBytes();
+            byte[] body = encoding == DEFLATED ? inflate(stored, rawLength) : stored;
+            return new Recording(status, headers, body);
+        } catch (IOException | DataFormatException error) {
+            ErrorHandler.logError(error, "read", "Failed to read API recording at offset {}", entry.offset);
+            throw new IllegalStateException("Failed to read API recording at offset " + entry.offset, error);
+        }
+    }
+
+    private String readKey(Entry entry) throws IOException {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(readPayload(entry)))) {
+            return in.readUTF();
+        }
+    }
+
+    private byte[] readPayload(Entry entry) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, entry.offset + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of recordings file");
+            }
+        }
+        return buffer.array();
+    }
+
+    private int readInt(long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES);
+        while (buffer.hasRemaining()) {
+            if (data.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of recordings file");
+            }
+        }
+        return buffer.getInt(0);
+    }
+
+    private static byte[] encode(String key, Recording recording) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(recording.body().length + 128);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(key);
+            out.writeShort(recording.status());
+            out.writeShort(recording.headers().size());
+            for (Map.Entry<String, List<String>> header : recording.headers().entrySet()) {
+                out.writeUTF(header.getKey());
+                out.writeShort(header.getValue().size());
+                for (String value : header.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+            byte[] body = recording.body();
+            byte[] compressed = body.length >= COMPRESSION_THRESHOLD ? deflate(body) : null;
+            boolean useCompressed = compressed != null && compressed.length < body.length;
+            out.writeByte(useCompressed ? DEFLATED : RAW);
+            out.writeInt(body.length);
+            out.write(useCompressed ? compressed : body);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] deflate(byte[] body) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(body);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2);
+            byte[] chunk = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(chunk, 0, deflater.deflate(chunk));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored, int rawLength) throws DataFormatException {
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(stored);
+            byte[] body = new byte[rawLength];
+            int filled = 0;
+            while (filled < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(body, filled, rawLength - filled);
+                if (inflated == 0 && inflater.needsInput()) {
+                    throw new DataFormatException("Truncated deflated body");
+                }
+                filled += inflated;
+            }
+            return body;
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private record Entry(long offset, int length) {
+    }
+}
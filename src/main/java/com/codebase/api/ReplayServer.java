@@ -0,0 +1,172 @@
+package com.codebase.api;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.utils.LoggerUtil;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ReplayServer implements AutoCloseable {
+
+    /**
+     * An embedded HTTP server on {@code 127.0.0.1} that answers API requests from a {@link RecordingStore}
+     * instead of the network. Each request is looked up by the same key it was recorded under. A request
+     * that was never recorded gets a 404 with an {@code X-Replay-Miss} header, so a missing recording
+     * reads as a clear test failure.
+     * <p>
+     * Latency can be injected to keep timing-sensitive code honest: every response is delayed by a fixed
+     * time plus a uniformly random jitter. Requests are handled on virtual threads, so even thousands of
+     * delayed requests in flight cost no platform threads.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * try (ReplayServer server = ReplayServer.start(RecordingStore.openDefault(), Duration.ofMillis(20), Duration.ZERO)) {
+     *     ApiClient api = new ApiClient(server.getBaseUrl(), 64, 32, Duration.ofSeconds(30));
+     * }
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ReplayServer.class);
+
+    public static final String LATENCY_PROPERTY = "api.replay.latency.millis";
+    public static final String JITTER_PROPERTY = "api.replay.jitter.millis";
+    public static final String REPLAY_MISS_HEADER = "X-Replay-Miss";
+
+    private final RecordingStore store;
+    private final Duration latency;
+    private final Duration jitter;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private ReplayServer(RecordingStore store, Duration latency, Duration jitter) throws IOException {
+        if (latency.isNegative() || jitter.isNegative()) {
+            throw new IllegalArgumentException("Replay latency and jitter cannot be negative.");
+        }
+        this.store = store;
+        this.latency = latency;
+        this.jitter = jitter;
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("replay-", 0).factory());
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Starts a server on a free local port.
+     *
+     * @param store   The recordings to serve.
+     * @param latency The fixed delay added to every response.
+     * @param jitter  The upper bound of a random delay added on top.
+     * @return The running server.
+     */
+    public static ReplayServer start(RecordingStore store, Duration latency, Duration jitter) {
+        try {
+            ReplayServer replayServer = new ReplayServer(store, latency, jitter);
+            logger.info("Replaying {} API recordings at {} (latency {} ms + up to {} ms jitter)",
+                    store.size(), replayServer.getBaseUrl(), latency.toMillis(), jitter.toMillis());
+            return replayServer;
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "start", "Failed to start the API replay server");
+            throw new IllegalStateException("Failed to start the API replay server", error);
+        }
+    }
+
+    /**
+     * Starts a server with the latency from {@code api.replay.latency.millis} and
+     * {@code api.replay.jitter.millis}, both 0 by default.
+     *
+     * @param store The recordings to serve.
+     * @return The running server.
+     */
+    public static ReplayServer startFromSystemProperties(RecordingStore store) {
+        return start(store, Duration.ofMillis(Long.getLong(LATENCY_PROPERTY, 0)), Duration.ofMillis(Long.getLong(JITTER_PROPERTY, 0)));
+    }
+
+    public String getBaseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("API replay server stopped: {} hits, {} misses", getHitCount(), getMissCount());
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            String key = RecordingStore.key(exchange.getRequestMethod(), exchange.getRequestURI().toString(), requestBody);
+            Optional<Recording> recording = store.find(key);
+            delay();
+
+            if (recording.isEmpty()) {
+                misses.increment();
+                logger.warn("No API recording for '{}'", key);
+                byte[] body = ("{\"error\":\"No recording for " + key.replace("\"", "\\\"") + "\"}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.getResponseHeaders().add(REPLAY_MISS_HEADER, "true");
+                send(exchange, 404, body);
+                return;
+            }
+
+            hits.increment();
+            for (Map.Entry<String, List<String>> header : recording.get().headers().entrySet()) {
+                exchange.getResponseHeaders().put(header.getKey(), header.getValue());
+            }
+            send(exchange, recording.get().status(), recording.get().body());
+        }
+    }
+
+    private void delay() {
+        long delayMillis = latency.toMillis();
+        if (!jitter.isZero()) {
+            delayMillis += ThreadLocalRandom.current().nextLong(jitter.toMillis() + 1);
+        }
+        if (delayMillis > 0) {
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        boolean noBody = body.length == 0 || "HEAD".equalsIgnoreCase(exchange.getRequestMethod());
+        exchange.sendResponseHeaders(status, noBody ? -1 : body.length);
+        if (!noBody) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.codebase.api;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.codebase.utils.LoggerUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+public class StreamingJsonAssertions {
+
+    /**
+     * Checks path expectations against a JSON document in a single pass of Jackson's streaming
+     * {@link JsonParser}. No tree is built. The parser keeps only the current path, and each expectation
+     * keeps a match counter and its first failure. Memory use therefore depends on the nesting depth,
+     * not on the payload size. A multi-megabyte export can be asserted on without holding it in memory.
+     * <p>
+     * Paths use dot notation with array indexes, e.g. {@code bookings[0].firstname}. {@code [*]} and
+     * {@code *} match any index or field. All failed expectations are reported together in one
+     * {@link AssertionError}.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * StreamingJsonAssertions.expect()
+     *         .count("bookings[*]", 5000)
+     *         .each("bookings[*].totalprice", price -&gt; Long.parseLong(price) &gt;= 0, "a non-negative price")
+     *         .equalTo("meta.status", "complete")
+     *         .verify(response);
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(StreamingJsonAssertions.class);
+
+    private final List<Expectation> expectations = new ArrayList<>();
+
+    private StreamingJsonAssertions() {
+    }
+
+    public static StreamingJsonAssertions expect() {
+        return new StreamingJsonAssertions();
+    }
+
+    /**
+     * Expects at least one value at the path.
+     */
+    public StreamingJsonAssertions exists(String path) {
+        expectations.add(new Expectation(path, "to exist", null) {
+            @Override
+            boolean failed() {
+                return matches == 0;
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Expects exactly {@code expectedCount} values at the path, e.g. the elements of an array with {@code items[*]}.
+     */
+    public StreamingJsonAssertions count(String path, long expectedCount) {
+        expectations.add(new Expectation(path, "to match " + expectedCount + " values", null) {
+            @Override
+            boolean failed() {
+                return matches != expectedCount;
+            }
+
+            @Override
+            String actual() {
+                return "matched " + matches;
+            }
+        });
+        return this;
+    }
+
+    /**
+     * Expects every value at the path to equal {@code expected}. Numbers compare by value, so {@code 1}
+     * equals {@code 1.0}. {@code null} expects JSON {@code null}.
+     */
+    public StreamingJsonAssertions equalTo(String path, Object expected) {
+        String description = "to equal " + expected;
+        expectations.add(new Expectation(path, description, token -> matchesExpected(token, expected)));
+        return this;
+    }
+
+    /**
+     * Expects every scalar value at the path, as text, to satisfy the predicate.
+     *
+     * @param description How the predicate reads in a failure message, e.g. {@code "a non-negative price"}.
+     */
+    public StreamingJsonAssertions each(String path, Predicate<String> predicate, String description) {
+        expectations.add(new Expectation(path, "to be " + description,
+                token -> token.value() != null && predicate.test(token.value())));
+        return this;
+    }
+
+    public void verify(Response response) {
+        verify(response.asInputStream());
+    }
+
+    public void verify(Path file) {
+        try (InputStream input = Files.newInputStream(file)) {
+            verify(input);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "verify", "Failed to read JSON file: {}", file);
+            throw new IllegalStateException("Failed to read JSON file: " + file, error);
+        }
+    }
+
+    /**
+     * Streams the document once and evaluates every expectation.
+     *
+     * @param input The JSON document; it is read to the end but not closed.
+     * @throws AssertionError If any expectation is not met.
+     */
+    public void verify(InputStream input) {
+        if (expectations.isEmpty()) {
+            throw new IllegalStateException("No expectations to verify.");
+        }
+        expectations.forEach(Expectation::reset);
+
+        List<Object> path = new ArrayList<>();
+        List<Boolean> inArray = new ArrayList<>();
+        try (JsonParser parser = ObjectMapperRegistry.getFactory().createParser(input)) {
+            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                int depth = path.size();
+                if (token == JsonToken.FIELD_NAME) {
+                    path.set(depth - 1, parser.currentName());
+                    continue;
+                }
+                if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+                    path.remove(depth - 1);
+                    inArray.remove(depth - 1);
+                    continue;
+                }
+
+                // Every remaining token starts a value; inside an array that value has the next index
+                if (depth > 0 && inArray.get(depth - 1)) {
+                    path.set(depth - 1, (Integer) path.get(depth - 1) + 1);
+                }
+                ValueToken value = new ValueToken(token, token.isScalarValue() && token != JsonToken.VALUE_NULL ? parser.getText() : null);
+                for (Expectation expectation : expectations) {
+                    if (expectation.pattern.matches(path)) {
+                        expectation.accept(value);
+                    }
+                }
+
+                if (token == JsonToken.START_OBJECT) {
+                    path.add(null);
+                    inArray.add(false);
+                } else if (token == JsonToken.START_ARRAY) {
+                    path.add(-1);
+                    inArray.add(true);
+                }
+            }
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "verify", "Failed to parse JSON document");
+            throw new IllegalStateException("Failed to parse JSON document", error);
+        }
+
+        List<String> failures = expectations.stream().filter(Expectation::failed).map(Expectation::describeFailure).toList();
+        if (!failures.isEmpty()) {
+            throw new AssertionError("JSON expectations failed:\n  " + String.join("\n  ", failures));
+        }
+        logger.debug("{} streaming JSON expectations passed", expectations.size());
+    }
+
+    private static boolean matchesExpected(ValueToken token, Object expected) {
+        if (expected == null) {
+            return token.type() == JsonToken.VALUE_NULL;
+        }
+        if (token.value() == null) {
+            return false;
+        }
+        if (expected instanceof Number number && token.type().isNumeric()) {
+            return new BigDecimal(token.value()).compareTo(new BigDecimal(number.toString())) == 0;
+        }
+        return Objects.equals(token.value(), String.valueOf(expected));
+    }
+
+    private record ValueToken(JsonToken type, String value) {
+
+        @Override
+        public String toString() {
+            return value != null ? value : type.isStructStart() ? type.asString() + "..." : "null";
+        }
+    }
+
+    private static class Expectation {
+        final JsonPathPattern pattern;
+        final String description;
+        final Predicate<ValueToken> condition;
+        long matches;
+        ValueToken firstMismatch;
+        long mismatchIndex;
+
+        Expectation(String path, String description, Predicate<ValueToken> condition) {
+            this.pattern = JsonPathPattern.compile(path);
+            this.description = description;
+            this.condition = condition;
+        }
+
+        void reset() {
+            matches = 0;
+            firstMismatch = null;
+        }
+
+        void accept(ValueToken token) {
+            matches++;
+            if (condition != null && firstMismatch == null && !condition.test(token)) {
+                firstMismatch = token;
+                mismatchIndex = matches;
+            }
+        }
+
+        boolean failed() {
+            return matches == 0 || firstMismatch != null;
+        }
+
+        String actual() {
+            if (matches == 0) {
+                return "no value found";
+            }
+            return "value #" + mismatchIndex + " was " + firstMismatch;
+        }
+
+        String describeFailure() {
+            return String.format("expected '%s' %s, but %s", pattern, description, actual());
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.codebase.api;
+
+import com.codebase.config.DotenvConfig;
+import com.codebase.crypto.CryptoManager;
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.parameters.AppSettings;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import javax.crypto.SecretKey;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+public class TokenCache {
+
+    /**
+     * Fetches an auth token once and shares it with every thread until shortly before it expires.
+     * <p>
+     * Refreshes are single-flight. Only the first thread to find the token missing or expiring runs the
+     * fetch; decryption of the credentials and the token request are part of it. Threads that arrive
+     * while that fetch is running wait on its result if they have no valid token. If the current token
+     * is still valid they keep using it. Inside the early-refresh window the token is therefore renewed
+     * by one caller while the rest carry on.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * TokenCache tokens = TokenCache.forCredentials(ApiClient.getDefault(), environment, secretKey);
+     * apiClient.request("/booking").cookie("token", tokens.getToken()).delete("/{id}", id);
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(TokenCache.class);
+
+    private static final String TOKEN_USERNAME_KEY = "TOKEN_USERNAME";
+    private static final String TOKEN_PASSWORD_KEY = "TOKEN_PASSWORD";
+
+    private final Callable<AuthToken> fetcher;
+    private final Duration refreshAhead;
+    private final Clock clock;
+    private final AtomicReference<CompletableFuture<AuthToken>> inFlight = new AtomicReference<>();
+    private final LongAdder fetchCount = new LongAdder();
+    private volatile AuthToken current;
+
+    /**
+     * Creates a cache around a token fetch.
+     *
+     * @param fetcher      Obtains a new token; runs on whichever caller wins the refresh.
+     * @param refreshAhead How long before expiry a new token is fetched.
+     * @param clock        The clock used to judge expiry.
+     */
+    public TokenCache(Callable<AuthToken> fetcher, Duration refreshAhead, Clock clock) {
+        if (fetcher == null) {
+            throw new IllegalArgumentException("Token fetcher cannot be null.");
+        }
+        this.fetcher = fetcher;
+        this.refreshAhead = refreshAhead;
+        this.clock = clock;
+    }
+
+    /**
+     * Creates a cache that logs in to {@code /auth} with the encrypted {@code TOKEN_USERNAME} and
+     * {@code TOKEN_PASSWORD}. The credentials are decrypted only when a token is fetched. A token is
+     * assumed to live for {@link AppSettings#API_TOKEN_LIFETIME_SECONDS}, because the endpoint returns
+     * no expiry of its own.
+     *
+     * @param apiClient   The client the login request is sent through.
+     * @param environment The environment holding the encrypted credentials.
+     * @param secretKey   The key the credentials were encrypted with.
+     * @return A new TokenCache.
+     */
+    public static TokenCache forCredentials(ApiClient apiClient, DotenvConfig environment, SecretKey secretKey) {
+        Duration lifetime = Duration.ofSeconds(AppSettings.API_TOKEN_LIFETIME_SECONDS.getValue());
+        Clock clock = Clock.systemUTC();
+
+        Callable<AuthToken> fetcher = () -> {
+            List<String> credentials = CryptoManager.decryptMultipleKeys(
+                    environment, secretKey, TOKEN_USERNAME_KEY, TOKEN_PASSWORD_KEY);
+            Instant requestedAt = clock.instant();
+            String token = apiClient.request("/auth")
+                    .body(Map.of("username", credentials.get(0), "password", credentials.get(1)))
+                    .post()
+                    .then().statusCode(200)
+                    .extract().path("token");
+            if (token == null || token.isBlank()) {
+                throw new IllegalStateException("Authentication response did not contain a token.");
+            }
+            return new AuthToken(token, requestedAt.plus(lifetime));
+        };
+        return new TokenCache(fetcher, Duration.ofSeconds(AppSettings.API_TOKEN_REFRESH_AHEAD_SECONDS.getValue()), clock);
+    }
+
+    /**
+     * Returns a valid token, fetching or refreshing it if needed.
+     *
+     * @return The token value.
+     */
+    public String getToken() {
+        AuthToken token = current;
+        Instant now = clock.instant();
+
+        if (token != null && now.isBefore(token.expiresAt().minus(refreshAhead))) {
+            return token.value();
+        }
+
+        if (token != null && now.isBefore(token.expiresAt())) {
+            // Early refresh: the winner refreshes, everyone else keeps using the still valid token
+            CompletableFuture<AuthToken> refresh = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, refresh)) {
+                try {
+                    return runFetch(refresh).value();
+                } catch (RuntimeException | AssertionError error) {
+                    logger.warn("Early token refresh failed, keeping the current token: {}", error.getMessage());
+                }
+            }
+            return token.value();
+        }
+
+        return awaitRefresh().value();
+    }
+
+    /**
+     * Discards a token the server rejected, so the next {@link #getToken()} fetches a new one. A token
+     * that has already been replaced by another thread is left alone.
+     *
+     * @param rejectedToken The token value the server rejected.
+     */
+    public void invalidate(String rejectedToken) {
+        AuthToken token = current;
+        if (token != null && token.value().equals(rejectedToken)) {
+            synchronized (this) {
+                if (current == token) {
+                    current = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * @return How many times a token has been fetched.
+     */
+    public long getFetchCount() {
+        return fetchCount.sum();
+    }
+
+    /**
+     * Joins the refresh already in flight, or starts one on this thread.
+     */
+    private AuthToken awaitRefresh() {
+        while (true) {
+            CompletableFuture<AuthToken> existing = inFlight.get();
+            if (existing != null) {
+                try {
+                    return existing.join();
+                } catch (CompletionException error) {
+                    if (error.getCause() instanceof Error cause) {
+                        throw cause;
+                    }
+                    throw error.getCause() instanceof RuntimeException cause ? cause : error;
+                }
+            }
+
+            // Another thread may have completed a refresh between our expiry check and now
+            AuthToken token = current;
+            if (token != null && clock.instant().isBefore(token.expiresAt())) {
+                return token;
+            }
+
+            CompletableFuture<AuthToken> refresh = new CompletableFuture<>();
+            if (inFlight.compareAndSet(null, refresh)) {
+                return runFetch(refresh);
+            }
+        }
+    }
+
+    private AuthToken runFetch(CompletableFuture<AuthToken> refresh) {
+        try {
+            fetchCount.increment();
+            AuthToken token = fetcher.call();
+            current = token;
+            logger.info("Fetched new auth token, valid until {}", token.expiresAt());
+            refresh.complete(token);
+            return token;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "runFetch", "Failed to fetch auth token");
+            refresh.completeExceptionally(error);
+            throw error instanceof RuntimeException runtimeError ? runtimeError : new IllegalStateException("Failed to fetch auth token", error);
+        } catch (Error error) {
+            // e.g. the AssertionError from statusCode(200); waiting threads must be released all the same
+            ErrorHandler.logError(error, "runFetch", "Failed to fetch auth token");
+            refresh.completeExceptionally(error);
+            throw error;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.codebase.api;
+
+import com.codebase.tracing.Span;
+import com.codebase.tracing.Tracer;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TracingFilter implements Filter {
+
+    /**
+     * Records each API call as a {@link Tracer} span named after the HTTP method, e.g. {@code api.GET}.
+     * The URL is left out of the name so that the flame summary groups calls together. ApiClient adds this
+     * filter first, so the span also covers rate-limit waits and recording.
+     */
+
+    private static final Map<String, String> spanNames = new ConcurrentHashMap<>();
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext context) {
+        if (!Tracer.isEnabled()) {
+            return context.next(requestSpec, responseSpec);
+        }
+        try (Span ignored = Tracer.span(spanNames.computeIfAbsent(requestSpec.getMethod(), method -> "api." + method))) {
+            return context.next(requestSpec, responseSpec);
+        }
+    }
+}
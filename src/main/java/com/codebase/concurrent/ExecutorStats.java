@@ -0,0 +1,29 @@
+package com.codebase.concurrent;
+
+/**
+ * A snapshot of one {@link FrameworkExecutors} pool.
+ *
+ * @param name           The pool name.
+ * @param threads        The maximum number of threads, or 0 for the unbounded virtual-thread executor.
+ * @param activeTasks    The tasks running now.
+ * @param queuedTasks    The tasks accepted but not started yet.
+ * @param completedTasks The tasks that finished without an exception.
+ * @param failedTasks    The tasks that finished with an exception; not part of {@code completedTasks}.
+ * @param rejectedTasks  The tasks refused because the pool was shut down.
+ */
+public record ExecutorStats(
+        String name,
+        int threads,
+        int activeTasks,
+        long queuedTasks,
+        long completedTasks,
+        long failedTasks,
+        long rejectedTasks) {
+
+    @Override
+    public String toString() {
+        return String.format("%s: %d active, %d queued, %d completed, %d failed, %d rejected, %s threads",
+                name, activeTasks, queuedTasks, completedTasks, failedTasks, rejectedTasks,
+                threads == 0 ? "virtual" : String.valueOf(threads));
+    }
+}
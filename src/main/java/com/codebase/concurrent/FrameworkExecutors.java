@@ -0,0 +1,259 @@
+package com.codebase.concurrent;
+
+import com.codebase.parameters.AppSettings;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public final class FrameworkExecutors {
+
+    /**
+     * The executors the framework shares for background work: config loading, crypto batches, schema
+     * compilation and any other fan-out a component needs.
+     * <ul>
+     *     <li>{@link #virtual()} starts one virtual thread per task. It is the default for blocking work
+     *     such as file, network or driver I/O.</li>
+     *     <li>{@link #cpu()} and {@link #bounded(String, int, int)} are named pools of daemon platform
+     *     threads with a bounded queue, for CPU-bound work. When the queue is full the submitting thread
+     *     runs the task itself, which slows producers down instead of failing them.</li>
+     * </ul>
+     * Every executor counts its active, queued, completed, failed and rejected tasks; see
+     * {@link #getStats()}. Use {@link #supplyAsync(Supplier, ExecutorService)} rather than
+     * {@link CompletableFuture#supplyAsync(Supplier, java.util.concurrent.Executor)}, which hides failures
+     * from the counters. Callers cannot shut a shared executor down. A JVM shutdown hook first closes the
+     * resources passed to {@link #closeOnShutdown(String, AutoCloseable)}, such as the default screenshot
+     * pipeline and report, whose own threads may still hold queued work. It then drains every executor,
+     * waiting up to {@link AppSettings#EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS}. Threads are daemons, so the
+     * pools never keep the JVM alive by themselves.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(FrameworkExecutors.class);
+
+    public static final String VIRTUAL_EXECUTOR_NAME = "virtual";
+    public static final String CPU_EXECUTOR_NAME = "cpu";
+    private static final long IDLE_THREAD_KEEP_ALIVE_SECONDS = 60;
+
+    private static final Map<String, MeteredExecutorService> executors = new ConcurrentHashMap<>();
+    private static final Deque<Map.Entry<String, AutoCloseable>> shutdownResources = new ArrayDeque<>();
+    private static volatile boolean shutDown;
+
+    static {
+        Thread hook = new Thread(() -> {
+            closeShutdownResources();
+            shutdownAll(Duration.ofSeconds(AppSettings.EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS.getValue()));
+        }, "framework-executors-shutdown");
+        Runtime.getRuntime().addShutdownHook(hook);
+    }
+
+    private FrameworkExecutors() {
+    }
+
+    /**
+     * @return The shared executor that runs each task on its own virtual thread.
+     */
+    public static ExecutorService virtual() {
+        return executors.computeIfAbsent(VIRTUAL_EXECUTOR_NAME, name -> create(name, 0,
+                Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("framework-virtual-", 0).factory())));
+    }
+
+    /**
+     * @return The shared pool for CPU-bound work, sized by {@link AppSettings#EXECUTOR_THREAD_COUNT} or the
+     * available cores when it is not set.
+     */
+    public static ExecutorService cpu() {
+        int configured = AppSettings.EXECUTOR_THREAD_COUNT.getValue();
+        int threads = configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+        return bounded(CPU_EXECUTOR_NAME, threads, AppSettings.EXECUTOR_QUEUE_CAPACITY.getValue());
+    }
+
+    /**
+     * Returns the named pool, creating it on first use. Later calls with the same name return the same
+     * pool, whatever sizes they pass.
+     *
+     * @param name          The pool name, also used as the thread name prefix.
+     * @param threads       The maximum number of threads.
+     * @param queueCapacity The number of tasks that may wait for a thread.
+     * @return The named pool.
+     * @throws IllegalArgumentException If a size is not positive.
+     * @throws IllegalStateException    If the executors have been shut down.
+     */
+    public static ExecutorService bounded(String name, int threads, int queueCapacity) {
+        if (name == null || name.isBlank() || threads <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Executor name, thread count and queue capacity must be set and positive.");
+        }
+        MeteredExecutorService existing = executors.get(name);
+        if (existing != null) {
+            return existing;
+        }
+        return executors.computeIfAbsent(name, ignored -> {
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads,
+                    IDLE_THREAD_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(queueCapacity),
+                    Thread.ofPlatform().name(name + "-", 0).daemon(true).factory(),
+                    (task, executor) -> {
+                        // Unlike CallerRunsPolicy, tasks are refused rather than dropped once the pool is shut down
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("Executor '" + name + "' is shut down");
+                        }
+                        task.run();
+                    });
+            // Idle pools release their threads
+            pool.allowCoreThreadTimeOut(true);
+            return create(name, threads, pool);
+        });
+    }
+
+    /**
+     * Runs the supplier on the executor, like {@link CompletableFuture#supplyAsync(Supplier,
+     * java.util.concurrent.Executor)}, but lets the executor see a failure. CompletableFuture catches the
+     * exception itself, so a framework executor would count the task as completed.
+     *
+     * @param supplier The task.
+     * @param executor The executor to run it on, e.g. {@link #cpu()}.
+     * @return A future completed with the supplier's result or exception.
+     * @throws RejectedExecutionException If the executor refuses the task.
+     */
+    public static <T> CompletableFuture<T> supplyAsync(Supplier<T> supplier, ExecutorService executor) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        executor.submit(() -> {
+            try {
+                T value = supplier.get();
+                result.complete(value);
+                return value;
+            } catch (RuntimeException | Error error) {
+                result.completeExceptionally(error);
+                throw error;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Runs the task on the executor, like {@link CompletableFuture#runAsync(Runnable,
+     * java.util.concurrent.Executor)}; see {@link #supplyAsync(Supplier, ExecutorService)}.
+     *
+     * @param task     The task.
+     * @param executor The executor to run it on, e.g. {@link #virtual()}.
+     * @return A future completed when the task finishes, exceptionally if it throws.
+     * @throws RejectedExecutionException If the executor refuses the task.
+     */
+    public static CompletableFuture<Void> runAsync(Runnable task, ExecutorService executor) {
+        return supplyAsync(() -> {
+            task.run();
+            return null;
+        }, executor);
+    }
+
+    private static MeteredExecutorService create(String name, int threads, ExecutorService delegate) {
+        if (shutDown) {
+            delegate.shutdownNow();
+            throw new IllegalStateException("Framework executors are shut down; cannot create '" + name + "'");
+        }
+        logger.debug("Created executor '{}' with {} threads", name, threads == 0 ? "virtual" : threads);
+        return new MeteredExecutorService(name, threads, delegate);
+    }
+
+    /**
+     * Registers a resource for the shutdown hook to close before it drains the executors. Resources are
+     * closed in reverse registration order, and a failure to close one does not stop the others.
+     *
+     * @param name     A name for the log, e.g. the class of the resource.
+     * @param resource The resource to close.
+     */
+    public static void closeOnShutdown(String name, AutoCloseable resource) {
+        synchronized (shutdownResources) {
+            shutdownResources.push(Map.entry(name, resource));
+        }
+    }
+
+    private static void closeShutdownResources() {
+        while (true) {
+            Map.Entry<String, AutoCloseable> entry;
+            synchronized (shutdownResources) {
+                entry = shutdownResources.poll();
+            }
+            if (entry == null) {
+                return;
+            }
+            try {
+                entry.getValue().close();
+                logger.debug("Closed '{}' on shutdown", entry.getKey());
+            } catch (Exception error) {
+                logger.warn("Failed to close '{}' on shutdown", entry.getKey(), error);
+            }
+        }
+    }
+
+    /**
+     * @return A snapshot of every executor created so far.
+     */
+    public static List<ExecutorStats> getStats() {
+        List<ExecutorStats> stats = new ArrayList<>(executors.size());
+        executors.values().forEach(executor -> stats.add(executor.getStats()));
+        return stats;
+    }
+
+    /**
+     * @param name The executor name.
+     * @return A snapshot of the executor, or null if it has not been created.
+     */
+    public static ExecutorStats getStats(String name) {
+        MeteredExecutorService executor = executors.get(name);
+        return executor == null ? null : executor.getStats();
+    }
+
+    /**
+     * Shuts one named executor down, waiting for its running and queued tasks. A later call for the same
+     * name creates a new executor.
+     *
+     * @param name    The executor name.
+     * @param timeout How long to wait before interrupting the remaining tasks.
+     * @return Whether every task finished in time; true if no such executor exists.
+     */
+    public static boolean shutdown(String name, Duration timeout) {
+        MeteredExecutorService executor = executors.remove(name);
+        return executor == null || stop(executor, timeout);
+    }
+
+    /**
+     * Shuts every executor down and refuses to create new ones. Called by the JVM shutdown hook.
+     *
+     * @param timeout How long to wait for each executor before interrupting its remaining tasks.
+     */
+    public static void shutdownAll(Duration timeout) {
+        shutDown = true;
+        for (String name : List.copyOf(executors.keySet())) {
+            shutdown(name, timeout);
+        }
+    }
+
+    private static boolean stop(MeteredExecutorService executor, Duration timeout) {
+        try {
+            boolean finished = executor.stop(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (!finished) {
+                logger.warn("Executor '{}' did not finish within {} ms; remaining tasks were interrupted",
+                        executor.getName(), timeout.toMillis());
+            }
+            logger.debug("Shut down executor {}", executor.getStats());
+            return finished;
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
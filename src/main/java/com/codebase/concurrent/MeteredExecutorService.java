@@ -0,0 +1,121 @@
+package com.codebase.concurrent;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the tasks passing through a pool owned by {@link FrameworkExecutors}. Callers may submit tasks
+ * but not shut the pool down, since other components share it.
+ * <p>
+ * A task counts as failed when it throws, or when the future {@link #submit} returned for it fails. A
+ * task that catches its own exception counts as completed: {@link CompletableFuture#supplyAsync} does,
+ * so its failures only show when it goes through {@link FrameworkExecutors#supplyAsync} instead.
+ */
+final class MeteredExecutorService extends AbstractExecutorService {
+
+    private final String name;
+    private final int threads;
+    private final ExecutorService delegate;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final AtomicInteger active = new AtomicInteger();
+
+    MeteredExecutorService(String name, int threads, ExecutorService delegate) {
+        this.name = name;
+        this.threads = threads;
+        this.delegate = delegate;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    ExecutorStats getStats() {
+        // The counters are read one after another, so the queue length is approximate under load
+        long queued = Math.max(0, submitted.sum() - started.sum());
+        return new ExecutorStats(name, threads, active.get(), queued, completed.sum(), failed.sum(), rejected.sum());
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        // Counted before handing over, so a task that starts at once is never started before it is submitted
+        submitted.increment();
+        try {
+            delegate.execute(() -> run(task));
+        } catch (RejectedExecutionException error) {
+            submitted.decrement();
+            rejected.increment();
+            throw error;
+        }
+    }
+
+    private void run(Runnable task) {
+        started.increment();
+        active.incrementAndGet();
+        try {
+            task.run();
+            // A submitted task's FutureTask keeps the exception for its caller instead of throwing it
+            if (task instanceof FutureTask<?> future && future.state() == Future.State.FAILED) {
+                failed.increment();
+            } else {
+                completed.increment();
+            }
+        } catch (RuntimeException | Error error) {
+            failed.increment();
+            throw error;
+        } finally {
+            active.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void shutdown() {
+        throw new IllegalStateException("Executor '" + name + "' is shared; shut it down through FrameworkExecutors");
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        throw new IllegalStateException("Executor '" + name + "' is shared; shut it down through FrameworkExecutors");
+    }
+
+    /**
+     * Stops accepting tasks and waits for the running and queued ones.
+     *
+     * @return Whether every task finished within the timeout; the rest are interrupted.
+     */
+    boolean stop(long timeout, TimeUnit unit) throws InterruptedException {
+        delegate.shutdown();
+        if (delegate.awaitTermination(timeout, unit)) {
+            return true;
+        }
+        delegate.shutdownNow();
+        return false;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -80,7 +80,7 @@ public class ConfigProperties {
             logger.info("Properties file '{}' loaded successfully.", alias);
             return loader;
         } catch (IOException error) {
-            ErrorHandler.logError(error, "loadAndCacheConfigFile", "Failed to load config file: " + filePath);
+            ErrorHandler.logError(error, "loadAndCacheConfigFile", "Failed to load config file: {}", filePath);
             throw error;
         }
     }
@@ -109,7 +109,7 @@ public class ConfigProperties {
             }
             return value;
         } catch (Exception error) {
-            ErrorHandler.logError(error, "getPropertyKey", "Failed to retrieve property '" + key + "'");
+            ErrorHandler.logError(error, "getPropertyKey", "Failed to retrieve property '{}'", key);
             throw error;
         }
     }
@@ -139,6 +139,28 @@ public class ConfigProperties {
         return value;
     }
 
+    /**
+     * Retrieves every property whose key starts with a prefix, with system properties overriding
+     * file values for the same key.
+     *
+     * @param prefix The key prefix, e.g. {@code "API_RATE_LIMIT."}.
+     * @return The matching keys and values; empty if none match.
+     */
+    public Map<String, String> getPropertiesWithPrefix(String prefix) {
+        Map<String, String> matches = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                matches.put(key, properties.getProperty(key));
+            }
+        }
+        for (String key : System.getProperties().stringPropertyNames()) {
+            if (key.startsWith(prefix)) {
+                matches.put(key, System.getProperty(key));
+            }
+        }
+        return matches;
+    }
+
     /**
      * Retrieves a cached {@code ConfigProperties} instance by its alias.
      *
@@ -1,6 +1,8 @@
 package com.codebase.config;
 
 import com.codebase.helpers.ErrorHandler;
+import com.codebase.tracing.Span;
+import com.codebase.tracing.Tracer;
 import com.codebase.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
 
@@ -49,7 +51,7 @@ public class ConfigPropertiesLoader {
      * @throws RuntimeException      If an unexpected error occurs during retrieval.
      */
     public static String getPropertyKey(String alias, String key) {
-        try {
+        try (Span ignored = Tracer.span("config.get")) {
             if (!loadedFilesMap.containsKey(alias)) {
                 throw new IllegalStateException(
                         "Configuration file with alias '" + alias + "' not loaded. Call loadConfigurationFile() first.");
@@ -58,11 +60,28 @@ public class ConfigPropertiesLoader {
         } catch (Exception error) {
             ErrorHandler.logError(error,
                     "getPropertyKey",
-                    "Failed to retrieve property value for alias '" + alias + "' and key '" + key + "'");
+                    "Failed to retrieve property value for alias '{}' and key '{}'", alias, key);
             throw error;
         }
     }
 
+    /**
+     * Retrieves every property with a key prefix from a loaded properties file by its alias.
+     *
+     * @param alias  The alias of the loaded properties file.
+     * @param prefix The key prefix, e.g. {@code "API_RATE_LIMIT."}.
+     * @return The matching keys and values, with system properties overriding file values; empty if none match.
+     * @throws IllegalStateException If the properties file with the given alias has not been loaded.
+     */
+    public static Map<String, String> getPropertiesWithPrefix(String alias, String prefix) {
+        ConfigProperties configProperties = loadedFilesMap.get(alias);
+        if (configProperties == null) {
+            throw new IllegalStateException(
+                    "Configuration file with alias '" + alias + "' not loaded. Call loadConfigurationFile() first.");
+        }
+        return configProperties.getPropertiesWithPrefix(prefix);
+    }
+
     /**
      * Checks if the loadedFilesMap contains an alias with existing data.
      * If it does, the method fails and throws an exception.
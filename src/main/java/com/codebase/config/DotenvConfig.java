@@ -44,7 +44,7 @@ public class DotenvConfig {
             logger.info("Environment '{}' was loaded successfully", envName);
             return new DotenvConfig(envName);
         } catch (Exception error) {
-            ErrorHandler.logError(error, "loadEnvironment", "Failed to load " + "'" + envName + "'" + " environment");
+            ErrorHandler.logError(error, "loadEnvironment", "Failed to load '{}' environment", envName);
             throw error;
         }
     }
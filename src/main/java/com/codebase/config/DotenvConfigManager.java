@@ -32,7 +32,7 @@ public class DotenvConfigManager {
                 configMap.put(name, config);
             }
         } catch (Exception error) {
-            ErrorHandler.logError(error, "initializeConfig", "Failed to initialize configuration: " + name);
+            ErrorHandler.logError(error, "initializeConfig", "Failed to initialize configuration: {}", name);
             throw error;
         }
     }
@@ -55,7 +55,7 @@ public class DotenvConfigManager {
                 return configMap.get(name);
             }
         } catch (Exception error) {
-            ErrorHandler.logError(error, "getInstance", "Failed to get configuration: " + name);
+            ErrorHandler.logError(error, "getInstance", "Failed to get configuration: {}", name);
             throw error;
         }
     }
@@ -77,7 +77,7 @@ public class DotenvConfigManager {
                 configMap.remove(name);
             }
         } catch (Exception error) {
-            ErrorHandler.logError(error, "removeConfig", "Failed to remove configuration: " + name);
+            ErrorHandler.logError(error, "removeConfig", "Failed to remove configuration: {}", name);
             throw error;
         }
     }
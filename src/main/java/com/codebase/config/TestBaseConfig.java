@@ -2,9 +2,9 @@ package com.codebase.config;
 
 import com.codebase.ConfigPaths.DotEnvFilePaths;
 import com.codebase.ConfigPaths.PropertiesFilePaths;
+import com.codebase.concurrent.FrameworkExecutors;
 import com.codebase.helpers.Base64Utility;
 import com.codebase.helpers.ErrorHandler;
-import com.codebase.parameters.AppSettings;
 import com.codebase.parameters.ConfigFileAliases;
 import com.codebase.parameters.EnvironmentAliases;
 import com.codebase.utils.LoggerUtil;
@@ -14,16 +14,11 @@ import javax.crypto.SecretKey;
 import java.io.IOException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 
 public class TestBaseConfig {
 
     private static final Logger logger = LoggerUtil.getLogger(TestBaseConfig.class);
 
-    // Adjust thread count based on expected concurrency
-    private static final ExecutorService CONFIG_FILE_EXECUTOR = Executors.newFixedThreadPool(AppSettings.EXECUTOR_THREAD_COUNT.getValue());
-
 
     /**
      * Initializes two DotenvConfig instances, one for the base configuration and one for a specific
@@ -51,7 +46,7 @@ public class TestBaseConfig {
 
         } catch (Exception error) {
             ErrorHandler.logError(error, "initializeDotenvConfigs",
-                    String.format("Failed to initialize configs for aliases: %s and %s", baseAlias, specificAlias));
+                    "Failed to initialize configs for aliases: {} and {}", baseAlias, specificAlias);
             throw error;
         }
     }
@@ -122,7 +117,7 @@ public class TestBaseConfig {
 
             return Base64Utility.decodeSecretKey(secretKeyString);
         } catch (Exception error) {
-            ErrorHandler.logError(error, "getSecretKey", "Failed to retrieve secret key for " + secretKeyEnvType);
+            ErrorHandler.logError(error, "getSecretKey", "Failed to retrieve secret key for {}", secretKeyEnvType);
             throw new RuntimeException("Failed to retrieve secret key for " + secretKeyEnvType, error);
         }
     }
@@ -160,7 +155,7 @@ public class TestBaseConfig {
      */
     private static CompletableFuture<Void> loadConfigFileAsync(String aliasName, String filePath) {
         try {
-            return CompletableFuture.runAsync(() -> {
+            return FrameworkExecutors.runAsync(() -> {
                 try {
                     logger.info("Loading config file: {} for alias: {}", filePath, aliasName);
                     ConfigPropertiesLoader.loadConfigurationFile(aliasName, filePath);
@@ -169,7 +164,7 @@ public class TestBaseConfig {
                     logger.error("Failed to load config file: {} for alias: {}", filePath, aliasName, error);
                     throw new CompletionException(error); // Consider rethrowing the original exception if needed
                 }
-            }, CONFIG_FILE_EXECUTOR);
+            }, FrameworkExecutors.virtual());
         } catch (Exception error) {
             ErrorHandler.logError(error, "loadConfigFileAsync", "Failed to load config file");
             throw error;
@@ -1,12 +1,16 @@
 package com.codebase.crypto;
 
 import com.codebase.ConfigPaths.DotEnvFilePaths;
+import com.codebase.concurrent.FrameworkExecutors;
 import com.codebase.config.DotenvConfig;
 import com.codebase.helpers.Base64Utility;
 import com.codebase.helpers.ErrorHandler;
 import com.codebase.helpers.FileManager;
+import com.codebase.tracing.Span;
+import com.codebase.tracing.Tracer;
 import com.codebase.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
 
 import javax.crypto.SecretKey;
 import java.io.IOException;
@@ -15,6 +19,8 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
@@ -90,7 +96,7 @@ public class CryptoManager {
                 throw new RuntimeException("Environment variable '" + envVariable + "' is null");
             }
         } catch (Exception error) {
-            ErrorHandler.logError(error, "encryptSingleVariable", "Failed to encrypt variable: " + envVariable);
+            ErrorHandler.logError(error, "encryptSingleVariable", "Failed to encrypt variable: {}", envVariable);
             throw new RuntimeException("Failed to encrypt variable: " + envVariable, error);
         }
     }
@@ -130,7 +136,7 @@ public class CryptoManager {
             }
 
         } catch (IOException e) {
-            ErrorHandler.logError(e, "updateEnvVariable", "Failed to update variable: " + envVariable);
+            ErrorHandler.logError(e, "updateEnvVariable", "Failed to update variable: {}", envVariable);
             throw new RuntimeException("Failed to update variable: " + envVariable, e);
         }
     }
@@ -161,6 +167,11 @@ public class CryptoManager {
 
     /**
      * Decrypts multiple encrypted environment variables using the provided secret key and returns a list of their decrypted values.
+     * <p>
+     * A single key is decrypted on the calling thread. Several keys are decrypted in parallel on
+     * {@link FrameworkExecutors#cpu()}. Their log events still go to the calling test's log file, but
+     * the test's trace shows the batch as one {@code crypto.decryptBatch} span instead of one
+     * {@code crypto.decrypt} span per key, because spans are only recorded on the test's own thread.
      *
      * @param loadEnvironment The DotenvConfig instance containing the encrypted environment variables.
      * @param secretKey       The secret key used to decrypt the environment variables.
@@ -170,18 +181,62 @@ public class CryptoManager {
      */
     public static List<String> decryptMultipleKeys(DotenvConfig loadEnvironment, SecretKey secretKey, String... requiredKeys) throws Exception {
         try {
-            List<String> decryptedValues = new ArrayList<>();
-
-            for (String key : requiredKeys) {
-                String encryptedValue = loadEnvironment.getEnvironmentKey(key);
-                String decryptedValue = CryptoService.decrypt(secretKey, encryptedValue);
-                decryptedValues.add(decryptedValue);
+            if (requiredKeys.length == 1) {
+                return List.of(CryptoService.decrypt(secretKey, loadEnvironment.getEnvironmentKey(requiredKeys[0])));
             }
 
-            return decryptedValues;
+            // Each value derives its key with PBKDF2, so the keys are decrypted in parallel on the CPU pool
+            try (Span ignored = Tracer.span("crypto.decryptBatch")) {
+                String testName = ThreadContext.get(LoggerUtil.TEST_NAME_KEY);
+                List<CompletableFuture<String>> decryptions = new ArrayList<>(requiredKeys.length);
+                for (String key : requiredKeys) {
+                    String encryptedValue = loadEnvironment.getEnvironmentKey(key);
+                    decryptions.add(FrameworkExecutors.supplyAsync(
+                            () -> decryptForTest(testName, secretKey, encryptedValue), FrameworkExecutors.cpu()));
+                }
+
+                List<String> decryptedValues = new ArrayList<>(requiredKeys.length);
+                for (CompletableFuture<String> decryption : decryptions) {
+                    decryptedValues.add(join(decryption));
+                }
+                return decryptedValues;
+            }
         } catch (Exception error) {
             ErrorHandler.logError(error, "decryptMultipleKeys", "Failed to decrypt single or multiple keys");
             throw error;
         }
     }
+
+    /**
+     * Decrypts with the calling test's log routing. A full pool runs the task on the caller itself, so the
+     * thread's previous routing is restored rather than removed.
+     */
+    private static String decryptForTest(String testName, SecretKey secretKey, String encryptedValue) {
+        String previous = ThreadContext.get(LoggerUtil.TEST_NAME_KEY);
+        if (testName != null) {
+            ThreadContext.put(LoggerUtil.TEST_NAME_KEY, testName);
+        }
+        try {
+            return CryptoService.decrypt(secretKey, encryptedValue);
+        } catch (Exception error) {
+            throw new CompletionException(error);
+        } finally {
+            if (previous == null) {
+                ThreadContext.remove(LoggerUtil.TEST_NAME_KEY);
+            } else {
+                ThreadContext.put(LoggerUtil.TEST_NAME_KEY, previous);
+            }
+        }
+    }
+
+    private static String join(CompletableFuture<String> decryption) throws Exception {
+        try {
+            return decryption.join();
+        } catch (CompletionException error) {
+            if (error.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw error;
+        }
+    }
 }
@@ -3,6 +3,8 @@ package com.codebase.crypto;
 import com.codebase.helpers.Base64Utility;
 import com.codebase.helpers.ErrorHandler;
 import com.codebase.parameters.CryptoParameters;
+import com.codebase.tracing.Span;
+import com.codebase.tracing.Tracer;
 
 import javax.crypto.SecretKey;
 import javax.crypto.spec.SecretKeySpec;
@@ -11,7 +13,7 @@ import java.nio.charset.StandardCharsets;
 public class CryptoService {
 
     public static String encrypt(SecretKey secretKey, String dataToEncrypt) throws Exception {
-        try {
+        try (Span ignored = Tracer.span("crypto.encrypt")) {
             // Derive the key using the provided secret key and salt
             byte[] salt = CryptoUtil.generateSaltKey(CryptoParameters.SALT_KEY_SIZE.getValue());
             SecretKeySpec keySpec = CryptoUtil.deriveKey(String.valueOf(secretKey), salt);
@@ -31,11 +33,14 @@ public class CryptoService {
     }
 
     public static String decrypt(SecretKey secretKey, String encryptedData) throws Exception {
-        try {
+        try (Span ignored = Tracer.span("crypto.decrypt")) {
             // decrypt data
             byte[] decryptedData = CryptoUtil.decryptData(secretKey, encryptedData);
 
-            return new String(decryptedData, StandardCharsets.UTF_8);
+            String plainText = new String(decryptedData, StandardCharsets.UTF_8);
+            // mask the value in any later log output
+            SecretRedactor.register(plainText);
+            return plainText;
         } catch (Exception error) {
             ErrorHandler.logError(error, "decrypt", "Failed to decrypt data");
             throw error;
@@ -0,0 +1,264 @@
+package com.codebase.crypto;
+
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+public final class SecretRedactor {
+
+    /**
+     * Masks every registered secret in log output. {@link CryptoService#decrypt} registers each value it
+     * decrypts, and the log4j2 {@code %redactedMsg} and {@code %redactedThrowable} pattern converters pass
+     * every formatted message and stack trace through {@link #redact(StringBuilder, int)}.
+     * <p>
+     * The secrets are compiled into one Aho-Corasick automaton, so a message is scanned once, character
+     * by character, however many secrets are registered. Overlapping and adjacent matches are masked as
+     * one range. A message without a match is neither copied nor allocated. Registering a secret
+     * rebuilds the automaton and publishes it atomically. That is rare compared with logging, so
+     * redaction itself never locks.
+     * <p>
+     * Secrets shorter than {@link #MIN_SECRET_LENGTH} characters are ignored, so short values do not
+     * mask unrelated text.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(SecretRedactor.class);
+
+    public static final String MASK = "*****";
+    public static final int MIN_SECRET_LENGTH = 4;
+
+    private static final Set<String> secrets = new HashSet<>();
+    private static volatile Automaton automaton = Automaton.build(List.of());
+
+    private SecretRedactor() {
+    }
+
+    /**
+     * Adds a secret to mask in every later log message.
+     *
+     * @param secret The plain-text value; ignored when null or shorter than {@link #MIN_SECRET_LENGTH}.
+     */
+    public static void register(String secret) {
+        if (secret == null || secret.length() < MIN_SECRET_LENGTH) {
+            return;
+        }
+        synchronized (secrets) {
+            if (secrets.add(secret)) {
+                automaton = Automaton.build(secrets);
+                logger.debug("Registered a secret for log redaction ({} in total)", secrets.size());
+            }
+        }
+    }
+
+    public static int getSecretCount() {
+        return automaton.patternCount;
+    }
+
+    /**
+     * @param text The text to scrub; may be null.
+     * @return The text with every registered secret replaced by {@link #MASK}; the same instance when
+     * nothing matched.
+     */
+    public static String redact(String text) {
+        Automaton current = automaton;
+        if (text == null || current.patternCount == 0) {
+            return text;
+        }
+        int[] ranges = current.findRanges(text, 0);
+        if (ranges == null) {
+            return text;
+        }
+        StringBuilder builder = new StringBuilder(text);
+        applyMasks(builder, ranges);
+        return builder.toString();
+    }
+
+    /**
+     * Masks registered secrets in place, from an offset to the end of the builder.
+     *
+     * @param text The builder to scrub, e.g. the buffer a log layout is formatting into.
+     * @param from The index where the scrubbed region starts.
+     */
+    public static void redact(StringBuilder text, int from) {
+        Automaton current = automaton;
+        if (current.patternCount == 0 || from >= text.length()) {
+            return;
+        }
+        int[] ranges = current.findRanges(text, from);
+        if (ranges != null) {
+            applyMasks(text, ranges);
+        }
+    }
+
+    /**
+     * Replaces the ranges right to left, so earlier indices stay valid.
+     */
+    private static void applyMasks(StringBuilder text, int[] ranges) {
+        int count = ranges[0];
+        for (int i = count - 1; i >= 0; i--) {
+            int start = ranges[1 + i * 2];
+            int end = ranges[2 + i * 2];
+            text.replace(start, end + 1, MASK);
+        }
+    }
+
+    /**
+     * An immutable Aho-Corasick automaton. Each state keeps its outgoing characters sorted for binary
+     * search, its failure link, and the length of the longest secret that ends in it, following the
+     * failure links.
+     */
+    private static final class Automaton {
+        private final char[][] keys;
+        private final int[][] targets;
+        private final int[] failure;
+        private final int[] matchLength;
+        private final int patternCount;
+
+        private Automaton(char[][] keys, int[][] targets, int[] failure, int[] matchLength, int patternCount) {
+            this.keys = keys;
+            this.targets = targets;
+            this.failure = failure;
+            this.matchLength = matchLength;
+            this.patternCount = patternCount;
+        }
+
+        private static Automaton build(Iterable<String> patterns) {
+            List<Map<Character, Integer>> edges = new ArrayList<>();
+            List<Integer> depthOfTerminal = new ArrayList<>();
+            edges.add(new HashMap<>());
+            depthOfTerminal.add(0);
+            int patternCount = 0;
+
+            for (String pattern : patterns) {
+                int state = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    Integer next = edges.get(state).get(pattern.charAt(i));
+                    if (next == null) {
+                        next = edges.size();
+                        edges.add(new HashMap<>());
+                        depthOfTerminal.add(0);
+                        edges.get(state).put(pattern.charAt(i), next);
+                    }
+                    state = next;
+                }
+                depthOfTerminal.set(state, pattern.length());
+                patternCount++;
+            }
+
+            int size = edges.size();
+            char[][] keys = new char[size][];
+            int[][] targets = new int[size][];
+            for (int state = 0; state < size; state++) {
+                Map<Character, Integer> out = edges.get(state);
+                char[] stateKeys = new char[out.size()];
+                int index = 0;
+                for (char key : out.keySet()) {
+                    stateKeys[index++] = key;
+                }
+                Arrays.sort(stateKeys);
+                int[] stateTargets = new int[stateKeys.length];
+                for (int i = 0; i < stateKeys.length; i++) {
+                    stateTargets[i] = out.get(stateKeys[i]);
+                }
+                keys[state] = stateKeys;
+                targets[state] = stateTargets;
+            }
+
+            // Breadth-first, so a state's failure target is always finished before the state itself
+            int[] failure = new int[size];
+            int[] matchLength = new int[size];
+            Queue<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[0]) {
+                queue.add(child);
+                matchLength[child] = depthOfTerminal.get(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < keys[state].length; i++) {
+                    char key = keys[state][i];
+                    int child = targets[state][i];
+                    int fallback = failure[state];
+                    int next;
+                    while ((next = lookup(keys, targets, fallback, key)) < 0 && fallback != 0) {
+                        fallback = failure[fallback];
+                    }
+                    failure[child] = next >= 0 && next != child ? next : 0;
+                    int own = depthOfTerminal.get(child);
+                    matchLength[child] = own > 0 ? own : matchLength[failure[child]];
+                    queue.add(child);
+                }
+            }
+            return new Automaton(keys, targets, failure, matchLength, patternCount);
+        }
+
+        /**
+         * Scans the text once and merges every match into non-overlapping ranges.
+         *
+         * @return {@code [count, start0, end0, start1, end1, ...]} with inclusive ends, or null when
+         * nothing matched.
+         */
+        private int[] findRanges(CharSequence text, int from) {
+            int[] ranges = null;
+            int count = 0;
+            int state = 0;
+            for (int i = from; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int next;
+                while ((next = lookup(keys, targets, state, c)) < 0 && state != 0) {
+                    state = failure[state];
+                }
+                state = Math.max(next, 0);
+
+                int length = matchLength[state];
+                if (length == 0) {
+                    continue;
+                }
+                int start = i - length + 1;
+                if (ranges == null) {
+                    ranges = new int[9];
+                }
+                // Fold in earlier ranges this match overlaps or touches
+                while (count > 0 && start <= ranges[2 * count] + 1) {
+                    start = Math.min(start, ranges[2 * count - 1]);
+                    count--;
+                }
+                if (2 * count + 2 >= ranges.length) {
+                    ranges = Arrays.copyOf(ranges, ranges.length * 2 + 1);
+                }
+                ranges[2 * count + 1] = start;
+                ranges[2 * count + 2] = i;
+                count++;
+            }
+            if (ranges == null) {
+                return null;
+            }
+            ranges[0] = count;
+            return ranges;
+        }
+
+        private static int lookup(char[][] keys, int[][] targets, int state, char c) {
+            char[] stateKeys = keys[state];
+            if (stateKeys.length == 0) {
+                return -1;
+            }
+            if (stateKeys.length < 8) {
+                for (int i = 0; i < stateKeys.length; i++) {
+                    if (stateKeys[i] == c) {
+                        return targets[state][i];
+                    }
+                }
+                return -1;
+            }
+            int index = Arrays.binarySearch(stateKeys, c);
+            return index >= 0 ? targets[state][index] : -1;
+        }
+    }
+}
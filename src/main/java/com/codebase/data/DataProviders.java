@@ -0,0 +1,395 @@
+package com.codebase.data;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.codebase.utils.LoggerUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.lang.ref.Cleaner;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class DataProviders {
+
+    /**
+     * Streams rows from CSV and JSON data files into TestNG data providers, one row at a time.
+     * <p>
+     * The file is read through a memory-mapped window by a background thread. That thread parses and
+     * filters rows into a small bounded queue. The returned {@code Iterator<Object[]>} hands rows to
+     * TestNG as they become available. The first row's test therefore starts while the rest of the file
+     * is still being read. Memory holds only the queued rows, never the whole file. The iterator works
+     * with {@code @DataProvider(parallel = true)}.
+     * <p>
+     * A consumer may stop before the last row, e.g. when a run is aborted. The returned iterator is
+     * also {@link AutoCloseable}, and closing it stops the reader and closes the file. TestNG never
+     * closes it. An iterator that becomes unreachable is therefore cancelled the same way once it has
+     * been garbage collected. The reader never blocks for good on a full queue that nobody drains.
+     * <p>
+     * Rows are selected with a {@link RowFilter}. The overloads without one read it from system properties.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * &#64;DataProvider(name = "bookings", parallel = true)
+     * public Iterator&lt;Object[]&gt; bookings() {
+     *     return DataProviders.csv(Paths.get("src/test/resources/data/bookings.csv"));
+     * }
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(DataProviders.class);
+
+    private static final int PREFETCH_CAPACITY = 256;
+    // How often a reader waiting on a full queue checks whether its iterator was abandoned
+    private static final long CANCEL_CHECK_MILLIS = 100;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private DataProviders() {
+    }
+
+    /**
+     * Streams a CSV file with a header row; each row becomes one parameter per column, as strings.
+     */
+    public static Iterator<Object[]> csv(Path file) {
+        return csv(file, RowFilter.fromSystemProperties());
+    }
+
+    public static Iterator<Object[]> csv(Path file, RowFilter filter) {
+        try {
+            return new PrefetchIterator(new CsvRowSource(file, filter), file);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "csv", "Failed to open CSV data file: {}", file);
+            throw new IllegalStateException("Failed to open CSV data file: " + file, error);
+        }
+    }
+
+    /**
+     * Streams a JSON file holding a top-level array of objects; each object becomes a single
+     * {@code Map<String, Object>} parameter.
+     */
+    public static Iterator<Object[]> json(Path file) {
+        return json(file, Map.class, RowFilter.fromSystemProperties());
+    }
+
+    /**
+     * Streams a JSON file holding a top-level array of objects, binding each object to {@code type}.
+     * Filter conditions are evaluated on the object's top-level fields before binding.
+     */
+    public static Iterator<Object[]> json(Path file, Class<?> type, RowFilter filter) {
+        try {
+            return new PrefetchIterator(new JsonRowSource(file, type, filter), file);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "json", "Failed to open JSON data file: {}", file);
+            throw new IllegalStateException("Failed to open JSON data file: " + file, error);
+        }
+    }
+
+    private interface RowSource extends AutoCloseable {
+
+        /**
+         * @return The next accepted row, or null when the file is exhausted or the limit is reached.
+         */
+        Object[] next() throws IOException;
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class CsvRowSource implements RowSource {
+        private final InputStream input;
+        private final RowFilter.Matcher matcher;
+        private final long limit;
+        private final Map<String, Integer> columns = new HashMap<>();
+        private final ByteArrayOutputStream field = new ByteArrayOutputStream();
+        private int pushedBack = -2;
+        private long accepted;
+
+        private CsvRowSource(Path file, RowFilter filter) throws IOException {
+            this.input = new MappedFileInputStream(file);
+            this.matcher = filter.newMatcher();
+            this.limit = filter.getLimit();
+
+            List<String> header = readRecord();
+            if (header == null) {
+                return;
+            }
+            // Drop a UTF-8 byte order mark written by spreadsheet exports
+            header.set(0, header.get(0).replace("\uFEFF", ""));
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+            for (String column : filter.getColumns()) {
+                if (!columns.containsKey(column)) {
+                    input.close();
+                    throw new IllegalArgumentException("Filter column '" + column + "' is not in the header of " + file);
+                }
+            }
+        }
+
+        @Override
+        public Object[] next() throws IOException {
+            List<String> record;
+            while (accepted < limit && (record = readRecord()) != null) {
+                if (record.size() == 1 && record.get(0).isEmpty()) {
+                    continue;
+                }
+                List<String> row = record;
+                if (matcher.accept(column -> {
+                    Integer index = columns.get(column);
+                    return index != null && index < row.size() ? row.get(index) : null;
+                })) {
+                    accepted++;
+                    return row.toArray();
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Reads one RFC 4180 record: quoted fields may contain separators, doubled quotes and line breaks.
+         */
+        private List<String> readRecord() throws IOException {
+            List<String> fields = new ArrayList<>();
+            boolean inQuotes = false;
+            boolean started = false;
+            field.reset();
+
+            while (true) {
+                int next = read();
+                if (next == -1) {
+                    if (!started) {
+                        return null;
+                    }
+                    fields.add(takeField());
+                    return fields;
+                }
+                started = true;
+
+                if (inQuotes) {
+                    if (next == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.write('"');
+                        } else {
+                            inQuotes = false;
+                            pushedBack = following;
+                        }
+                    } else {
+                        field.write(next);
+                    }
+                } else if (next == '"' && field.size() == 0) {
+                    inQuotes = true;
+                } else if (next == ',') {
+                    fields.add(takeField());
+                } else if (next == '\n') {
+                    fields.add(takeField());
+                    return fields;
+                } else if (next != '\r') {
+                    field.write(next);
+                }
+            }
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -2) {
+                int value = pushedBack;
+                pushedBack = -2;
+                return value;
+            }
+            return input.read();
+        }
+
+        private String takeField() {
+            String value = field.toString(StandardCharsets.UTF_8);
+            field.reset();
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    private static final class JsonRowSource implements RowSource {
+        private final InputStream input;
+        private final JsonParser parser;
+        private final Class<?> type;
+        private final RowFilter.Matcher matcher;
+        private final long limit;
+        private long accepted;
+
+        private JsonRowSource(Path file, Class<?> type, RowFilter filter) throws IOException {
+            this.input = new MappedFileInputStream(file);
+            this.parser = ObjectMapperRegistry.getMapper().createParser(input);
+            this.type = type;
+            this.matcher = filter.newMatcher();
+            this.limit = filter.getLimit();
+
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                close();
+                throw new IOException("Expected a top-level JSON array in " + file);
+            }
+        }
+
+        @Override
+        public Object[] next() throws IOException {
+            while (accepted < limit && parser.nextToken() == JsonToken.START_OBJECT) {
+                // Only the current object is materialised, never the whole array
+                JsonNode row = parser.readValueAsTree();
+                if (matcher.accept(column -> row.has(column) ? row.get(column).asText() : null)) {
+                    accepted++;
+                    return new Object[]{ObjectMapperRegistry.reader(type).readValue(row)};
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public void close() throws IOException {
+            parser.close();
+            input.close();
+        }
+    }
+
+    /**
+     * Hands rows from a {@link Prefetch} to the consumer. Only the iterator is registered with the
+     * cleaner; the reader thread holds the prefetch, never the iterator, so it cannot keep it reachable.
+     */
+    private static final class PrefetchIterator implements Iterator<Object[]>, AutoCloseable {
+        private final Prefetch prefetch;
+        private final Cleaner.Cleanable cleanable;
+        private Object[] nextRow;
+        private boolean finished;
+
+        private PrefetchIterator(RowSource source, Path file) {
+            Prefetch started = new Prefetch(file);
+            Thread reader = new Thread(() -> started.readAll(source), "data-prefetch-" + file.getFileName());
+            reader.setDaemon(true);
+            reader.start();
+            this.prefetch = started;
+            this.cleanable = CLEANER.register(this, started::cancel);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextRow == null && !finished) {
+                try {
+                    Object[] row = prefetch.queue.take();
+                    if (row == Prefetch.END) {
+                        finished = true;
+                        cleanable.clean();
+                    } else {
+                        nextRow = row;
+                    }
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for data rows from " + prefetch.file, error);
+                }
+            }
+            if (finished && prefetch.failure != null) {
+                throw new IllegalStateException("Failed to read data file: " + prefetch.file, prefetch.failure);
+            }
+            return nextRow != null;
+        }
+
+        @Override
+        public Object[] next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object[] row = nextRow;
+            nextRow = null;
+            return row;
+        }
+
+        /**
+         * Stops reading and closes the file; rows not yet returned are dropped.
+         */
+        @Override
+        public void close() {
+            finished = true;
+            nextRow = null;
+            cleanable.clean();
+        }
+    }
+
+    /**
+     * Reads rows on a background thread into a bounded queue, so parsing overlaps test execution.
+     */
+    private static final class Prefetch {
+        private static final Object[] END = new Object[0];
+
+        private final BlockingQueue<Object[]> queue = new ArrayBlockingQueue<>(PREFETCH_CAPACITY);
+        private final Path file;
+        private volatile Exception failure;
+        private volatile boolean cancelled;
+
+        private Prefetch(Path file) {
+            this.file = file;
+        }
+
+        private void readAll(RowSource source) {
+            long rows = 0;
+            try (source) {
+                Object[] row;
+                while (!cancelled && (row = source.next()) != null) {
+                    if (!offer(row)) {
+                        break;
+                    }
+                    rows++;
+                }
+                if (cancelled) {
+                    logger.info("Stopped streaming '{}' after {} rows; the iterator was closed or abandoned", file, rows);
+                } else {
+                    logger.info("Streamed {} rows from '{}'", rows, file);
+                }
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+                failure = error;
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "readAll", "Failed to read data file: {}", file);
+                failure = error;
+            } finally {
+                try {
+                    offer(END);
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        /**
+         * Waits for room in the queue until the row is queued or the prefetch is cancelled.
+         *
+         * @return Whether the row was queued.
+         */
+        private boolean offer(Object[] row) throws InterruptedException {
+            while (!cancelled) {
+                if (queue.offer(row, CANCEL_CHECK_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void cancel() {
+            cancelled = true;
+            queue.clear();
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.codebase.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+
+public class RowFilter {
+
+    /**
+     * Decides which rows of a data file reach the test. Column conditions are checked first, then sampling,
+     * and the limit is applied last. Sampling uses a seeded random number, so a sampled run picks the same
+     * rows every time.
+     * <p>
+     * {@link #fromSystemProperties()} reads the selection from the command line, e.g.
+     * {@code -Ddata.filter=country=ZA,status=active -Ddata.sample=0.05 -Ddata.limit=1000}.
+     */
+
+    public static final String FILTER_PROPERTY = "data.filter";
+    public static final String SAMPLE_PROPERTY = "data.sample";
+    public static final String SAMPLE_SEED_PROPERTY = "data.sample.seed";
+    public static final String LIMIT_PROPERTY = "data.limit";
+
+    private static final long DEFAULT_SEED = 42;
+
+    private final Map<String, String> conditions = new LinkedHashMap<>();
+    private double sampleRate = 1.0;
+    private long seed = DEFAULT_SEED;
+    private long limit = Long.MAX_VALUE;
+
+    public static RowFilter all() {
+        return new RowFilter();
+    }
+
+    /**
+     * Builds a filter from {@code data.filter}, {@code data.sample}, {@code data.sample.seed} and {@code data.limit}.
+     *
+     * @return The filter; accepts every row when none of the properties is set.
+     */
+    public static RowFilter fromSystemProperties() {
+        RowFilter filter = new RowFilter();
+        String conditions = System.getProperty(FILTER_PROPERTY);
+        if (conditions != null && !conditions.isBlank()) {
+            for (String condition : conditions.split(",")) {
+                String[] parts = condition.split("=", 2);
+                if (parts.length != 2 || parts[0].isBlank()) {
+                    throw new IllegalArgumentException("Invalid " + FILTER_PROPERTY + " condition '" + condition + "', expected column=value");
+                }
+                filter.where(parts[0].trim(), parts[1].trim());
+            }
+        }
+        String sample = System.getProperty(SAMPLE_PROPERTY);
+        if (sample != null && !sample.isBlank()) {
+            filter.sample(Double.parseDouble(sample.trim()), Long.getLong(SAMPLE_SEED_PROPERTY, DEFAULT_SEED));
+        }
+        String limit = System.getProperty(LIMIT_PROPERTY);
+        if (limit != null && !limit.isBlank()) {
+            filter.limit(Long.parseLong(limit.trim()));
+        }
+        return filter;
+    }
+
+    /**
+     * Keeps only rows whose column equals the value.
+     */
+    public RowFilter where(String column, String value) {
+        conditions.put(column, value);
+        return this;
+    }
+
+    /**
+     * Keeps roughly {@code rate} of the rows that pass the conditions.
+     *
+     * @param rate A fraction between 0 (exclusive) and 1 (inclusive).
+     * @param seed The seed that makes the selection repeatable.
+     */
+    public RowFilter sample(double rate, long seed) {
+        if (rate <= 0 || rate > 1) {
+            throw new IllegalArgumentException("Sample rate must be in (0, 1]: " + rate);
+        }
+        this.sampleRate = rate;
+        this.seed = seed;
+        return this;
+    }
+
+    public RowFilter limit(long maxRows) {
+        if (maxRows <= 0) {
+            throw new IllegalArgumentException("Row limit must be greater than zero: " + maxRows);
+        }
+        this.limit = maxRows;
+        return this;
+    }
+
+    public long getLimit() {
+        return limit;
+    }
+
+    Set<String> getColumns() {
+        return conditions.keySet();
+    }
+
+    /**
+     * Starts a selection pass over one file; the returned matcher is not thread-safe.
+     */
+    Matcher newMatcher() {
+        return new Matcher(new Random(seed));
+    }
+
+    final class Matcher {
+        private final Random random;
+
+        private Matcher(Random random) {
+            this.random = random;
+        }
+
+        boolean accept(Function<String, String> columnValue) {
+            for (Map.Entry<String, String> condition : conditions.entrySet()) {
+                if (!condition.getValue().equals(columnValue.apply(condition.getKey()))) {
+                    return false;
+                }
+            }
+            return sampleRate >= 1.0 || random.nextDouble() < sampleRate;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.codebase.dom;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.codebase.utils.LoggerUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class DomBatchReader {
+
+    /**
+     * Reads text, state and attributes of many elements in one {@code executeScript} round-trip.
+     * Reading a 200-row grid cell by cell costs several WebDriver HTTP calls per cell. Here, the
+     * browser collects everything and returns it as a single JSON string. Jackson's streaming parser
+     * then reads that string straight into {@link ElementState} objects, without building an
+     * intermediate tree.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * DomBatchResult grid = DomBatchReader.read(driver,
+     *         DomQuery.css("names", "#grid td.name").properties(DomProperty.TEXT),
+     *         DomQuery.css("rows", "#grid tbody tr").properties(DomProperty.VISIBLE).attributes("data-id"));
+     * List&lt;String&gt; names = grid.getTexts("names");
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(DomBatchReader.class);
+
+    private static final String BATCH_READ_SCRIPT = """
+            var queries = arguments[0];
+            function isVisible(el) {
+              var style = window.getComputedStyle(el);
+              var rect = el.getBoundingClientRect();
+              return style.visibility !== 'hidden' && style.display !== 'none' && rect.width > 0 && rect.height > 0;
+            }
+            function find(query) {
+              if (query.strategy === 'xpath') {
+                var snapshot = document.evaluate(query.selector, document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);
+                var nodes = [];
+                for (var i = 0; i < snapshot.snapshotLength; i++) nodes.push(snapshot.snapshotItem(i));
+                return nodes;
+              }
+              return Array.prototype.slice.call(document.querySelectorAll(query.selector));
+            }
+            var result = {};
+            queries.forEach(function (query) {
+              result[query.key] = find(query).map(function (el) {
+                var state = {};
+                query.properties.forEach(function (property) {
+                  switch (property) {
+                    case 'text': state.text = el.innerText !== undefined ? el.innerText : el.textContent; break;
+                    case 'visible': state.visible = isVisible(el); break;
+                    case 'enabled': state.enabled = !el.disabled; break;
+                    case 'selected': state.selected = !!(el.checked || el.selected); break;
+                    case 'value': state.value = el.value === undefined ? null : String(el.value); break;
+                    case 'tag': state.tag = el.tagName.toLowerCase(); break;
+                  }
+                });
+                if (query.attributes.length > 0) {
+                  state.attributes = {};
+                  query.attributes.forEach(function (name) { state.attributes[name] = el.getAttribute(name); });
+                }
+                return state;
+              });
+            });
+            return JSON.stringify(result);
+            """;
+
+    private DomBatchReader() {
+    }
+
+    /**
+     * Runs all queries in one script execution.
+     *
+     * @param driver  The driver to run the script in; must implement {@link JavascriptExecutor}.
+     * @param queries The locators and properties to read.
+     * @return The element states keyed by query key.
+     */
+    public static DomBatchResult read(WebDriver driver, DomQuery... queries) {
+        return read(driver, List.of(queries));
+    }
+
+    /**
+     * Runs all queries in one script execution.
+     *
+     * @param driver  The driver to run the script in; must implement {@link JavascriptExecutor}.
+     * @param queries The locators and properties to read.
+     * @return The element states keyed by query key.
+     */
+    public static DomBatchResult read(WebDriver driver, List<DomQuery> queries) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            throw new IllegalArgumentException("Batch DOM reads require a JavascriptExecutor driver.");
+        }
+        if (queries.isEmpty()) {
+            throw new IllegalArgumentException("At least one query is required.");
+        }
+
+        List<Map<String, Object>> scriptArgument = new ArrayList<>(queries.size());
+        for (DomQuery query : queries) {
+            scriptArgument.add(query.toScriptArgument());
+        }
+
+        try {
+            Object json = executor.executeScript(BATCH_READ_SCRIPT, scriptArgument);
+            if (!(json instanceof String jsonResult)) {
+                throw new IllegalStateException("Batch read script returned no JSON result.");
+            }
+            DomBatchResult result = parse(jsonResult);
+            logger.debug("Batch read {} queries in one round-trip", queries.size());
+            return result;
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "read", "Failed to parse batch DOM read result");
+            throw new IllegalStateException("Failed to parse batch DOM read result", error);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "read", "Failed to execute batch DOM read");
+            throw error;
+        }
+    }
+
+    /**
+     * Parses the script's JSON result with the streaming parser.
+     *
+     * @param json The JSON object produced by the batch read script.
+     * @return The parsed result.
+     * @throws IOException If the JSON is malformed.
+     */
+    static DomBatchResult parse(String json) throws IOException {
+        Map<String, List<ElementState>> results = new LinkedHashMap<>();
+
+        try (JsonParser parser = ObjectMapperRegistry.getFactory().createParser(json)) {
+            expect(parser.nextToken(), JsonToken.START_OBJECT);
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.currentName();
+                expect(parser.nextToken(), JsonToken.START_ARRAY);
+
+                List<ElementState> elements = new ArrayList<>();
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    elements.add(parseElement(parser));
+                }
+                results.put(key, elements);
+            }
+        }
+        return new DomBatchResult(results);
+    }
+
+    private static ElementState parseElement(JsonParser parser) throws IOException {
+        String text = null;
+        Boolean visible = null;
+        Boolean enabled = null;
+        Boolean selected = null;
+        String value = null;
+        String tagName = null;
+        Map<String, String> attributes = Map.of();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+
+            if (field.equals("attributes")) {
+                attributes = parseAttributes(parser);
+                continue;
+            }
+
+            DomProperty property = DomProperty.fromJsonName(field);
+            if (property == null) {
+                parser.skipChildren();
+                continue;
+            }
+            switch (property) {
+                case TEXT -> text = stringValue(parser, token);
+                case VISIBLE -> visible = booleanValue(token);
+                case ENABLED -> enabled = booleanValue(token);
+                case SELECTED -> selected = booleanValue(token);
+                case VALUE -> value = stringValue(parser, token);
+                case TAG_NAME -> tagName = stringValue(parser, token);
+            }
+        }
+        return new ElementState(text, visible, enabled, selected, value, tagName, attributes);
+    }
+
+    private static Map<String, String> parseAttributes(JsonParser parser) throws IOException {
+        Map<String, String> attributes = new HashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            attributes.put(name, stringValue(parser, parser.nextToken()));
+        }
+        return attributes;
+    }
+
+    private static String stringValue(JsonParser parser, JsonToken token) throws IOException {
+        return token == JsonToken.VALUE_NULL ? null : parser.getText();
+    }
+
+    private static Boolean booleanValue(JsonToken token) {
+        return token == JsonToken.VALUE_NULL ? null : token == JsonToken.VALUE_TRUE;
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected) throws IOException {
+        if (actual != expected) {
+            throw new IOException("Unexpected JSON token " + actual + ", expected " + expected);
+        }
+    }
+}
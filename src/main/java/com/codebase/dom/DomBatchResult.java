@@ -0,0 +1,39 @@
+package com.codebase.dom;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DomBatchResult {
+
+    /**
+     * The element states returned by one {@link DomBatchReader} round-trip, keyed by query key.
+     * A query that matched nothing maps to an empty list.
+     */
+
+    private final Map<String, List<ElementState>> results;
+
+    DomBatchResult(Map<String, List<ElementState>> results) {
+        this.results = results;
+    }
+
+    public List<ElementState> get(String key) {
+        return results.getOrDefault(key, List.of());
+    }
+
+    public List<String> getTexts(String key) {
+        return get(key).stream().map(ElementState::getText).toList();
+    }
+
+    public List<String> getAttributes(String key, String attributeName) {
+        return get(key).stream().map(state -> state.getAttribute(attributeName)).toList();
+    }
+
+    public int count(String key) {
+        return get(key).size();
+    }
+
+    public Set<String> keys() {
+        return results.keySet();
+    }
+}
@@ -0,0 +1,39 @@
+package com.codebase.dom;
+
+/**
+ * Element properties that {@link DomBatchReader} can read in its single script execution.
+ * Attributes are requested separately by name through {@link DomQuery#attributes(String...)}.
+ */
+public enum DomProperty {
+
+    TEXT("text"),
+    VISIBLE("visible"),
+    ENABLED("enabled"),
+    SELECTED("selected"),
+    VALUE("value"),
+    TAG_NAME("tag");
+
+    private final String jsonName;
+
+    DomProperty(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    /**
+     * Gets the field name used for this property in the script's JSON result.
+     *
+     * @return the JSON field name
+     */
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    static DomProperty fromJsonName(String jsonName) {
+        for (DomProperty property : values()) {
+            if (property.jsonName.equals(jsonName)) {
+                return property;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,93 @@
+package com.codebase.dom;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class DomQuery {
+
+    /**
+     * One locator in a {@link DomBatchReader} request, together with the properties to read from
+     * every element it matches.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * DomQuery cells = DomQuery.css("rows", "#grid tbody td")
+     *         .properties(DomProperty.TEXT, DomProperty.VISIBLE)
+     *         .attributes("data-id");
+     * </pre>
+     */
+
+    private static final String CSS = "css";
+    private static final String XPATH = "xpath";
+
+    private final String key;
+    private final String strategy;
+    private final String selector;
+    private final Set<DomProperty> properties = EnumSet.noneOf(DomProperty.class);
+    private final List<String> attributes = new ArrayList<>();
+
+    private DomQuery(String key, String strategy, String selector) {
+        if (key == null || key.isBlank()) {
+            throw new IllegalArgumentException("Query key cannot be null or empty.");
+        }
+        if (selector == null || selector.isBlank()) {
+            throw new IllegalArgumentException("Selector cannot be null or empty.");
+        }
+        this.key = key;
+        this.strategy = strategy;
+        this.selector = selector;
+    }
+
+    /**
+     * Creates a query matching elements by CSS selector.
+     *
+     * @param key         The key the results are returned under.
+     * @param cssSelector The CSS selector.
+     * @return A new query.
+     */
+    public static DomQuery css(String key, String cssSelector) {
+        return new DomQuery(key, CSS, cssSelector);
+    }
+
+    /**
+     * Creates a query matching elements by XPath expression.
+     *
+     * @param key   The key the results are returned under.
+     * @param xpath The XPath expression.
+     * @return A new query.
+     */
+    public static DomQuery xpath(String key, String xpath) {
+        return new DomQuery(key, XPATH, xpath);
+    }
+
+    public DomQuery properties(DomProperty... requested) {
+        properties.addAll(Arrays.asList(requested));
+        return this;
+    }
+
+    public DomQuery attributes(String... names) {
+        attributes.addAll(Arrays.asList(names));
+        return this;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The query as a script argument understood by the batch read script.
+     */
+    Map<String, Object> toScriptArgument() {
+        List<String> propertyNames = properties.stream().map(DomProperty::getJsonName).toList();
+        return Map.of(
+                "key", key,
+                "strategy", strategy,
+                "selector", selector,
+                "properties", propertyNames,
+                "attributes", List.copyOf(attributes));
+    }
+}
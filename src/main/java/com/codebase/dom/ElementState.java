@@ -0,0 +1,70 @@
+package com.codebase.dom;
+
+import java.util.Collections;
+import java.util.Map;
+
+public class ElementState {
+
+    /**
+     * The state of one element as read by {@link DomBatchReader}. Properties that were not requested
+     * are {@code null}; requested attributes that are absent on the element map to {@code null}.
+     */
+
+    private final String text;
+    private final Boolean visible;
+    private final Boolean enabled;
+    private final Boolean selected;
+    private final String value;
+    private final String tagName;
+    private final Map<String, String> attributes;
+
+    ElementState(String text, Boolean visible, Boolean enabled, Boolean selected,
+                 String value, String tagName, Map<String, String> attributes) {
+        this.text = text;
+        this.visible = visible;
+        this.enabled = enabled;
+        this.selected = selected;
+        this.value = value;
+        this.tagName = tagName;
+        this.attributes = Collections.unmodifiableMap(attributes);
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Boolean isVisible() {
+        return visible;
+    }
+
+    public Boolean isEnabled() {
+        return enabled;
+    }
+
+    public Boolean isSelected() {
+        return selected;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getTagName() {
+        return tagName;
+    }
+
+    public String getAttribute(String name) {
+        return attributes.get(name);
+    }
+
+    public Map<String, String> getAttributes() {
+        return attributes;
+    }
+
+    @Override
+    public String toString() {
+        return "ElementState{tag=" + tagName + ", text='" + text + "', visible=" + visible
+                + ", enabled=" + enabled + ", selected=" + selected + ", value='" + value
+                + "', attributes=" + attributes + '}';
+    }
+}
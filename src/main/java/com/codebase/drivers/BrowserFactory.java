@@ -0,0 +1,67 @@
+package com.codebase.drivers;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.parameters.BrowserTypes;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+
+public class BrowserFactory {
+
+    private static final Logger logger = LoggerUtil.getLogger(BrowserFactory.class);
+
+    private BrowserFactory() {
+    }
+
+    /**
+     * Launches a new local browser session for the specified browser. The driver binary is
+     * taken from {@link DriverResolutionCache} so repeated launches skip driver resolution. A cached
+     * driver the browser no longer accepts is resolved again once.
+     *
+     * @param browserType The browser to launch.
+     * @param headless    Whether the browser should run without a visible window.
+     * @return A new WebDriver session.
+     */
+    public static WebDriver createDriver(BrowserTypes browserType, boolean headless) {
+        try {
+            WebDriver driver = DriverResolutionCache.getDefault().launch(browserType, resolved -> launch(browserType, headless));
+            logger.info("Launched '{}' browser session (headless: {})", browserType.getBrowserName(), headless);
+            return driver;
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "createDriver", "Failed to launch browser: {}", browserType.getBrowserName());
+            throw error;
+        }
+    }
+
+    private static WebDriver launch(BrowserTypes browserType, boolean headless) {
+        return switch (browserType) {
+            case CHROME -> {
+                ChromeOptions options = new ChromeOptions();
+                if (headless) {
+                    options.addArguments("--headless=new");
+                }
+                yield new ChromeDriver(options);
+            }
+            case FIREFOX -> {
+                FirefoxOptions options = new FirefoxOptions();
+                if (headless) {
+                    options.addArguments("-headless");
+                }
+                yield new FirefoxDriver(options);
+            }
+            case EDGE -> {
+                EdgeOptions options = new EdgeOptions();
+                if (headless) {
+                    options.addArguments("--headless=new");
+                }
+                yield new EdgeDriver(options);
+            }
+        };
+    }
+}
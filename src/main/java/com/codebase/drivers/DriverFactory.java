@@ -0,0 +1,290 @@
+package com.codebase.drivers;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.parameters.AppSettings;
+import com.codebase.parameters.BrowserTypes;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+public class DriverFactory {
+
+    /**
+     * Binds one browser session to each test thread so TestNG can run methods in parallel
+     * with an isolated browser per thread.
+     * <p>
+     * The driver is created lazily on the first {@link #getDriver()} call. A scope opened during class
+     * setup, e.g. by a {@code @BeforeClass} that calls {@link #getDriver()}, is kept for the test methods
+     * that run on the same thread; they share its driver until {@link #quitDriver()}. Bindings are not
+     * inherited by threads the test starts, so pool threads created during a test never pick up its
+     * browser. Code that hands browser work to another thread wraps the task with
+     * {@link #inCurrentScope(Runnable)}. A method with a time-out may run on a thread TestNG starts for
+     * it; {@link #handOffScope(DriverScope)} lets that thread bind to the invocation's scope, and
+     * {@link #quitScope(DriverScope)} quits the scope from whichever thread finishes the invocation.
+     * <p>
+     * The number of live sessions is capped at {@link #getMaxConcurrency()}. A thread waits at most
+     * {@link AppSettings#DRIVER_LEASE_TIMEOUT_SECONDS} for a free slot.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(DriverFactory.class);
+
+    private static final ThreadLocal<DriverScope> currentScope = new ThreadLocal<>();
+    private static final InheritableThreadLocal<HandOff> handOff = new InheritableThreadLocal<>() {
+        @Override
+        protected HandOff childValue(HandOff parentValue) {
+            // Only threads started by the handing-off thread itself, not their descendants
+            return parentValue != null && parentValue.owner == Thread.currentThread() ? parentValue : null;
+        }
+    };
+    private static final Set<DriverScope> activeScopes = ConcurrentHashMap.newKeySet();
+    private static final Semaphore sessionPermits = new Semaphore(getMaxConcurrency(), true);
+
+    private static volatile Supplier<WebDriver> driverSupplier =
+            () -> BrowserFactory.createDriver(BrowserTypes.CHROME, true);
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Replaces the supplier used to launch new sessions, e.g. to pick another browser
+     * or to lease sessions from a {@link WebDriverSessionPool}.
+     *
+     * @param supplier Launches a new WebDriver session.
+     */
+    public static void setDriverSupplier(Supplier<WebDriver> supplier) {
+        if (supplier == null) {
+            throw new IllegalArgumentException("Driver supplier cannot be null.");
+        }
+        driverSupplier = supplier;
+    }
+
+    /**
+     * Starts a driver scope for the current thread unless one is already open. Called before each test
+     * method; a scope opened by class setup on the same thread is kept, so its driver is neither
+     * replaced nor leaked.
+     *
+     * @return True if a new scope was opened, which the caller then closes with {@link #quitDriver()}.
+     */
+    public static boolean openScope() {
+        if (currentScope.get() != null) {
+            return false;
+        }
+        currentScope.set(new DriverScope());
+        return true;
+    }
+
+    /**
+     * Returns the current thread's scope, opening one if none is open.
+     *
+     * @return The scope {@link #getDriver()} uses on this thread.
+     */
+    public static DriverScope getScope() {
+        DriverScope scope = currentScope.get();
+        if (scope == null) {
+            HandOff inherited = handOff.get();
+            scope = inherited != null && !inherited.scope.closed ? inherited.scope : new DriverScope();
+            currentScope.set(scope);
+        }
+        return scope;
+    }
+
+    /**
+     * Lets threads the current thread starts from now on bind to a scope on first use, instead of
+     * opening their own. Used while TestNG runs a timed test method on a thread of its own; threads
+     * those threads start are not included.
+     *
+     * @param scope The scope to hand off, or null to stop handing off.
+     */
+    public static void handOffScope(DriverScope scope) {
+        if (scope == null) {
+            handOff.remove();
+        } else {
+            handOff.set(new HandOff(scope, Thread.currentThread()));
+        }
+    }
+
+    /**
+     * Binds a task to the current thread's scope, so it uses this thread's driver when run on another
+     * thread. The other thread's own binding is restored afterwards.
+     *
+     * @param task The task to run with the current scope.
+     * @return The bound task.
+     */
+    public static Runnable inCurrentScope(Runnable task) {
+        DriverScope captured = getScope();
+        return () -> {
+            DriverScope previous = currentScope.get();
+            currentScope.set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) {
+                    currentScope.remove();
+                } else {
+                    currentScope.set(previous);
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns the driver bound to the current thread, creating it on first use.
+     *
+     * @return The WebDriver session for the current test thread.
+     * @throws IllegalStateException If no session slot frees up in time, the thread is interrupted, or
+     * the scope was quit from another thread, e.g. after its test timed out.
+     */
+    public static WebDriver getDriver() {
+        DriverScope scope = getScope();
+        synchronized (scope) {
+            if (scope.closed) {
+                throw new IllegalStateException("The driver scope of this thread was already quit; the test may have timed out");
+            }
+            if (scope.driver == null) {
+                scope.driver = createDriver();
+                activeScopes.add(scope);
+            }
+            return scope.driver;
+        }
+    }
+
+    /**
+     * Checks whether a driver has been created for the current thread's scope.
+     *
+     * @return True if a driver is bound to the current scope.
+     */
+    public static boolean hasDriver() {
+        DriverScope scope = currentScope.get();
+        if (scope == null) {
+            HandOff inherited = handOff.get();
+            scope = inherited != null ? inherited.scope : null;
+        }
+        return scope != null && scope.driver != null;
+    }
+
+    /**
+     * Quits the driver bound to the current thread's scope, if any, and clears the binding.
+     */
+    public static void quitDriver() {
+        DriverScope scope = currentScope.get();
+        currentScope.remove();
+        if (scope != null) {
+            releaseScope(scope);
+        }
+    }
+
+    /**
+     * Quits the driver of a scope, whichever thread opened or bound it, and clears the current thread's
+     * binding if it is that scope. Threads still bound to the scope can no longer create a driver in it.
+     *
+     * @param scope The scope to quit, e.g. the one an invocation opened.
+     */
+    public static void quitScope(DriverScope scope) {
+        if (currentScope.get() == scope) {
+            currentScope.remove();
+        }
+        synchronized (scope) {
+            scope.closed = true;
+        }
+        releaseScope(scope);
+    }
+
+    /**
+     * Quits every driver that is still alive. Intended as a safety net at suite end.
+     *
+     * @return The number of drivers that were quit.
+     */
+    public static int quitAllDrivers() {
+        List<DriverScope> scopes = new ArrayList<>(activeScopes);
+        scopes.forEach(DriverFactory::releaseScope);
+        if (!scopes.isEmpty()) {
+            logger.warn("Quit {} WebDriver sessions that were not cleaned up by their tests", scopes.size());
+        }
+        return scopes.size();
+    }
+
+    /**
+     * Returns the number of browser sessions currently alive.
+     *
+     * @return The number of active drivers.
+     */
+    public static int getActiveDriverCount() {
+        return activeScopes.size();
+    }
+
+    /**
+     * Returns the maximum number of concurrent sessions, taken from
+     * {@link AppSettings#PARALLEL_THREAD_COUNT} or the available cores when it is not set.
+     *
+     * @return The parallel thread count.
+     */
+    public static int getMaxConcurrency() {
+        int configured = AppSettings.PARALLEL_THREAD_COUNT.getValue();
+        return configured > 0 ? configured : Runtime.getRuntime().availableProcessors();
+    }
+
+    private static WebDriver createDriver() {
+        int timeoutSeconds = AppSettings.DRIVER_LEASE_TIMEOUT_SECONDS.getValue();
+        try {
+            if (!sessionPermits.tryAcquire(timeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException(String.format(
+                        "No WebDriver session slot became available within %d seconds; %d of %d sessions are alive",
+                        timeoutSeconds, activeScopes.size(), getMaxConcurrency()));
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a WebDriver session slot", error);
+        }
+
+        try {
+            WebDriver driver = driverSupplier.get();
+            logger.info("WebDriver session created for thread '{}'", Thread.currentThread().getName());
+            return driver;
+        } catch (Exception error) {
+            sessionPermits.release();
+            ErrorHandler.logError(error, "createDriver", "Failed to create WebDriver session");
+            throw error;
+        }
+    }
+
+    private static void releaseScope(DriverScope scope) {
+        WebDriver driver;
+        synchronized (scope) {
+            driver = scope.driver;
+            scope.driver = null;
+        }
+        if (driver == null || !activeScopes.remove(scope)) {
+            return;
+        }
+
+        try {
+            driver.quit();
+        } catch (Exception error) {
+            logger.warn("Failed to quit WebDriver session: {}", error.getMessage());
+        } finally {
+            sessionPermits.release();
+        }
+    }
+
+    /**
+     * The browser session of one test thread or invocation. Opaque outside this class.
+     */
+    public static final class DriverScope {
+        private WebDriver driver;
+        private volatile boolean closed;
+
+        private DriverScope() {
+        }
+    }
+
+    private record HandOff(DriverScope scope, Thread owner) {
+    }
+}
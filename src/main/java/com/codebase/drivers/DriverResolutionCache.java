@@ -0,0 +1,274 @@
+package com.codebase.drivers;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.parameters.BrowserTypes;
+import com.codebase.utils.LoggerUtil;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.SessionNotCreatedException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.function.Function;
+
+public class DriverResolutionCache {
+
+    /**
+     * Records the driver binary resolved by WebDriverManager in a local properties file so that
+     * later JVM forks reuse it without any browser detection or network lookups.
+     * <p>
+     * The cache file is shared between concurrent forks. Reads and writes happen while holding an
+     * exclusive lock on a sidecar {@code .lock} file, and the cache itself is replaced atomically,
+     * so a fork never sees a half-written entry. Only one fork resolves a missing driver; the others
+     * block on the lock and then find the entry it recorded.
+     * <p>
+     * A cached binary can outlive the browser it was resolved for, e.g. after a browser auto-update.
+     * {@link #launch(BrowserTypes, Function)} then fails with a {@link SessionNotCreatedException}. The
+     * driver is resolved again and the launch is retried once. The entry is only replaced once the new
+     * resolution succeeds, so a transient failure on an air-gapped runner keeps its pre-populated entry.
+     * Launches that fail together share one resolution: whoever gets the lock after the entry was
+     * replaced reuses the replacement.
+     * <p>
+     * The cache location defaults to {@code ~/.cache/codebase/driver-resolution.properties} and can be
+     * overridden with the {@code driver.resolution.cache} system property, e.g. to point air-gapped
+     * runners at a pre-populated file.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(DriverResolutionCache.class);
+
+    public static final String CACHE_FILE_PROPERTY = "driver.resolution.cache";
+    private static final String DEFAULT_CACHE_FILE =
+            Paths.get(System.getProperty("user.home"), ".cache", "codebase", "driver-resolution.properties").toString();
+
+    private static final String PATH_SUFFIX = ".driverPath";
+    private static final String VERSION_SUFFIX = ".driverVersion";
+    private static final String RESOLVED_AT_SUFFIX = ".resolvedAt";
+
+    // FileLock is held per JVM, so threads of the same fork are serialized here first
+    private static final Object JVM_LOCK = new Object();
+
+    private static final DriverResolutionCache DEFAULT_INSTANCE = new DriverResolutionCache(
+            Paths.get(System.getProperty(CACHE_FILE_PROPERTY, DEFAULT_CACHE_FILE)),
+            DriverResolutionCache::resolveWithWebDriverManager);
+
+    private final Path cacheFile;
+    private final Path lockFile;
+    private final Function<BrowserTypes, ResolvedDriver> resolver;
+
+    /**
+     * Creates a cache backed by the given file.
+     *
+     * @param cacheFile The properties file holding resolved drivers.
+     * @param resolver  Resolves a driver when the cache has no usable entry.
+     */
+    public DriverResolutionCache(Path cacheFile, Function<BrowserTypes, ResolvedDriver> resolver) {
+        if (cacheFile == null || resolver == null) {
+            throw new IllegalArgumentException("Cache file and resolver cannot be null.");
+        }
+        this.cacheFile = cacheFile;
+        this.lockFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".lock");
+        this.resolver = resolver;
+    }
+
+    /**
+     * Returns the shared cache backed by WebDriverManager.
+     *
+     * @return The default DriverResolutionCache instance.
+     */
+    public static DriverResolutionCache getDefault() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Resolves the driver for a browser, reusing a cached binary when it still exists on disk, and
+     * exposes it to Selenium through the browser's driver system property.
+     *
+     * @param browserType The browser whose driver should be resolved.
+     * @return The resolved driver binary and version.
+     */
+    public ResolvedDriver resolve(BrowserTypes browserType) {
+        return resolveEntry(browserType, null).driver();
+    }
+
+    /**
+     * Resolves the driver for a browser and launches a session with it. When the session cannot be
+     * created, the cached driver is assumed to no longer match the installed browser. It is resolved
+     * again and the launch is retried once.
+     *
+     * @param browserType The browser to launch.
+     * @param launcher    Starts the session once the driver system property is set.
+     * @param <T>         The session type, e.g. WebDriver.
+     * @return The launched session.
+     * @throws SessionNotCreatedException If the session cannot be created with a freshly resolved driver either.
+     */
+    public <T> T launch(BrowserTypes browserType, Function<ResolvedDriver, T> launcher) {
+        CacheEntry entry = resolveEntry(browserType, null);
+        try {
+            return launcher.apply(entry.driver());
+        } catch (SessionNotCreatedException error) {
+            logger.warn("Could not start '{}' with cached driver {}, resolving it again: {}",
+                    browserType.getBrowserName(), entry.driver().driverVersion(), error.getRawMessage());
+            CacheEntry replacement;
+            try {
+                replacement = resolveEntry(browserType, entry);
+            } catch (RuntimeException resolutionError) {
+                error.addSuppressed(resolutionError);
+                throw error;
+            }
+            return launcher.apply(replacement.driver());
+        }
+    }
+
+    /**
+     * Removes the cached entry for a browser so that the next {@link #resolve(BrowserTypes)} looks it up again.
+     *
+     * @param browserType The browser whose entry should be removed.
+     */
+    public void invalidate(BrowserTypes browserType) {
+        try {
+            withLock(properties -> {
+                String prefix = browserType.getBrowserName();
+                properties.remove(prefix + PATH_SUFFIX);
+                properties.remove(prefix + VERSION_SUFFIX);
+                properties.remove(prefix + RESOLVED_AT_SUFFIX);
+                return null;
+            });
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "invalidate", "Failed to update driver resolution cache: {}", cacheFile);
+            throw new RuntimeException("Failed to update driver resolution cache: " + cacheFile, error);
+        }
+    }
+
+    public Path getCacheFile() {
+        return cacheFile;
+    }
+
+    /**
+     * Returns the cached entry, or resolves and records a new one when there is no usable entry or the
+     * cached one is the rejected entry. A failed resolution leaves the cache file untouched.
+     */
+    private CacheEntry resolveEntry(BrowserTypes browserType, CacheEntry rejected) {
+        try {
+            CacheEntry entry = withLock(properties -> {
+                CacheEntry cached = readEntry(properties, browserType);
+                boolean usable = cached != null && Files.isExecutable(Path.of(cached.driver().driverPath()));
+                if (usable && !cached.equals(rejected)) {
+                    logger.info("Using cached '{}' driver {} at {}",
+                            browserType.getBrowserName(), cached.driver().driverVersion(), cached.driver().driverPath());
+                    return cached;
+                }
+
+                ResolvedDriver resolved;
+                try {
+                    resolved = resolver.apply(browserType);
+                } catch (RuntimeException error) {
+                    ErrorHandler.logError(error, "resolveEntry",
+                            "Failed to resolve the '{}' driver; the cached entry is kept", browserType.getBrowserName());
+                    throw error;
+                }
+                CacheEntry written = writeEntry(properties, browserType, resolved);
+                logger.info("Resolved '{}' driver {} at {} and cached it",
+                        browserType.getBrowserName(), resolved.driverVersion(), resolved.driverPath());
+                return written;
+            });
+
+            System.setProperty(browserType.getDriverSystemProperty(), entry.driver().driverPath());
+            return entry;
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "resolveEntry", "Failed to access driver resolution cache: {}", cacheFile);
+            throw new RuntimeException("Failed to access driver resolution cache: " + cacheFile, error);
+        }
+    }
+
+    /**
+     * Runs an update against the cache contents while holding both the JVM and the cross-process lock.
+     * The file is only rewritten when the update changed it.
+     */
+    private <T> T withLock(Function<Properties, T> update) throws IOException {
+        synchronized (JVM_LOCK) {
+            FileManager.createDirIfNotExists(cacheFile.toAbsolutePath().getParent().toString());
+
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+
+                Properties properties = new Properties();
+                if (Files.exists(cacheFile)) {
+                    try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+                        properties.load(inputStream);
+                    }
+                }
+
+                Properties original = (Properties) properties.clone();
+                T result = update.apply(properties);
+                if (!properties.equals(original)) {
+                    store(properties);
+                }
+                return result;
+            }
+        }
+    }
+
+    private void store(Properties properties) throws IOException {
+        Path tempFile = cacheFile.resolveSibling(cacheFile.getFileName() + ".tmp");
+        try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+            properties.store(outputStream, "Resolved WebDriver binaries");
+        }
+        Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static CacheEntry readEntry(Properties properties, BrowserTypes browserType) {
+        String prefix = browserType.getBrowserName();
+        String path = properties.getProperty(prefix + PATH_SUFFIX);
+        String version = properties.getProperty(prefix + VERSION_SUFFIX);
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        return new CacheEntry(new ResolvedDriver(path, version), properties.getProperty(prefix + RESOLVED_AT_SUFFIX));
+    }
+
+    private static CacheEntry writeEntry(Properties properties, BrowserTypes browserType, ResolvedDriver driver) {
+        String prefix = browserType.getBrowserName();
+        String resolvedAt = Instant.now().toString();
+        properties.setProperty(prefix + PATH_SUFFIX, driver.driverPath());
+        properties.setProperty(prefix + VERSION_SUFFIX, String.valueOf(driver.driverVersion()));
+        properties.setProperty(prefix + RESOLVED_AT_SUFFIX, resolvedAt);
+        return new CacheEntry(driver, resolvedAt);
+    }
+
+    private static ResolvedDriver resolveWithWebDriverManager(BrowserTypes browserType) {
+        WebDriverManager manager = WebDriverManager.getInstance(browserType.getBrowserName());
+        manager.setup();
+        return new ResolvedDriver(manager.getDownloadedDriverPath(), manager.getDownloadedDriverVersion());
+    }
+
+    /**
+     * A cache entry as read or written; the resolution time tells a replaced entry from the rejected one.
+     */
+    private record CacheEntry(ResolvedDriver driver, String resolvedAt) {
+    }
+
+    /**
+     * A driver binary resolved for a browser.
+     *
+     * @param driverPath    The absolute path to the driver binary.
+     * @param driverVersion The driver version.
+     */
+    public record ResolvedDriver(String driverPath, String driverVersion) {
+        public ResolvedDriver {
+            if (driverPath == null || driverPath.isBlank()) {
+                throw new IllegalArgumentException("Driver path cannot be null or empty.");
+            }
+        }
+    }
+}
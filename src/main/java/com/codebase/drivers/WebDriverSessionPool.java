@@ -0,0 +1,353 @@
+package com.codebase.drivers;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.parameters.AppSettings;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class WebDriverSessionPool implements AutoCloseable {
+
+    /**
+     * Keeps a fixed number of browser sessions warm so tests lease an already running
+     * browser instead of paying the launch cost per test class.
+     * <p>
+     * Sessions are launched in the background as soon as the pool is created. A leased
+     * session is health-checked before it is handed out, and reset (extra windows closed,
+     * storage and cookies cleared, blank page loaded) when it is released. Sessions that
+     * fail either step are quit and replaced in the background.
+     * <p>
+     * A launch that fails leaves its slot empty rather than shrinking the pool for good. The next
+     * {@link #lease(Duration)} launches the missing sessions again. If those launches fail too and no
+     * session is idle, the lease fails at once with the launch error as its cause instead of waiting
+     * out its timeout.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * try (WebDriverSessionPool pool = new WebDriverSessionPool(
+     *         () -> BrowserFactory.createDriver(BrowserTypes.CHROME, true))) {
+     *     WebDriver driver = pool.lease();
+     *     try {
+     *         driver.get("https://example.com");
+     *     } finally {
+     *         pool.release(driver);
+     *     }
+     * }
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(WebDriverSessionPool.class);
+
+    // How often a waiting lease checks whether the launches it is waiting for have all failed
+    private static final long LAUNCH_CHECK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> driverSupplier;
+    private final int poolSize;
+    private final LinkedBlockingQueue<WebDriver> idleSessions = new LinkedBlockingQueue<>();
+    private final Set<WebDriver> leasedSessions = ConcurrentHashMap.newKeySet();
+    private final ExecutorService launchExecutor;
+    private final AtomicInteger replacedSessions = new AtomicInteger();
+    private final AtomicInteger launchingSessions = new AtomicInteger();
+    private final AtomicInteger missingSessions = new AtomicInteger();
+    private volatile Exception lastLaunchError;
+    private volatile boolean closed;
+
+    /**
+     * Creates a pool sized by {@link AppSettings#DRIVER_POOL_SIZE} and starts launching sessions.
+     *
+     * @param driverSupplier Launches a new browser session.
+     */
+    public WebDriverSessionPool(Supplier<WebDriver> driverSupplier) {
+        this(AppSettings.DRIVER_POOL_SIZE.getValue(), driverSupplier);
+    }
+
+    /**
+     * Creates a pool of the given size and starts launching sessions in the background.
+     *
+     * @param poolSize       The number of sessions kept alive by the pool.
+     * @param driverSupplier Launches a new browser session.
+     * @throws IllegalArgumentException If the pool size is not positive or the supplier is null.
+     */
+    public WebDriverSessionPool(int poolSize, Supplier<WebDriver> driverSupplier) {
+        if (poolSize <= 0) {
+            throw new IllegalArgumentException("Pool size must be greater than zero.");
+        }
+        if (driverSupplier == null) {
+            throw new IllegalArgumentException("Driver supplier cannot be null.");
+        }
+
+        this.poolSize = poolSize;
+        this.driverSupplier = driverSupplier;
+        this.launchExecutor = Executors.newFixedThreadPool(poolSize, runnable -> {
+            Thread thread = new Thread(runnable, "driver-pool-launcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < poolSize; i++) {
+            submitLaunch();
+        }
+        logger.info("Pre-launching {} browser sessions in the background", poolSize);
+    }
+
+    /**
+     * Leases a session, waiting up to {@link AppSettings#DRIVER_LEASE_TIMEOUT_SECONDS}.
+     *
+     * @return A healthy, reset WebDriver session.
+     */
+    public WebDriver lease() throws InterruptedException {
+        return lease(Duration.ofSeconds(AppSettings.DRIVER_LEASE_TIMEOUT_SECONDS.getValue()));
+    }
+
+    /**
+     * Leases a session from the pool. Dead sessions found while leasing are replaced and skipped, and
+     * sessions whose launch failed earlier are launched again.
+     *
+     * @param timeout The maximum time to wait for a session to become available.
+     * @return A healthy, reset WebDriver session.
+     * @throws IllegalStateException If the pool is closed, no session became available in time, or every
+     *                               pending launch failed with no session idle; the launch error is the cause.
+     * @throws InterruptedException  If the calling thread is interrupted while waiting.
+     */
+    public WebDriver lease(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        boolean relaunched = relaunchMissingSessions();
+
+        while (true) {
+            if (closed) {
+                throw new IllegalStateException("WebDriver session pool is closed.");
+            }
+
+            long remaining = deadline - System.nanoTime();
+            WebDriver driver = idleSessions.poll(Math.max(Math.min(remaining, LAUNCH_CHECK_NANOS), 0), TimeUnit.NANOSECONDS);
+            if (driver == null) {
+                if (launchingSessions.get() == 0 && missingSessions.get() > 0 && idleSessions.isEmpty()) {
+                    // Retry the failed launches once for this lease before giving up on them
+                    if (relaunched) {
+                        throw new IllegalStateException("No WebDriver session could be launched", lastLaunchError);
+                    }
+                    relaunched = relaunchMissingSessions();
+                }
+                if (deadline - System.nanoTime() <= 0) {
+                    throw new IllegalStateException(
+                            String.format("No WebDriver session became available within %d ms", timeout.toMillis()));
+                }
+                continue;
+            }
+
+            if (isHealthy(driver)) {
+                leasedSessions.add(driver);
+                return driver;
+            }
+
+            logger.warn("Discarding unhealthy WebDriver session found while leasing");
+            discard(driver);
+        }
+    }
+
+    /**
+     * Returns a leased session to the pool after resetting its state.
+     *
+     * @param driver The session obtained from {@link #lease(Duration)}.
+     * @throws IllegalArgumentException If the session was not leased from this pool.
+     */
+    public void release(WebDriver driver) {
+        if (driver == null || !leasedSessions.remove(driver)) {
+            throw new IllegalArgumentException("WebDriver session was not leased from this pool.");
+        }
+
+        if (closed) {
+            quitQuietly(driver);
+            return;
+        }
+
+        try {
+            resetSession(driver);
+            addIdleSession(driver);
+        } catch (Exception error) {
+            logger.warn("Failed to reset WebDriver session, replacing it: {}", error.getMessage());
+            discard(driver);
+        }
+    }
+
+    /**
+     * Removes a leased session that is known to be broken and launches a replacement.
+     *
+     * @param driver The session to discard.
+     */
+    public void invalidate(WebDriver driver) {
+        if (driver != null && leasedSessions.remove(driver)) {
+            discard(driver);
+        }
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getIdleCount() {
+        return idleSessions.size();
+    }
+
+    public int getLeasedCount() {
+        return leasedSessions.size();
+    }
+
+    public int getReplacedCount() {
+        return replacedSessions.get();
+    }
+
+    /**
+     * @return The number of sessions whose launch failed and that have not been launched again yet.
+     */
+    public int getMissingCount() {
+        return missingSessions.get();
+    }
+
+    /**
+     * Stops launching sessions and quits every idle and leased session.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        launchExecutor.shutdownNow();
+
+        List<WebDriver> sessions = new ArrayList<>(leasedSessions);
+        idleSessions.drainTo(sessions);
+        leasedSessions.clear();
+        sessions.forEach(this::quitQuietly);
+        logger.info("WebDriver session pool closed, {} sessions quit", sessions.size());
+    }
+
+    /**
+     * Checks that the session still responds to the remote end.
+     *
+     * @param driver The session to check.
+     * @return True if the session answered with at least one open window.
+     */
+    boolean isHealthy(WebDriver driver) {
+        try {
+            return !driver.getWindowHandles().isEmpty();
+        } catch (Exception error) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes all but the first window, clears web storage and cookies, and loads a blank page.
+     * Storage is cleared before navigating away because it is scoped to the current origin.
+     *
+     * @param driver The session to reset.
+     */
+    void resetSession(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        String primaryHandle = handles.get(0);
+        for (String handle : handles.subList(1, handles.size())) {
+            driver.switchTo().window(handle);
+            driver.close();
+        }
+        driver.switchTo().window(primaryHandle);
+
+        if (driver instanceof JavascriptExecutor executor) {
+            executor.executeScript(CLEAR_STORAGE_SCRIPT);
+        }
+        driver.manage().deleteAllCookies();
+        driver.navigate().to("about:blank");
+    }
+
+    private void submitLaunch() {
+        if (closed) {
+            return;
+        }
+        launchingSessions.incrementAndGet();
+        try {
+            launchExecutor.submit(this::launchSession);
+        } catch (RejectedExecutionException error) {
+            launchingSessions.decrementAndGet();
+            logger.debug("Pool closed while scheduling a session launch");
+        }
+    }
+
+    private void launchSession() {
+        try {
+            if (closed) {
+                return;
+            }
+            WebDriver driver = driverSupplier.get();
+            if (closed) {
+                quitQuietly(driver);
+                return;
+            }
+            addIdleSession(driver);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "launchSession", "Failed to launch pooled WebDriver session");
+            lastLaunchError = error;
+            // Counted as missing before it stops counting as launching, so a waiting lease always sees one of the two
+            missingSessions.incrementAndGet();
+        } finally {
+            launchingSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return Whether any missing session was launched again.
+     */
+    private boolean relaunchMissingSessions() {
+        boolean relaunched = false;
+        int missing;
+        while ((missing = missingSessions.get()) > 0) {
+            if (missingSessions.compareAndSet(missing, missing - 1)) {
+                logger.info("Launching a WebDriver session again after an earlier launch failed");
+                submitLaunch();
+                relaunched = true;
+            }
+        }
+        return relaunched;
+    }
+
+    /**
+     * Queues a session for leasing. A session queued after {@link #close()} drained the queue is taken
+     * back out and quit here; otherwise close() drains and quits it.
+     */
+    private void addIdleSession(WebDriver driver) {
+        idleSessions.offer(driver);
+        if (closed && idleSessions.remove(driver)) {
+            quitQuietly(driver);
+        }
+    }
+
+    private void discard(WebDriver driver) {
+        quitQuietly(driver);
+        replacedSessions.incrementAndGet();
+        submitLaunch();
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception error) {
+            logger.warn("Failed to quit WebDriver session: {}", error.getMessage());
+        }
+    }
+}
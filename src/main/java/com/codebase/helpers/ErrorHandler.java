@@ -3,11 +3,30 @@ package com.codebase.helpers;
 
 import com.codebase.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 
 public class ErrorHandler {
 
+    /**
+     * Logs errors that are caught, logged and rethrown at every level of a call chain.
+     * <p>
+     * The first {@link #logError} call for an error logs its full stack trace, and the error is remembered.
+     * Every later call for the same error, or for an error wrapping it, logs a single context line without
+     * the trace. That line still records the method the error passed through. Logged errors are tracked by
+     * identity in a weak map, so tracking never keeps an error alive. Messages are only formatted when the
+     * error level is enabled.
+     */
+
     private static final Logger logger = LoggerUtil.getLogger(ErrorHandler.class);
 
+    // Throwable does not override equals or hashCode, so the weak map compares keys by identity
+    private static final Map<Throwable, Boolean> loggedErrors = Collections.synchronizedMap(new WeakHashMap<>());
+    private static final int MAX_CAUSE_DEPTH = 32;
+
 
     public static void logError(Throwable error, String methodName, String errorMessage) {
         // Validate input parameters
@@ -17,17 +36,54 @@ public class ErrorHandler {
         if (methodName == null || methodName.isBlank()) {
             throw new IllegalArgumentException("Method name cannot be null or empty");
         }
+        if (!logger.isErrorEnabled()) {
+            return;
+        }
 
-        // Construct a detailed error message
-        String detailedMessage = String.format(
-                "An error occurred in method '%s': %s. Details: %s",
-                methodName,
-                errorMessage != null ? errorMessage : "No additional error message provided",
-                error.getMessage()
-        );
+        String message = errorMessage != null ? errorMessage : "No additional error message provided";
+        if (wasLogged(error)) {
+            // The stack trace is already in the log; only record where the error passed through
+            logger.error("An error occurred in method '{}': {}. Details: {} (stack trace logged earlier)",
+                    methodName, message, error.getMessage());
+        } else {
+            logger.error("An error occurred in method '{}': {}. Details: {}",
+                    methodName, message, error.getMessage(), error);
+        }
+        loggedErrors.put(error, Boolean.TRUE);
+    }
 
-        // Log the error and stack trace
-        logger.error(detailedMessage, error);
+    /**
+     * Logs an error like {@link #logError(Throwable, String, String)}, with a message built from a
+     * {@code {}} pattern only when the error level is enabled.
+     *
+     * @param error The error to log.
+     * @param methodName The method the error was caught in.
+     * @param messagePattern The message with {@code {}} placeholders, e.g. {@code "Failed to load {}"}.
+     * @param arguments The values for the placeholders.
+     */
+    public static void logError(Throwable error, String methodName, String messagePattern, Object... arguments) {
+        if (error != null && !logger.isErrorEnabled()) {
+            return;
+        }
+        logError(error, methodName, ParameterizedMessage.format(messagePattern, arguments));
+    }
+
+    /**
+     * @param error The error to check.
+     * @return Whether the error, or any error in its cause chain, has had its stack trace logged.
+     */
+    public static boolean wasLogged(Throwable error) {
+        Throwable current = error;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            if (loggedErrors.containsKey(current)) {
+                return true;
+            }
+            if (current.getCause() == current) {
+                break;
+            }
+            current = current.getCause();
+        }
+        return false;
     }
 
     /**
@@ -46,10 +102,12 @@ public class ErrorHandler {
         // Construct a detailed log message
         String detailedMessage = String.format("Error occurred: %s. Context: %s", errorMessage, context);
 
-        // Log the error message
-        logger.error(detailedMessage);
+        // Log the error message with the stack trace of the exception it is thrown as
+        RuntimeException error = new RuntimeException(detailedMessage);
+        logger.error(detailedMessage, error);
 
-        // Throw a RuntimeException with the detailed message
-        throw new RuntimeException(detailedMessage);
+        // Callers that catch and log it again add a context line, not a second copy of the trace
+        loggedErrors.put(error, Boolean.TRUE);
+        throw error;
     }
 }
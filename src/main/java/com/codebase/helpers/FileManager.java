@@ -28,7 +28,8 @@ public class FileManager {
             ErrorHandler.logError(
                     error,
                     "createDirIfNotExists",
-                    "Failed to ensure directory exists: " + dirPath
+                    "Failed to ensure directory exists: {}",
+                    dirPath
             );
             throw error;
         }
@@ -62,7 +63,9 @@ public class FileManager {
             ErrorHandler.logError(
                     error,
                     "createFileIfNotExists",
-                    "Failed to ensure file exists: " + fileName + " in " + dirPath
+                    "Failed to ensure file exists: {} in {}",
+                    fileName,
+                    dirPath
             );
             throw error;
         }
@@ -0,0 +1,181 @@
+package com.codebase.helpers;
+
+import com.codebase.utils.LoggerUtil;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.apache.logging.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ObjectMapperRegistry {
+
+    /**
+     * Holds the framework's single configured {@link ObjectMapper}, together with the {@link ObjectReader}
+     * and {@link ObjectWriter} for each payload type.
+     * <p>
+     * A new ObjectMapper repeats the reflection over every model class it meets. Readers and writers
+     * obtained here are created once per type. Their root (de)serializer is resolved at creation, and
+     * they are immutable and thread-safe. A data-driven loop that serializes thousands of payloads
+     * pays the introspection cost only once. Register model classes at bootstrap with
+     * {@link #registerModels(Class[])} so that this cost is also off the first test's clock.
+     * {@code ApiClient.getDefault()} registers the classes listed in the {@value #MODELS_PROPERTY}
+     * system property, e.g. {@code -Djackson.models=com.example.Booking,com.example.AuthRequest}.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * ObjectMapperRegistry.registerModels(Booking.class, AuthRequest.class);
+     * String body = ObjectMapperRegistry.writer(Booking.class).writeValueAsString(booking);
+     * Booking created = ObjectMapperRegistry.reader(Booking.class).readValue(response.asInputStream());
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ObjectMapperRegistry.class);
+
+    public static final String MODELS_PROPERTY = "jackson.models";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private static final Map<JavaType, ObjectReader> readers = new ConcurrentHashMap<>();
+    private static final Map<JavaType, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    private ObjectMapperRegistry() {
+    }
+
+    /**
+     * @return The shared mapper; do not reconfigure it after startup.
+     */
+    public static ObjectMapper getMapper() {
+        return OBJECT_MAPPER;
+    }
+
+    /**
+     * @return The mapper's factory, for streaming {@code JsonParser} and {@code JsonGenerator} use.
+     */
+    public static JsonFactory getFactory() {
+        return OBJECT_MAPPER.getFactory();
+    }
+
+    public static ObjectReader reader(Class<?> type) {
+        return reader(OBJECT_MAPPER.constructType(type));
+    }
+
+    public static ObjectReader reader(TypeReference<?> type) {
+        return reader(OBJECT_MAPPER.constructType(type));
+    }
+
+    public static ObjectReader reader(JavaType type) {
+        return readers.computeIfAbsent(type, OBJECT_MAPPER::readerFor);
+    }
+
+    public static ObjectWriter writer(Class<?> type) {
+        return writer(OBJECT_MAPPER.constructType(type));
+    }
+
+    public static ObjectWriter writer(TypeReference<?> type) {
+        return writer(OBJECT_MAPPER.constructType(type));
+    }
+
+    public static ObjectWriter writer(JavaType type) {
+        return writers.computeIfAbsent(type, OBJECT_MAPPER::writerFor);
+    }
+
+    /**
+     * Serializes a value with the cached writer for its runtime class.
+     *
+     * @param value The value to serialize.
+     * @return The JSON text.
+     */
+    public static String toJson(Object value) {
+        try {
+            return value == null ? "null" : writer(value.getClass()).writeValueAsString(value);
+        } catch (JsonProcessingException error) {
+            ErrorHandler.logError(error, "toJson", "Failed to serialize {}", value.getClass().getName());
+            throw new IllegalArgumentException("Failed to serialize " + value.getClass().getName(), error);
+        }
+    }
+
+    /**
+     * Deserializes JSON text with the cached reader for a type.
+     *
+     * @param json The JSON text.
+     * @param type The target type.
+     * @return The deserialized value.
+     */
+    public static <T> T fromJson(String json, Class<T> type) {
+        try {
+            return reader(type).readValue(json);
+        } catch (JsonProcessingException error) {
+            ErrorHandler.logError(error, "fromJson", "Failed to deserialize {}", type.getName());
+            throw new IllegalArgumentException("Failed to deserialize " + type.getName(), error);
+        }
+    }
+
+    /**
+     * Creates and caches the reader and writer of each model class, resolving its serializer and
+     * deserializer up front.
+     *
+     * @param modelClasses The payload classes used by the tests.
+     */
+    public static void registerModels(Class<?>... modelClasses) {
+        long start = System.nanoTime();
+        for (Class<?> modelClass : modelClasses) {
+            try {
+                reader(modelClass);
+                writer(modelClass);
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "registerModels", "Failed to warm up {}", modelClass.getName());
+                throw error;
+            }
+        }
+        logger.info("Warmed up Jackson (de)serializers for {} model classes in {} ms",
+                modelClasses.length, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Registers the comma-separated class names in the {@value #MODELS_PROPERTY} system property.
+     *
+     * @throws IllegalStateException If a listed class cannot be loaded.
+     */
+    public static void registerConfiguredModels() {
+        String classNames = System.getProperty(MODELS_PROPERTY, "");
+        List<Class<?>> modelClasses = new ArrayList<>();
+        for (String className : classNames.split(",")) {
+            if (className.isBlank()) {
+                continue;
+            }
+            try {
+                modelClasses.add(Class.forName(className.trim()));
+            } catch (ClassNotFoundException error) {
+                ErrorHandler.logError(error, "registerConfiguredModels", "Model class not found: {}", className.trim());
+                throw new IllegalStateException("Model class not found: " + className.trim(), error);
+            }
+        }
+        if (!modelClasses.isEmpty()) {
+            registerModels(modelClasses.toArray(new Class<?>[0]));
+        }
+    }
+
+    public static int getCachedReaderCount() {
+        return readers.size();
+    }
+
+    public static int getCachedWriterCount() {
+        return writers.size();
+    }
+}
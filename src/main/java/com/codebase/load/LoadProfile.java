@@ -0,0 +1,55 @@
+package com.codebase.load;
+
+import java.time.Duration;
+
+/**
+ * How a load run drives its endpoints. A closed profile keeps a fixed number of virtual users, each
+ * sending its next request as soon as the last one returns. An open profile starts requests at a fixed
+ * rate, however long the earlier ones take.
+ *
+ * @param concurrency   The number of virtual users; 0 for an open profile.
+ * @param ratePerSecond The request start rate; 0 for a closed profile.
+ * @param duration      How long requests are started for.
+ */
+public record LoadProfile(int concurrency, double ratePerSecond, Duration duration) {
+
+    public static final String CONCURRENCY_PROPERTY = "load.concurrency";
+    public static final String RATE_PROPERTY = "load.rate";
+    public static final String DURATION_PROPERTY = "load.duration.seconds";
+
+    public LoadProfile {
+        if ((concurrency > 0) == (ratePerSecond > 0)) {
+            throw new IllegalArgumentException("Set exactly one of concurrency or rate.");
+        }
+        if (duration == null || duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Load duration must be positive.");
+        }
+    }
+
+    public static LoadProfile concurrency(int users, Duration duration) {
+        return new LoadProfile(users, 0, duration);
+    }
+
+    public static LoadProfile rate(double requestsPerSecond, Duration duration) {
+        return new LoadProfile(0, requestsPerSecond, duration);
+    }
+
+    /**
+     * Reads {@code load.rate} or {@code load.concurrency} and {@code load.duration.seconds}, e.g.
+     * {@code -Dload.rate=200 -Dload.duration.seconds=60}. Defaults to 10 users for 30 seconds.
+     *
+     * @return The configured profile.
+     */
+    public static LoadProfile fromSystemProperties() {
+        Duration duration = Duration.ofSeconds(Long.getLong(DURATION_PROPERTY, 30));
+        String rate = System.getProperty(RATE_PROPERTY);
+        if (rate != null && !rate.isBlank()) {
+            return rate(Double.parseDouble(rate.trim()), duration);
+        }
+        return concurrency(Integer.getInteger(CONCURRENCY_PROPERTY, 10), duration);
+    }
+
+    public boolean isOpen() {
+        return ratePerSecond > 0;
+    }
+}
@@ -0,0 +1,49 @@
+package com.codebase.load;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * The outcome of a load run, per endpoint.
+ *
+ * @param elapsed   The wall-clock time of the run, including requests still in flight at the end.
+ * @param endpoints The statistics of each endpoint, in registration order.
+ */
+public record LoadReport(Duration elapsed, List<EndpointReport> endpoints) {
+
+    public EndpointReport getEndpoint(String name) {
+        return endpoints.stream().filter(endpoint -> endpoint.name().equals(name)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("No endpoint named '" + name + "' in the report."));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder table = new StringBuilder(String.format(
+                "Load run of %.1f s%n%-24s %8s %7s %9s %9s %9s %9s %9s%n",
+                elapsed.toMillis() / 1000.0, "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "max ms"));
+        for (EndpointReport endpoint : endpoints) {
+            table.append(endpoint).append(System.lineSeparator());
+        }
+        return table.toString();
+    }
+
+    /**
+     * @param name       The endpoint name.
+     * @param requests   Completed requests, successful or not.
+     * @param errors     Requests that threw or returned a status of 400 or above.
+     * @param throughput Completed requests per second.
+     * @param p50Millis  Median latency.
+     * @param p90Millis  90th percentile latency.
+     * @param p99Millis  99th percentile latency.
+     * @param maxMillis  Highest latency.
+     */
+    public record EndpointReport(String name, long requests, long errors, double throughput,
+                                 double p50Millis, double p90Millis, double p99Millis, double maxMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("%-24s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f",
+                    name, requests, errors, throughput, p50Millis, p90Millis, p99Millis, maxMillis);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.codebase.load;
+
+import com.codebase.parameters.AppSettings;
+import com.codebase.utils.LoggerUtil;
+import io.restassured.response.Response;
+import org.apache.logging.log4j.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+public class LoadRunner {
+
+    /**
+     * Replays the framework's API calls as load, so the requests that functional tests already define
+     * are also the load test. Each endpoint is a named request, usually built with
+     * {@code ApiClient.request(...)}. The runner picks endpoints by weight and sends them on virtual
+     * threads. The {@link LoadProfile} decides between a fixed number of users and a fixed start rate.
+     * <p>
+     * At a fixed rate, latency is measured from when a request was due to start, not from when a thread
+     * got to it. A slow server therefore shows up in the percentiles instead of quietly lowering the
+     * rate (coordinated omission). Latencies go into one lock-free {@link LatencyHistogram} per endpoint.
+     * <p>
+     * Rest-assured waits for a pooled connection while pinned to its carrier thread. If every carrier is
+     * pinned that way, the threads that would hand connections back can never run. The runner therefore
+     * caps in-flight requests at the connection pool size, see {@link #maxInFlight(int)}, so requests
+     * queue on a semaphore in this class instead. Time spent queued still counts towards latency, as
+     * does reading the response body.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * ApiClient api = ApiClient.getDefault();
+     * LoadReport report = new LoadRunner()
+     *         .endpoint("list-bookings", 3, () -&gt; api.request("/booking").get())
+     *         .endpoint("get-booking", 1, () -&gt; api.request("/booking").get("/{id}", 1))
+     *         .run(LoadProfile.rate(200, Duration.ofMinutes(1)));
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(LoadRunner.class);
+
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(30);
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+    private int totalWeight;
+    private int maxInFlight = AppSettings.API_MAX_CONNECTIONS_PER_ROUTE.getValue();
+
+    /**
+     * Adds a request to the mix.
+     *
+     * @param name    The name reported for the endpoint.
+     * @param weight  The relative share of requests sent to it.
+     * @param request Sends one request and returns its response.
+     * @return This runner.
+     */
+    public LoadRunner endpoint(String name, int weight, Supplier<Response> request) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Endpoint weight must be greater than zero.");
+        }
+        if (endpoints.putIfAbsent(name, new Endpoint(name, weight, request)) != null) {
+            throw new IllegalArgumentException("Endpoint '" + name + "' is already registered.");
+        }
+        totalWeight += weight;
+        return this;
+    }
+
+    public LoadRunner endpoint(String name, Supplier<Response> request) {
+        return endpoint(name, 1, request);
+    }
+
+    /**
+     * Caps the number of requests in flight at once. Set it to the connection pool's per-route limit
+     * when the endpoints use an {@code ApiClient} built with non-default pool sizes.
+     *
+     * @param maxInFlight The maximum number of concurrent requests.
+     * @return This runner.
+     */
+    public LoadRunner maxInFlight(int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("Maximum in-flight requests must be greater than zero.");
+        }
+        this.maxInFlight = maxInFlight;
+        return this;
+    }
+
+    /**
+     * Runs the load and waits for in-flight requests to finish.
+     *
+     * @param profile The load shape and duration.
+     * @return The per-endpoint report.
+     */
+    public LoadReport run(LoadProfile profile) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalStateException("No endpoints registered.");
+        }
+        logger.info("Starting load run: {} over {} endpoints", profile, endpoints.size());
+
+        long start = System.nanoTime();
+        long end = start + profile.duration().toNanos();
+        Semaphore permits = new Semaphore(maxInFlight);
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("load-", 0).factory());
+        try {
+            if (profile.isOpen()) {
+                runOpen(executor, permits, profile.ratePerSecond(), start, end);
+            } else {
+                runClosed(executor, permits, profile.concurrency(), end);
+            }
+            executor.shutdown();
+            if (!executor.awaitTermination(DRAIN_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Requests still in flight after {}, abandoning them", DRAIN_TIMEOUT);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            logger.warn("Load run interrupted, reporting partial results");
+        }
+
+        LoadReport report = report(Duration.ofNanos(System.nanoTime() - start));
+        logger.info("Load run finished:\n{}", report);
+        return report;
+    }
+
+    private void runClosed(ExecutorService executor, Semaphore permits, int users, long end) {
+        for (int i = 0; i < users; i++) {
+            executor.submit(() -> {
+                while (System.nanoTime() < end && !Thread.currentThread().isInterrupted()) {
+                    long requestStart = System.nanoTime();
+                    pickEndpoint().execute(permits, requestStart);
+                }
+            });
+        }
+    }
+
+    private void runOpen(ExecutorService executor, Semaphore permits, double ratePerSecond, long start, long end) {
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / ratePerSecond;
+        for (long i = 0; ; i++) {
+            long scheduled = start + (long) (i * intervalNanos);
+            if (scheduled >= end) {
+                return;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Endpoint endpoint = pickEndpoint();
+            executor.submit(() -> endpoint.execute(permits, scheduled));
+        }
+    }
+
+    private Endpoint pickEndpoint() {
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Endpoint endpoint : endpoints.values()) {
+            ticket -= endpoint.weight;
+            if (ticket < 0) {
+                return endpoint;
+            }
+        }
+        throw new IllegalStateException("Endpoint weights changed during the run.");
+    }
+
+    private LoadReport report(Duration elapsed) {
+        double seconds = Math.max(elapsed.toNanos() / 1e9, 1e-9);
+        List<LoadReport.EndpointReport> reports = new ArrayList<>();
+        for (Endpoint endpoint : endpoints.values()) {
+            LatencyHistogram histogram = endpoint.histogram;
+            reports.add(new LoadReport.EndpointReport(
+                    endpoint.name,
+                    histogram.getCount(),
+                    endpoint.errors.sum(),
+                    histogram.getCount() / seconds,
+                    histogram.getPercentileMicros(50) / 1000.0,
+                    histogram.getPercentileMicros(90) / 1000.0,
+                    histogram.getPercentileMicros(99) / 1000.0,
+                    histogram.getMaxMicros() / 1000.0));
+        }
+        return new LoadReport(elapsed, reports);
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final int weight;
+        private final Supplier<Response> request;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder errors = new LongAdder();
+
+        private Endpoint(String name, int weight, Supplier<Response> request) {
+            this.name = name;
+            this.weight = weight;
+            this.request = request;
+        }
+
+        private void execute(Semaphore permits, long startNanos) {
+            try {
+                permits.acquire();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                Response response = request.get();
+                if (response == null) {
+                    errors.increment();
+                    return;
+                }
+                // Rest-assured keeps the connection leased until the body is read
+                response.asByteArray();
+                if (response.statusCode() >= 400) {
+                    errors.increment();
+                }
+            } catch (RuntimeException error) {
+                errors.increment();
+                logger.debug("Load request '{}' failed: {}", name, error.getMessage());
+            } finally {
+                permits.release();
+                histogram.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+            }
+        }
+    }
+}
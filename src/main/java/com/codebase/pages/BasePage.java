@@ -0,0 +1,63 @@
+package com.codebase.pages;
+
+import com.codebase.tracing.Tracer;
+import com.codebase.tracing.TracingWebDriverListener;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+
+import java.util.List;
+
+public abstract class BasePage {
+
+    /**
+     * Base class for page objects. Element lookups go through a per-page {@link ElementCache}, and
+     * {@link #driver} is decorated so that any navigation made through it clears that cache.
+     * <p>
+     * The driver is decorated in two layers. The inner layer records every call as a {@link Tracer}
+     * span, and the cache resolves elements through it. Lookups and interactions made through the cache
+     * are therefore traced just like direct {@link #driver} calls. The outer layer is the cache's own
+     * navigation listener.
+     */
+
+    protected final WebDriver driver;
+    protected final ElementCache elementCache;
+
+    protected BasePage(WebDriver driver) {
+        WebDriver tracedDriver = new EventFiringDecorator<>(new TracingWebDriverListener()).decorate(driver);
+        this.elementCache = new ElementCache(tracedDriver);
+        this.driver = new EventFiringDecorator<>(elementCache).decorate(tracedDriver);
+    }
+
+    protected WebElement find(By locator) {
+        return elementCache.find(locator);
+    }
+
+    protected List<WebElement> findAll(By locator) {
+        return elementCache.findAll(locator);
+    }
+
+    protected void click(By locator) {
+        elementCache.perform(locator, element -> {
+            element.click();
+            return null;
+        });
+    }
+
+    protected void type(By locator, String text) {
+        elementCache.perform(locator, element -> {
+            element.clear();
+            element.sendKeys(text);
+            return null;
+        });
+    }
+
+    protected String getText(By locator) {
+        return elementCache.perform(locator, WebElement::getText);
+    }
+
+    public CacheStatistics getCacheStatistics() {
+        return elementCache.getStatistics();
+    }
+}
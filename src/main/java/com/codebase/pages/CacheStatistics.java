@@ -0,0 +1,25 @@
+package com.codebase.pages;
+
+/**
+ * A snapshot of {@link ElementCache} counters.
+ *
+ * @param hits           Lookups served from the cache without a driver call.
+ * @param misses         Lookups that had to call {@code findElement}.
+ * @param staleRefreshes Cached references that went stale and were re-resolved.
+ */
+public record CacheStatistics(long hits, long misses, long staleRefreshes) {
+
+    /**
+     * @return The fraction of lookups served from the cache, or 0 if there were none.
+     */
+    public double hitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("hits=%d, misses=%d, staleRefreshes=%d, hitRate=%.1f%%",
+                hits, misses, staleRefreshes, hitRate() * 100);
+    }
+}
@@ -0,0 +1,181 @@
+package com.codebase.pages;
+
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+public class ElementCache implements WebDriverListener {
+
+    /**
+     * Keeps the {@code WebElement} references a page object has already resolved, so repeated
+     * interactions with the same locator skip the {@code findElement} round-trip.
+     * <p>
+     * The cache belongs to one page object and one driver session. Staleness is detected
+     * optimistically. A cached reference is used as-is, and if the interaction fails with a
+     * {@link StaleElementReferenceException}, only that locator is re-resolved and the
+     * interaction is retried once. Detection therefore costs no extra round-trip. As a
+     * {@link WebDriverListener} the cache clears itself whenever the decorated driver navigates.
+     * A page change the driver does not report, such as a click that submits a form, leaves the
+     * old references in place. They go stale, and {@link #perform} re-resolves them on first use.
+     * <p>
+     * Element lists are not cached. A list can gain or lose entries without any of its references
+     * going stale, so a cached list could not be validated without finding it again.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ElementCache.class);
+
+    private static final LongAdder globalHits = new LongAdder();
+    private static final LongAdder globalMisses = new LongAdder();
+    private static final LongAdder globalStaleRefreshes = new LongAdder();
+
+    private final WebDriver driver;
+    private final Map<By, WebElement> elements = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder staleRefreshes = new LongAdder();
+
+    /**
+     * Creates a cache that resolves elements through the given driver.
+     *
+     * @param driver The driver used for lookups; not the one decorated with this cache.
+     */
+    public ElementCache(WebDriver driver) {
+        if (driver == null) {
+            throw new IllegalArgumentException("Driver cannot be null.");
+        }
+        this.driver = driver;
+    }
+
+    /**
+     * Returns the cached element for a locator, resolving it on a miss.
+     *
+     * @param locator The element locator.
+     * @return The resolved element.
+     */
+    public WebElement find(By locator) {
+        WebElement cached = elements.get(locator);
+        if (cached != null) {
+            recordHit();
+            return cached;
+        }
+        return resolve(locator);
+    }
+
+    /**
+     * Finds the current elements for a locator. Lists are always looked up, never cached.
+     *
+     * @param locator The elements locator.
+     * @return The elements on the page now.
+     */
+    public List<WebElement> findAll(By locator) {
+        return driver.findElements(locator);
+    }
+
+    /**
+     * Runs an action against the cached element. If the reference turned out to be stale, the
+     * locator alone is re-resolved and the action is retried once.
+     *
+     * @param locator The element locator.
+     * @param action  The interaction to perform.
+     * @return The action's result.
+     */
+    public <T> T perform(By locator, Function<WebElement, T> action) {
+        try {
+            return action.apply(find(locator));
+        } catch (StaleElementReferenceException error) {
+            staleRefreshes.increment();
+            globalStaleRefreshes.increment();
+            logger.debug("Cached element for '{}' went stale, re-resolving", locator);
+            return action.apply(resolve(locator));
+        }
+    }
+
+    /**
+     * Drops the cached reference for one locator.
+     *
+     * @param locator The locator to forget.
+     */
+    public void invalidate(By locator) {
+        elements.remove(locator);
+    }
+
+    /**
+     * Drops every cached reference, e.g. after the page navigated.
+     */
+    public void clear() {
+        elements.clear();
+    }
+
+    public int size() {
+        return elements.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), staleRefreshes.sum());
+    }
+
+    /**
+     * @return Counters aggregated over every cache in this JVM.
+     */
+    public static CacheStatistics getGlobalStatistics() {
+        return new CacheStatistics(globalHits.sum(), globalMisses.sum(), globalStaleRefreshes.sum());
+    }
+
+    @Override
+    public void afterGet(WebDriver driver, String url) {
+        clear();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, String url) {
+        clear();
+    }
+
+    @Override
+    public void afterTo(WebDriver.Navigation navigation, URL url) {
+        clear();
+    }
+
+    @Override
+    public void afterBack(WebDriver.Navigation navigation) {
+        clear();
+    }
+
+    @Override
+    public void afterForward(WebDriver.Navigation navigation) {
+        clear();
+    }
+
+    @Override
+    public void afterRefresh(WebDriver.Navigation navigation) {
+        clear();
+    }
+
+    private WebElement resolve(By locator) {
+        recordMiss();
+        WebElement element = driver.findElement(locator);
+        elements.put(locator, element);
+        return element;
+    }
+
+    private void recordHit() {
+        hits.increment();
+        globalHits.increment();
+    }
+
+    private void recordMiss() {
+        misses.increment();
+        globalMisses.increment();
+    }
+}
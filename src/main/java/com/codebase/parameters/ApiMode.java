@@ -0,0 +1,45 @@
+package com.codebase.parameters;
+
+public enum ApiMode {
+    LIVE("live"),
+    RECORD("record"),
+    REPLAY("replay");
+
+    public static final String API_MODE_PROPERTY = "api.mode";
+
+    private final String modeName;
+
+    ApiMode(String modeName) {
+        this.modeName = modeName;
+    }
+
+    public String getModeName() {
+        return modeName;
+    }
+
+    /**
+     * Resolves an API mode from its name, ignoring case.
+     *
+     * @param modeName The mode name ("live", "record" or "replay").
+     * @return The matching ApiMode constant.
+     * @throws IllegalArgumentException If the mode is not supported.
+     */
+    public static ApiMode fromName(String modeName) {
+        for (ApiMode mode : values()) {
+            if (mode.modeName.equalsIgnoreCase(modeName)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported API mode: " + modeName);
+    }
+
+    /**
+     * Reads the mode from the {@code api.mode} system property, e.g. {@code -Dapi.mode=replay}.
+     *
+     * @return The configured mode; {@link #LIVE} when the property is not set.
+     */
+    public static ApiMode fromSystemProperties() {
+        String modeName = System.getProperty(API_MODE_PROPERTY);
+        return modeName == null || modeName.isBlank() ? LIVE : fromName(modeName.trim());
+    }
+}
@@ -2,7 +2,23 @@ package com.codebase.parameters;
 
 public enum AppSettings {
 
-    EXECUTOR_THREAD_COUNT(4);
+    EXECUTOR_THREAD_COUNT(0), // 0 sizes the shared CPU pool from the available cores
+    EXECUTOR_QUEUE_CAPACITY(256),
+    EXECUTOR_SHUTDOWN_TIMEOUT_SECONDS(10),
+    DRIVER_POOL_SIZE(2),
+    DRIVER_LEASE_TIMEOUT_SECONDS(120),
+    PARALLEL_THREAD_COUNT(0), // 0 sizes parallel execution from the available cores
+    WAIT_TIMEOUT_SECONDS(10),
+    WAIT_MIN_POLL_MILLIS(25),
+    WAIT_MAX_POLL_MILLIS(500),
+    SCREENSHOT_WORKER_COUNT(2),
+    SCREENSHOT_QUEUE_CAPACITY(32),
+    API_MAX_CONNECTIONS(64),
+    API_MAX_CONNECTIONS_PER_ROUTE(32),
+    API_KEEP_ALIVE_SECONDS(30),
+    API_TOKEN_LIFETIME_SECONDS(600),
+    API_TOKEN_REFRESH_AHEAD_SECONDS(60),
+    REPORT_FLUSH_INTERVAL_SECONDS(5);
 
     public final int value;
 
@@ -0,0 +1,44 @@
+package com.codebase.parameters;
+
+public enum BrowserTypes {
+    CHROME("chrome", "webdriver.chrome.driver"),
+    FIREFOX("firefox", "webdriver.gecko.driver"),
+    EDGE("edge", "webdriver.edge.driver");
+
+    private final String browserName;
+    private final String driverSystemProperty;
+
+    BrowserTypes(String browserName, String driverSystemProperty) {
+        this.browserName = browserName;
+        this.driverSystemProperty = driverSystemProperty;
+    }
+
+    public String getBrowserName() {
+        return browserName;
+    }
+
+    /**
+     * Gets the system property Selenium reads to locate the driver binary for this browser.
+     *
+     * @return the driver system property name
+     */
+    public String getDriverSystemProperty() {
+        return driverSystemProperty;
+    }
+
+    /**
+     * Resolves a browser type from its name, ignoring case.
+     *
+     * @param browserName The browser name (e.g. "chrome", "firefox", "edge").
+     * @return The matching BrowserTypes constant.
+     * @throws IllegalArgumentException If the browser is not supported.
+     */
+    public static BrowserTypes fromName(String browserName) {
+        for (BrowserTypes type : values()) {
+            if (type.browserName.equalsIgnoreCase(browserName)) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported browser type: " + browserName);
+    }
+}
@@ -0,0 +1,494 @@
+package com.codebase.reporting;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.MediaEntityBuilder;
+import com.aventstack.extentreports.Status;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import com.codebase.concurrent.FrameworkExecutors;
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.parameters.AppSettings;
+import com.codebase.scheduling.ShardPlanner;
+import com.codebase.tracing.FlameSummary;
+import com.codebase.tracing.TestTimeline;
+import com.codebase.tracing.Tracer;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class ExtentReportService implements AutoCloseable {
+
+    /**
+     * Writes an ExtentReports HTML report without making test threads wait for it. {@link ExtentTest} is
+     * not safe to share between threads and {@link ExtentReports#flush()} renders the whole report, so
+     * every call that touches them runs on one writer thread.
+     * <p>
+     * Each test thread has its own context, set by {@link #startTest(String, String, String...)}. Calls
+     * such as {@link #info(String)} or {@link #fail(Throwable)} only stamp the time, add an event to a
+     * lock-free queue and return. The writer applies the events in order. Every flush interval it writes
+     * the report to disk if anything changed, and it also writes on {@link #flush()}.
+     * <p>
+     * When the run is split across JVM forks ({@code SHARD_COUNT} above 1), each fork writes its own
+     * HTML file and also appends every finished test to a {@link ReportShardWriter} shard.
+     * {@link ReportShardMerger} then merges the shards into one report.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * ExtentReportService report = ExtentReportService.getDefault();
+     * report.startTest("checkout", "Guest checkout with a saved card", "smoke");
+     * report.info("Card selected");
+     * report.pass("Order placed");
+     * report.endTest();
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ExtentReportService.class);
+
+    public static final String DEFAULT_REPORT_PATH = "reports/extent-report.html";
+    public static final String DEFAULT_SHARD_DIRECTORY = "reports/shards";
+    private static final int FLAME_SUMMARY_ROWS = 40;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private static volatile ExtentReportService defaultInstance;
+
+    private final ExtentReports extent;
+    private final Path reportFile;
+    private final long flushIntervalNanos;
+    private final ConcurrentLinkedQueue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<ReportContext> currentTest = new ThreadLocal<>();
+    private final ReportShardWriter shardWriter;
+    private final Thread writer;
+
+    private final LongAdder events = new LongAdder();
+    private final LongAdder orphanEvents = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private volatile boolean closed;
+    private volatile boolean stopped;
+
+    /**
+     * Creates the service and starts its writer thread.
+     *
+     * @param reportFile    The HTML file the Spark reporter writes.
+     * @param flushInterval How often pending changes are written to disk.
+     */
+    public ExtentReportService(Path reportFile, Duration flushInterval) {
+        this(reportFile, flushInterval, null);
+    }
+
+    /**
+     * Creates the service and starts its writer thread.
+     *
+     * @param reportFile    The HTML file the Spark reporter writes.
+     * @param flushInterval How often pending changes are written to disk.
+     * @param shardWriter   Receives every finished test for a later merge; null to write HTML only.
+     *                      The service closes it.
+     */
+    public ExtentReportService(Path reportFile, Duration flushInterval, ReportShardWriter shardWriter) {
+        if (flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("Flush interval must be greater than zero.");
+        }
+        this.reportFile = reportFile;
+        this.shardWriter = shardWriter;
+        this.flushIntervalNanos = flushInterval.toNanos();
+        this.extent = new ExtentReports();
+        extent.attachReporter(new ExtentSparkReporter(reportFile.toFile()));
+
+        this.writer = new Thread(this::runWriter, "extent-report-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Returns the shared service writing to {@link #DEFAULT_REPORT_PATH} every
+     * {@link AppSettings#REPORT_FLUSH_INTERVAL_SECONDS}. In a sharded run the HTML file name carries the
+     * shard index, and finished tests also go to {@code shard-<index>.jsonl} in
+     * {@link #DEFAULT_SHARD_DIRECTORY}. It is closed by the {@link FrameworkExecutors} shutdown hook, which
+     * writes the report one last time.
+     *
+     * @return The default ExtentReportService instance.
+     */
+    public static ExtentReportService getDefault() {
+        if (defaultInstance == null) {
+            synchronized (ExtentReportService.class) {
+                if (defaultInstance == null) {
+                    defaultInstance = createDefault();
+                    FrameworkExecutors.closeOnShutdown("ExtentReportService", defaultInstance);
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    private static ExtentReportService createDefault() {
+        Duration flushInterval = Duration.ofSeconds(AppSettings.REPORT_FLUSH_INTERVAL_SECONDS.getValue());
+        if (ShardPlanner.getShardCount() <= 1) {
+            return new ExtentReportService(Paths.get(DEFAULT_REPORT_PATH), flushInterval);
+        }
+
+        int shardIndex = ShardPlanner.getShardIndex();
+        String runId = ShardPlanner.getRunId();
+        if (runId == null) {
+            logger.warn("Neither {} nor {} is set, so report shards of earlier runs with {} shards cannot be told apart",
+                    ShardPlanner.SHARD_RUN_ID_KEY, ShardPlanner.SHARD_PLAN_KEY, ShardPlanner.getShardCount());
+        }
+        Path shardFile = ReportShardWriter.shardFile(Paths.get(DEFAULT_SHARD_DIRECTORY), shardIndex);
+        ReportShardWriter.ShardHeader header =
+                new ReportShardWriter.ShardHeader(runId, shardIndex, ShardPlanner.getShardCount());
+        try {
+            return new ExtentReportService(
+                    Paths.get(DEFAULT_REPORT_PATH.replace(".html", "-shard-" + shardIndex + ".html")),
+                    flushInterval, new ReportShardWriter(shardFile, header));
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "getDefault", "Failed to create report shard: {}", shardFile);
+            throw new IllegalStateException("Failed to create report shard: " + shardFile, error);
+        }
+    }
+
+    /**
+     * Starts a report entry and makes it the calling thread's current test. A test still open on this
+     * thread is ended first.
+     *
+     * @param name        The test name shown in the report.
+     * @param description An optional description; may be null.
+     * @param categories  Categories to assign, e.g. the test class or groups.
+     */
+    public void startTest(String name, String description, String... categories) {
+        if (currentTest.get() != null) {
+            endTest();
+        }
+        ReportContext context = new ReportContext();
+        currentTest.set(context);
+        long timestamp = System.currentTimeMillis();
+        String[] assigned = categories.clone();
+        enqueue(() -> {
+            context.test = extent.createTest(name, description);
+            context.test.getModel().setStartTime(new Date(timestamp));
+            if (assigned.length > 0) {
+                context.test.assignCategory(assigned);
+            }
+        });
+    }
+
+    public void info(String message) {
+        log(Status.INFO, message);
+    }
+
+    public void pass(String message) {
+        log(Status.PASS, message);
+    }
+
+    public void warning(String message) {
+        log(Status.WARNING, message);
+    }
+
+    public void skip(String message) {
+        log(Status.SKIP, message);
+    }
+
+    public void fail(String message) {
+        log(Status.FAIL, message);
+    }
+
+    public void fail(Throwable error) {
+        log(Status.FAIL, error);
+    }
+
+    /**
+     * Adds a log entry to the calling thread's current test.
+     *
+     * @param status  The entry status.
+     * @param message The message shown in the report.
+     */
+    public void log(Status status, String message) {
+        logToCurrentTest(test -> test.log(status, message));
+    }
+
+    /**
+     * Adds an exception, with its stack trace, to the calling thread's current test.
+     *
+     * @param status The entry status.
+     * @param error  The exception to show.
+     */
+    public void log(Status status, Throwable error) {
+        logToCurrentTest(test -> test.log(status, error));
+    }
+
+    /**
+     * Adds a log entry with a screenshot already written to disk, e.g. by the screenshot pipeline.
+     *
+     * @param screenshot The image file; the report links to it rather than embedding it.
+     * @param title      The log message shown with the screenshot.
+     */
+    public void addScreenshot(Path screenshot, String title) {
+        String path = screenshot.toAbsolutePath().toString();
+        logToCurrentTest(test -> test.log(Status.INFO, title,
+                MediaEntityBuilder.createScreenCaptureFromPath(path).build()));
+    }
+
+    /**
+     * Adds the calling thread's span timeline to its current test as a collapsible {@code Timeline} node.
+     *
+     * @param timeline The timeline returned by {@link Tracer#endTest()}.
+     */
+    public void addTimeline(TestTimeline timeline) {
+        ReportContext context = currentTest.get();
+        if (context == null || timeline == null || timeline.isEmpty()) {
+            return;
+        }
+        String text = timeline.format();
+        enqueue(() -> {
+            context.timeline = text;
+            context.test.createNode("Timeline").info(MarkupHelper.createCodeBlock(text));
+        });
+    }
+
+    /**
+     * Adds the suite-wide span summary to the report's runner output, and writes its folded stacks next
+     * to the report as {@code <report name>-flame.folded} for flame graph tools.
+     *
+     * @param summary The summary returned by {@link Tracer#getFlameSummary()}.
+     */
+    public void addFlameSummary(FlameSummary summary) {
+        if (summary.isEmpty()) {
+            return;
+        }
+        String text = summary.format(FLAME_SUMMARY_ROWS);
+        String fileName = reportFile.getFileName().toString().replaceFirst("\\.html?$", "") + "-flame.folded";
+        Path foldedFile = reportFile.resolveSibling(fileName);
+        enqueue(() -> {
+            extent.addTestRunnerOutput("<pre>" + ReportShardMerger.escape(text) + "</pre>");
+            summary.writeFolded(foldedFile);
+        });
+    }
+
+    /**
+     * Ends the calling thread's current test. Later calls on this thread are dropped until the next
+     * {@link #startTest(String, String, String...)}.
+     */
+    public void endTest() {
+        ReportContext context = currentTest.get();
+        if (context == null) {
+            return;
+        }
+        currentTest.remove();
+        long timestamp = System.currentTimeMillis();
+        enqueue(() -> {
+            context.test.getModel().setEndTime(new Date(timestamp));
+            if (shardWriter != null) {
+                try {
+                    shardWriter.write(ReportShardRecord.from(context.test.getModel(), context.timeline));
+                } catch (IOException error) {
+                    throw new UncheckedIOException(error);
+                }
+            }
+        });
+    }
+
+    public boolean hasActiveTest() {
+        return currentTest.get() != null;
+    }
+
+    /**
+     * Asks the writer to write the report once every event queued so far has been applied.
+     *
+     * @return A future completed when the report is on disk.
+     */
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<Void> flushed = new CompletableFuture<>();
+        if (closed) {
+            flushed.completeExceptionally(new IllegalStateException("Extent report service is closed."));
+            return flushed;
+        }
+        queue.offer(new ReportEvent(null, flushed));
+        LockSupport.unpark(writer);
+        failIfStopped();
+        return flushed;
+    }
+
+    public Path getReportFile() {
+        return reportFile;
+    }
+
+    public long getEventCount() {
+        return events.sum();
+    }
+
+    public long getOrphanEventCount() {
+        return orphanEvents.sum();
+    }
+
+    public long getFlushCount() {
+        return flushes.sum();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops the writer after it has applied every queued event and written the report one last time.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+            if (writer.isAlive()) {
+                logger.warn("Extent report writer did not finish within 30 seconds");
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Extent report closed: {} events, {} flushes, {} events outside a test",
+                getEventCount(), getFlushCount(), getOrphanEventCount());
+    }
+
+    private void logToCurrentTest(TestAction action) {
+        ReportContext context = currentTest.get();
+        if (context == null) {
+            orphanEvents.increment();
+            logger.debug("No test started on thread '{}', report entry dropped", Thread.currentThread().getName());
+            return;
+        }
+        long timestamp = System.currentTimeMillis();
+        enqueue(() -> {
+            action.apply(context.test);
+            // Keep the time the test thread logged it, not the time the writer caught up
+            List<Log> logs = context.test.getModel().getLogs();
+            if (!logs.isEmpty()) {
+                logs.get(logs.size() - 1).setTimestamp(new Date(timestamp));
+            }
+        });
+    }
+
+    private void enqueue(Runnable action) {
+        if (closed) {
+            throw new IllegalStateException("Extent report service is closed.");
+        }
+        queue.offer(new ReportEvent(action, null));
+        failIfStopped();
+    }
+
+    /**
+     * A producer that saw the service open may offer after the writer's last poll. Once the writer has
+     * stopped, whoever sees it fails what is left, so no flush future waits forever.
+     */
+    private void failIfStopped() {
+        if (!stopped) {
+            return;
+        }
+        int dropped = 0;
+        ReportEvent event;
+        while ((event = queue.poll()) != null) {
+            if (event.flushed() != null) {
+                event.flushed().completeExceptionally(new IllegalStateException("Extent report service is closed."));
+            } else {
+                dropped++;
+            }
+        }
+        if (dropped > 0) {
+            logger.warn("Dropped {} report events queued after the writer stopped", dropped);
+        }
+    }
+
+    private void runWriter() {
+        boolean dirty = false;
+        long nextFlush = System.nanoTime() + flushIntervalNanos;
+        try {
+            while (true) {
+                boolean stopping = closed;
+                ReportEvent event;
+                while ((event = queue.poll()) != null) {
+                    if (event.flushed() != null) {
+                        writeReport();
+                        dirty = false;
+                        event.flushed().complete(null);
+                        continue;
+                    }
+                    try {
+                        event.action().run();
+                        events.increment();
+                        dirty = true;
+                    } catch (Throwable error) {
+                        // Also an Error, e.g. from a reporter; one bad event must not stop the writer
+                        ErrorHandler.logError(error, "runWriter", "Failed to apply a report event");
+                    }
+                }
+
+                if (stopping) {
+                    writeReport();
+                    if (shardWriter != null) {
+                        shardWriter.close();
+                    }
+                    return;
+                }
+                if (System.nanoTime() - nextFlush >= 0) {
+                    if (dirty) {
+                        writeReport();
+                        dirty = false;
+                    }
+                    nextFlush = System.nanoTime() + flushIntervalNanos;
+                }
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        } finally {
+            stopped = true;
+            failIfStopped();
+        }
+    }
+
+    private void writeReport() {
+        try {
+            Path parent = reportFile.toAbsolutePath().getParent();
+            if (parent != null) {
+                FileManager.createDirIfNotExists(parent.toString());
+            }
+            extent.flush();
+            if (shardWriter != null) {
+                shardWriter.flush();
+            }
+            flushes.increment();
+        } catch (Throwable error) {
+            ErrorHandler.logError(error, "writeReport", "Failed to write Extent report: {}", reportFile);
+        }
+    }
+
+    @FunctionalInterface
+    private interface TestAction {
+        void apply(ExtentTest test);
+    }
+
+    /**
+     * A thread's current test. Only the writer thread reads or sets its fields; the queue hands the
+     * context over from the test thread.
+     */
+    private static final class ReportContext {
+        private ExtentTest test;
+        private String timeline;
+    }
+
+    /**
+     * Either an action to apply to the report or, when {@code flushed} is set, a flush request.
+     */
+    private record ReportEvent(Runnable action, CompletableFuture<Void> flushed) {
+    }
+}
@@ -0,0 +1,414 @@
+package com.codebase.reporting;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.codebase.utils.LoggerUtil;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+public class ReportShardMerger {
+
+    /**
+     * Merges the report shards written by parallel JVM forks into one HTML report.
+     * <p>
+     * The merge makes two streaming passes and never holds more than one test in memory. The first
+     * pass counts tests per status and category and finds the run's start and end. The second pass
+     * writes the summary, then one collapsible entry per test, directly to a buffered file writer.
+     * Memory stays flat whatever the number of tests; only the category table grows with the number of
+     * distinct categories.
+     * <p>
+     * A shard cut short by a crashed fork is merged up to its last complete test.
+     * <p>
+     * Only the shards of one run are merged: the run of the most recently written shard, as named by
+     * each shard's {@link ReportShardWriter.ShardHeader}. Shards of other runs, e.g. left behind by a
+     * run with more forks, are skipped with a warning, and the report notes shards the run is missing.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * java -cp ... com.codebase.reporting.ReportShardMerger reports/merged-report.html reports/shards
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ReportShardMerger.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] STATUS_ORDER = {"FAIL", "WARNING", "SKIP", "PASS", "INFO"};
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+    private static final DateTimeFormatter LOG_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm:ss.SSS")
+            .withZone(ZoneId.systemDefault());
+
+    private ReportShardMerger() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ReportShardMerger <output.html> <shard.jsonl | shard directory>...");
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            inputs.add(Paths.get(args[i]));
+        }
+        merge(inputs, Paths.get(args[0]));
+    }
+
+    /**
+     * Merges report shards into one HTML report.
+     *
+     * @param inputs Shard files, or directories whose {@code .jsonl} files are all merged.
+     * @param output The HTML file to write.
+     * @return The number of tests in the merged report.
+     * @throws IOException If a shard cannot be read or the report cannot be written.
+     */
+    public static long merge(List<Path> inputs, Path output) throws IOException {
+        if (inputs == null || inputs.isEmpty()) {
+            throw new IllegalArgumentException("At least one report shard is required.");
+        }
+
+        try {
+            CurrentRun run = selectCurrentRun(resolveShards(inputs));
+            List<Path> shards = run.shards();
+            Summary summary = new Summary();
+            forEachRecord(shards, summary::add);
+
+            Path parent = output.toAbsolutePath().getParent();
+            FileManager.createDirIfNotExists(parent.toString());
+            try (Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(Files.newOutputStream(output), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+                writeHeader(writer, summary, shards.size(), run.expectedShards());
+                forEachRecord(shards, record -> writeTest(writer, record));
+                writer.write("</main>\n</body>\n</html>\n");
+            }
+            logger.info("Merged {} report shards into {} (tests={}, failed={})",
+                    shards.size(), output, summary.total, summary.byStatus.get("FAIL"));
+            return summary.total;
+        } catch (UncheckedIOException error) {
+            ErrorHandler.logError(error.getCause(), "merge", "Failed to write merged report {}", output);
+            throw error.getCause();
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "merge", "Failed to merge report shards into {}", output);
+            throw error;
+        }
+    }
+
+    private static List<Path> resolveShards(List<Path> inputs) throws IOException {
+        List<Path> shards = new ArrayList<>();
+        for (Path input : inputs) {
+            if (Files.isDirectory(input)) {
+                try (Stream<Path> files = Files.list(input)) {
+                    files.filter(file -> file.getFileName().toString().endsWith(ReportShardWriter.SHARD_FILE_EXTENSION))
+                            .sorted()
+                            .forEach(shards::add);
+                }
+            } else {
+                shards.add(input);
+            }
+        }
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("No report shards found in " + inputs);
+        }
+        return shards;
+    }
+
+    /**
+     * Keeps the shards that belong to the same run as the most recently written one.
+     */
+    private static CurrentRun selectCurrentRun(List<Path> candidates) throws IOException {
+        Map<Path, ReportShardWriter.ShardHeader> headers = new LinkedHashMap<>();
+        Path newest = null;
+        FileTime newestTime = null;
+        for (Path shard : candidates) {
+            ReportShardWriter.ShardHeader header = readHeader(shard);
+            if (header == null) {
+                logger.warn("Skipping report shard {}: it does not start with a shard header", shard);
+                continue;
+            }
+            headers.put(shard, header);
+            FileTime modified = Files.getLastModifiedTime(shard);
+            if (newestTime == null || modified.compareTo(newestTime) > 0) {
+                newest = shard;
+                newestTime = modified;
+            }
+        }
+        if (newest == null) {
+            throw new IllegalArgumentException("No report shards with a shard header found in " + candidates);
+        }
+
+        ReportShardWriter.ShardHeader current = headers.get(newest);
+        List<Path> shards = new ArrayList<>();
+        Set<Integer> indices = new TreeSet<>();
+        headers.forEach((shard, header) -> {
+            if (Objects.equals(header.runId(), current.runId()) && header.shardCount() == current.shardCount()) {
+                shards.add(shard);
+                indices.add(header.shardIndex());
+            } else {
+                logger.warn("Skipping report shard {} of another run (run {}, {} shards); merging run {} with {} shards",
+                        shard, header.runId(), header.shardCount(), current.runId(), current.shardCount());
+            }
+        });
+        if (current.shardCount() > 0 && indices.size() < current.shardCount()) {
+            logger.warn("Found {} of the {} report shards of run {}; the tests of the missing forks are not in the report",
+                    indices.size(), current.shardCount(), current.runId());
+        }
+        return new CurrentRun(shards, current.shardCount());
+    }
+
+    private static ReportShardWriter.ShardHeader readHeader(Path shard) throws IOException {
+        try (InputStream input = Files.newInputStream(shard);
+             JsonParser parser = ObjectMapperRegistry.getFactory().createParser(input)) {
+            JsonNode first = ObjectMapperRegistry.getMapper().readTree(parser);
+            if (first == null || !first.has("shardCount")) {
+                return null;
+            }
+            return ObjectMapperRegistry.getMapper().treeToValue(first, ReportShardWriter.ShardHeader.class);
+        } catch (JsonProcessingException error) {
+            return null;
+        }
+    }
+
+    private static void forEachRecord(List<Path> shards, Consumer<ReportShardRecord> consumer) throws IOException {
+        ObjectReader reader = ObjectMapperRegistry.reader(ReportShardRecord.class);
+        for (Path shard : shards) {
+            try (InputStream input = new BufferedInputStream(Files.newInputStream(shard), BUFFER_SIZE);
+                 JsonParser parser = ObjectMapperRegistry.getFactory().createParser(input)) {
+                // Step over the header; selectCurrentRun already read it
+                parser.nextToken();
+                parser.skipChildren();
+                parser.clearCurrentToken();
+                try (MappingIterator<ReportShardRecord> records = reader.readValues(parser)) {
+                    while (nextRecord(shard, records, consumer)) {
+                        // Keep reading until the shard ends or breaks off
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean nextRecord(Path shard, MappingIterator<ReportShardRecord> records,
+                                      Consumer<ReportShardRecord> consumer) {
+        try {
+            if (!records.hasNextValue()) {
+                return false;
+            }
+            consumer.accept(records.nextValue());
+            return true;
+        } catch (UncheckedIOException error) {
+            // A failure writing the report, not a broken shard
+            throw error;
+        } catch (IOException | RuntimeException error) {
+            logger.warn("Report shard {} ends with an incomplete test, merging it up to that point: {}",
+                    shard, error.getMessage());
+            return false;
+        }
+    }
+
+    private static void writeHeader(Writer writer, Summary summary, int shardCount, int expectedShards) throws IOException {
+        writer.write("""
+                <!DOCTYPE html>
+                <html lang="en">
+                <head>
+                <meta charset="utf-8">
+                <title>Test Report</title>
+                <style>
+                body{font-family:sans-serif;margin:2em;color:#222}
+                table{border-collapse:collapse;margin-bottom:1.5em}
+                th,td{border:1px solid #ccc;padding:4px 8px;text-align:left;vertical-align:top}
+                details{border-left:4px solid #999;margin:4px 0;padding:2px 8px}
+                summary{cursor:pointer}
+                pre{margin:4px 0;white-space:pre-wrap;font-size:12px}
+                .status{display:inline-block;min-width:5em;font-weight:bold}
+                .meta,.duration,.categories{color:#666}
+                .fail{border-color:#d9534f}.fail .status,td.fail{color:#d9534f}
+                .warning{border-color:#f0ad4e}.warning .status,td.warning{color:#f0ad4e}
+                .skip{border-color:#5bc0de}.skip .status,td.skip{color:#5bc0de}
+                .pass{border-color:#5cb85c}.pass .status,td.pass{color:#5cb85c}
+                </style>
+                </head>
+                <body>
+                <h1>Test Report</h1>
+                """);
+        writer.write("<p class=\"meta\">" + summary.total + " tests from " + shardCount + " shards");
+        if (expectedShards > shardCount) {
+            writer.write(" (" + (expectedShards - shardCount) + " of " + expectedShards + " missing)");
+        }
+        if (summary.total > 0) {
+            writer.write(", " + TIME_FORMAT.format(Instant.ofEpochMilli(summary.firstStart)) + " to "
+                    + TIME_FORMAT.format(Instant.ofEpochMilli(summary.lastEnd))
+                    + " (" + formatDuration(summary.lastEnd - summary.firstStart) + " wall time)");
+        }
+        writer.write("</p>\n<table>\n<tr><th>Status</th><th>Tests</th></tr>\n");
+        for (Map.Entry<String, Long> status : summary.byStatus.entrySet()) {
+            if (status.getValue() > 0) {
+                writer.write("<tr><td class=\"" + status.getKey().toLowerCase() + "\">" + status.getKey()
+                        + "</td><td>" + status.getValue() + "</td></tr>\n");
+            }
+        }
+        writer.write("</table>\n");
+
+        if (!summary.byCategory.isEmpty()) {
+            writer.write("<table>\n<tr><th>Category</th><th>Tests</th><th>Failed</th></tr>\n");
+            for (Map.Entry<String, long[]> category : summary.byCategory.entrySet()) {
+                writer.write("<tr><td>" + escape(category.getKey()) + "</td><td>" + category.getValue()[0]
+                        + "</td><td>" + category.getValue()[1] + "</td></tr>\n");
+            }
+            writer.write("</table>\n");
+        }
+        writer.write("<main>\n");
+    }
+
+    private static void writeTest(Writer writer, ReportShardRecord record) {
+        try {
+            String status = record.status() == null ? "INFO" : record.status();
+            String statusClass = status.toLowerCase();
+            writer.write("<details class=\"" + statusClass + "\"" + ("FAIL".equals(status) ? " open" : "") + ">");
+            writer.write("<summary><span class=\"status\">" + status + "</span> " + escape(record.name())
+                    + " <span class=\"duration\">" + formatDuration(record.getDurationMillis()) + "</span>");
+            if (record.categories() != null && !record.categories().isEmpty()) {
+                writer.write(" <span class=\"categories\">" + escape(String.join(", ", record.categories())) + "</span>");
+            }
+            writer.write("</summary>\n");
+            if (record.description() != null && !record.description().isBlank()) {
+                writer.write("<p>" + escape(record.description()) + "</p>\n");
+            }
+            if (record.logs() != null && !record.logs().isEmpty()) {
+                writer.write("<table>\n");
+                for (ReportShardRecord.LogEntry entry : record.logs()) {
+                    writeLog(writer, entry);
+                }
+                writer.write("</table>\n");
+            }
+            if (record.timeline() != null) {
+                writer.write("<pre>" + escape(record.timeline()) + "</pre>\n");
+            }
+            writer.write("</details>\n");
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    private static void writeLog(Writer writer, ReportShardRecord.LogEntry entry) throws IOException {
+        String status = entry.status() == null ? "INFO" : entry.status();
+        writer.write("<tr><td>" + LOG_TIME_FORMAT.format(Instant.ofEpochMilli(entry.timestampMillis()))
+                + "</td><td class=\"" + status.toLowerCase() + "\">" + status + "</td><td>");
+        if (entry.message() != null) {
+            writer.write(escape(entry.message()));
+        }
+        if (entry.stackTrace() != null) {
+            writer.write("<pre>" + escape(entry.stackTrace()) + "</pre>");
+        }
+        if (entry.mediaPath() != null) {
+            writer.write(" <a href=\"" + escape(Path.of(entry.mediaPath()).toUri().toString()) + "\">screenshot</a>");
+        }
+        writer.write("</td></tr>\n");
+    }
+
+    static String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder escaped = null;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement = switch (c) {
+                case '<' -> "&lt;";
+                case '>' -> "&gt;";
+                case '&' -> "&amp;";
+                case '"' -> "&quot;";
+                case '\'' -> "&#39;";
+                default -> null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(text.length() + 16).append(text, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        return escaped == null ? text : escaped.toString();
+    }
+
+    private static String formatDuration(long millis) {
+        if (millis < 1_000) {
+            return millis + " ms";
+        }
+        if (millis < 60_000) {
+            return String.format("%.1f s", millis / 1_000.0);
+        }
+        return String.format("%d min %d s", millis / 60_000, (millis % 60_000) / 1_000);
+    }
+
+    /**
+     * The shards selected for merging, and the shard count their run was planned with (0 if unknown).
+     */
+    private record CurrentRun(List<Path> shards, int expectedShards) {
+    }
+
+    /**
+     * The counts gathered by the first pass.
+     */
+    private static final class Summary {
+        private final Map<String, Long> byStatus = new LinkedHashMap<>();
+        private final Map<String, long[]> byCategory = new TreeMap<>();
+        private long total;
+        private long firstStart = Long.MAX_VALUE;
+        private long lastEnd = Long.MIN_VALUE;
+
+        private Summary() {
+            for (String status : STATUS_ORDER) {
+                byStatus.put(status, 0L);
+            }
+        }
+
+        private void add(ReportShardRecord record) {
+            total++;
+            String status = record.status() == null ? "INFO" : record.status();
+            byStatus.merge(status, 1L, Long::sum);
+            if (record.categories() != null) {
+                for (String category : record.categories()) {
+                    long[] counts = byCategory.computeIfAbsent(category, ignored -> new long[2]);
+                    counts[0]++;
+                    if ("FAIL".equals(status)) {
+                        counts[1]++;
+                    }
+                }
+            }
+            firstStart = Math.min(firstStart, record.startMillis());
+            lastEnd = Math.max(lastEnd, record.endMillis());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.codebase.reporting;
+
+import com.aventstack.extentreports.model.Category;
+import com.aventstack.extentreports.model.Log;
+import com.aventstack.extentreports.model.Test;
+
+import java.util.List;
+
+/**
+ * One finished test as written to a report shard, one JSON object per line.
+ *
+ * @param name        The test name.
+ * @param description The test description; null when there is none.
+ * @param status      The final Extent status name, e.g. {@code PASS} or {@code FAIL}.
+ * @param startMillis When the test started, in epoch milliseconds.
+ * @param endMillis   When the test ended, in epoch milliseconds.
+ * @param categories  The categories assigned to the test.
+ * @param logs        The test's log entries in order.
+ * @param timeline    The test's formatted span timeline; null when it was not traced.
+ */
+public record ReportShardRecord(String name, String description, String status, long startMillis, long endMillis,
+                                List<String> categories, List<LogEntry> logs, String timeline) {
+
+    /**
+     * @param timestampMillis When the entry was logged, in epoch milliseconds.
+     * @param status          The entry's Extent status name.
+     * @param message         The logged message; null for a bare exception.
+     * @param stackTrace      The stack trace of a logged exception; null otherwise.
+     * @param mediaPath       The path of an attached screenshot; null otherwise.
+     */
+    public record LogEntry(long timestampMillis, String status, String message, String stackTrace, String mediaPath) {
+    }
+
+    /**
+     * Captures a finished Extent test.
+     *
+     * @param test     The test model, read on the report writer thread.
+     * @param timeline The formatted timeline added to the test, or null.
+     * @return The shard record.
+     */
+    public static ReportShardRecord from(Test test, String timeline) {
+        List<LogEntry> logs = test.getLogs().stream().map(ReportShardRecord::toEntry).toList();
+        List<String> categories = test.getCategorySet().stream().map(Category::getName).toList();
+        return new ReportShardRecord(test.getName(), test.getDescription(), test.getStatus().name(),
+                test.getStartTime().getTime(), test.getEndTime().getTime(), categories, logs, timeline);
+    }
+
+    public long getDurationMillis() {
+        return Math.max(0, endMillis - startMillis);
+    }
+
+    private static LogEntry toEntry(Log log) {
+        String stackTrace = log.getException() != null ? log.getException().getStackTrace() : null;
+        String mediaPath = log.getMedia() != null ? log.getMedia().getPath() : null;
+        return new LogEntry(log.getTimestamp().getTime(), log.getStatus().name(), log.getDetails(), stackTrace, mediaPath);
+    }
+}
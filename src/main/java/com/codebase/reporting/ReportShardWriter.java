@@ -0,0 +1,122 @@
+package com.codebase.reporting;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.codebase.utils.LoggerUtil;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class ReportShardWriter implements AutoCloseable {
+
+    /**
+     * Writes finished tests to a report shard: a JSON-lines file with one {@link ReportShardRecord} per
+     * line. Every JVM fork writes its own shard, so forks never overwrite each other's report.
+     * {@link ReportShardMerger} then streams all shards into one HTML report.
+     * <p>
+     * The first line is a {@link ShardHeader} naming the run and the fork's place in it. A fork that
+     * fails to start, or a later run with fewer forks, leaves shards of earlier runs behind; the merger
+     * tells them apart by the header.
+     * <p>
+     * Not thread-safe: {@link ExtentReportService} calls it from its writer thread only.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ReportShardWriter.class);
+
+    public static final String SHARD_FILE_EXTENSION = ".jsonl";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path shardFile;
+    private final OutputStream output;
+    private final SequenceWriter sequenceWriter;
+    private long written;
+
+    /**
+     * Creates or truncates a shard that is not part of a planned run.
+     *
+     * @param shardFile The file to write.
+     * @throws IOException If the file cannot be created.
+     */
+    public ReportShardWriter(Path shardFile) throws IOException {
+        this(shardFile, new ShardHeader(null, 0, 0));
+    }
+
+    /**
+     * Creates or truncates the shard file and writes its header.
+     *
+     * @param shardFile The file to write.
+     * @param header    The run and fork this shard belongs to.
+     * @throws IOException If the file cannot be created.
+     */
+    public ReportShardWriter(Path shardFile, ShardHeader header) throws IOException {
+        Path parent = shardFile.toAbsolutePath().getParent();
+        if (parent != null) {
+            FileManager.createDirIfNotExists(parent.toString());
+        }
+        this.shardFile = shardFile;
+        this.output = new BufferedOutputStream(Files.newOutputStream(shardFile), BUFFER_SIZE);
+        // On disk at once, so even a fork that dies before its first test is recognized
+        output.write(ObjectMapperRegistry.writer(ShardHeader.class).writeValueAsBytes(header));
+        output.write('\n');
+        output.flush();
+        this.sequenceWriter = ObjectMapperRegistry.writer(ReportShardRecord.class)
+                .withRootValueSeparator("\n")
+                .writeValues(output);
+    }
+
+    /**
+     * @param directory  The shard directory.
+     * @param shardIndex This fork's shard index.
+     * @return The shard file name used by fork {@code shardIndex}.
+     */
+    public static Path shardFile(Path directory, int shardIndex) {
+        return directory.resolve("shard-" + shardIndex + SHARD_FILE_EXTENSION);
+    }
+
+    public void write(ReportShardRecord record) throws IOException {
+        sequenceWriter.write(record);
+        written++;
+    }
+
+    /**
+     * Pushes buffered records to disk, so a crashed fork leaves every test up to the last flush behind.
+     */
+    public void flush() throws IOException {
+        sequenceWriter.flush();
+    }
+
+    public Path getShardFile() {
+        return shardFile;
+    }
+
+    public long getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * The first line of a shard.
+     *
+     * @param runId      The id shared by every shard of the run; null when the run has none.
+     * @param shardIndex The fork's zero-based shard index.
+     * @param shardCount The number of shards in the run; 0 when the shard is not part of a planned run.
+     */
+    public record ShardHeader(String runId, int shardIndex, int shardCount) {
+    }
+
+    @Override
+    public void close() {
+        try {
+            sequenceWriter.close();
+            logger.info("Report shard {} closed with {} tests", shardFile, written);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "close", "Failed to close report shard: {}", shardFile);
+            throw new IllegalStateException("Failed to close report shard: " + shardFile, error);
+        }
+    }
+}
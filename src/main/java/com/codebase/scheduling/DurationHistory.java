@@ -0,0 +1,168 @@
+package com.codebase.scheduling;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class DurationHistory {
+
+    /**
+     * Historical test durations, keyed by test class ({@code com.example.LoginTest}) or test method
+     * ({@code com.example.LoginTest#testValidLogin}), and persisted to a local properties file between runs.
+     * <p>
+     * Each recorded duration is folded into an exponentially weighted moving average, so estimates follow
+     * recent runs without jumping on a single slow one. Saving merges this run's estimates into the file
+     * under an exclusive file lock, so concurrent forks do not overwrite each other's entries.
+     * <p>
+     * The file defaults to {@code .test-history/durations.properties} and can be moved with the
+     * {@code test.history.file} system property.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(DurationHistory.class);
+
+    public static final String HISTORY_FILE_PROPERTY = "test.history.file";
+    private static final String DEFAULT_HISTORY_FILE = ".test-history/durations.properties";
+    private static final double SMOOTHING_FACTOR = 0.5;
+
+    private final Path historyFile;
+    private final Map<String, Long> estimates = new ConcurrentHashMap<>();
+    private final Map<String, Long> updated = new ConcurrentHashMap<>();
+
+    public DurationHistory(Path historyFile) {
+        this.historyFile = historyFile;
+    }
+
+    /**
+     * Loads the history from the file named by {@code test.history.file}, or the default location.
+     *
+     * @return The loaded history; empty if no file exists yet.
+     */
+    public static DurationHistory loadDefault() {
+        DurationHistory history = new DurationHistory(Paths.get(System.getProperty(HISTORY_FILE_PROPERTY, DEFAULT_HISTORY_FILE)));
+        history.load();
+        return history;
+    }
+
+    /**
+     * Reads the history file into memory. A missing or unreadable file leaves the history empty.
+     */
+    public void load() {
+        if (!historyFile.toFile().exists()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(historyFile, StandardOpenOption.READ);
+             FileLock ignored = channel.lock(0, Long.MAX_VALUE, true)) {
+            Properties properties = readProperties(channel);
+            properties.forEach((key, value) -> estimates.put((String) key, Long.parseLong((String) value)));
+            logger.info("Loaded {} duration estimates from {}", estimates.size(), historyFile);
+        } catch (IOException | NumberFormatException error) {
+            logger.warn("Ignoring unreadable duration history {}: {}", historyFile, error.getMessage());
+        }
+    }
+
+    /**
+     * Folds a measured duration into the estimate for a key.
+     *
+     * @param key            The class or method key.
+     * @param durationMillis The measured duration.
+     */
+    public void record(String key, long durationMillis) {
+        long merged = estimates.merge(key, durationMillis,
+                (previous, current) -> Math.round(SMOOTHING_FACTOR * current + (1 - SMOOTHING_FACTOR) * previous));
+        updated.put(key, merged);
+    }
+
+    /**
+     * @param key The class or method key.
+     * @return The estimated duration in milliseconds, if the key has history.
+     */
+    public OptionalLong estimate(String key) {
+        Long estimate = estimates.get(key);
+        return estimate == null ? OptionalLong.empty() : OptionalLong.of(estimate);
+    }
+
+    /**
+     * Class totals sum many methods, so they are left out rather than pulling the median up.
+     *
+     * @return The median of the method estimates, used for tests without history; 0 if there are none.
+     */
+    public long medianEstimate() {
+        long[] values = estimates.entrySet().stream()
+                .filter(entry -> entry.getKey().indexOf('#') >= 0)
+                .mapToLong(Map.Entry::getValue)
+                .sorted()
+                .toArray();
+        return values.length == 0 ? 0 : values[values.length / 2];
+    }
+
+    /**
+     * @return The estimates recorded for whole test classes, keyed by class name.
+     */
+    public Map<String, Long> getClassEstimates() {
+        Map<String, Long> classEstimates = new TreeMap<>();
+        estimates.forEach((key, value) -> {
+            if (key.indexOf('#') < 0) {
+                classEstimates.put(key, value);
+            }
+        });
+        return classEstimates;
+    }
+
+    public int size() {
+        return estimates.size();
+    }
+
+    /**
+     * Writes the estimates recorded during this run into the history file, keeping entries written by other forks.
+     */
+    public void save() {
+        if (updated.isEmpty()) {
+            return;
+        }
+        try {
+            Path parent = historyFile.toAbsolutePath().getParent();
+            FileManager.createDirIfNotExists(parent.toString());
+
+            try (FileChannel channel = FileChannel.open(historyFile,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+                Properties properties = readProperties(channel);
+                updated.forEach((key, value) -> properties.setProperty(key, String.valueOf(value)));
+
+                channel.truncate(0);
+                channel.position(0);
+                OutputStream outputStream = Channels.newOutputStream(channel);
+                properties.store(outputStream, "Test durations in milliseconds (moving average)");
+                outputStream.flush();
+            }
+            logger.info("Saved {} duration estimates to {}", updated.size(), historyFile);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "save", "Failed to save duration history: {}", historyFile);
+        }
+    }
+
+    private static Properties readProperties(FileChannel channel) throws IOException {
+        Properties properties = new Properties();
+        channel.position(0);
+        // Not closed on purpose: closing the stream would close the locked channel
+        InputStream inputStream = Channels.newInputStream(channel);
+        properties.load(inputStream);
+        return properties;
+    }
+}
@@ -0,0 +1,305 @@
+package com.codebase.scheduling;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+
+public class ShardPlanner {
+
+    /**
+     * Splits test classes into balanced shards from their estimated durations. Classes are taken
+     * longest-first and each one goes to the shard with the least estimated work so far. Every shard
+     * therefore finishes close to {@code total / shardCount}.
+     * <p>
+     * The plan depends only on the class names and their estimates, so every shard must plan from the
+     * same input. Duration history is local to each machine and diverges between shards, so it is never
+     * planned from directly. Instead one step writes a plan file from its history with {@link #main} or
+     * {@link #writePlan}, and every shard reads that file through {@code SHARD_PLAN}. Classes missing
+     * from the file go to a shard picked from a hash of their name. Without a plan file the shards plan
+     * from the test method count of each class, which every shard sees the same.
+     * {@link #verifyPartition} checks that a plan runs every class exactly once.
+     * <p>
+     * The shard is selected with the {@code SHARD_INDEX} and {@code SHARD_COUNT} system properties, or
+     * environment variables of the same names, e.g. {@code mvn test -DSHARD_INDEX=1 -DSHARD_COUNT=4}.
+     * The shards of one run share a run id, taken from {@code SHARD_RUN_ID}, e.g. the CI build number,
+     * or else from the plan file, which gets a new id each time it is written. Report shards carry it, so
+     * leftovers of an earlier run are not merged into this one.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * java -cp ... com.codebase.scheduling.ShardPlanner 4 shard-plan.properties .test-history/durations.properties
+     * mvn test -DSHARD_INDEX=1 -DSHARD_COUNT=4 -DSHARD_PLAN=shard-plan.properties
+     * </pre>
+     */
+
+    public static final String SHARD_INDEX_KEY = "SHARD_INDEX";
+    public static final String SHARD_COUNT_KEY = "SHARD_COUNT";
+    public static final String SHARD_PLAN_KEY = "SHARD_PLAN";
+    public static final String SHARD_RUN_ID_KEY = "SHARD_RUN_ID";
+    private static final String PLAN_SHARD_COUNT_KEY = "shard.count";
+    private static final String PLAN_RUN_ID_KEY = "run.id";
+
+    private static final Logger logger = LoggerUtil.getLogger(ShardPlanner.class);
+
+    private ShardPlanner() {
+    }
+
+    /**
+     * Assigns every class to one shard.
+     *
+     * @param classEstimates The estimated duration of each test class in milliseconds.
+     * @param shardCount     The number of shards.
+     * @return The shards, indexed from 0.
+     */
+    public static List<Shard> plan(Map<String, Long> classEstimates, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be greater than zero.");
+        }
+
+        // Sorting by name first makes the plan independent of map iteration order across JVMs
+        List<Map.Entry<String, Long>> classes = new ArrayList<>(classEstimates.entrySet());
+        classes.sort(Map.Entry.comparingByKey());
+        classes = LongestFirstScheduler.order(classes, Map.Entry::getValue);
+
+        List<Bin> bins = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            bins.add(new Bin(i));
+        }
+        PriorityQueue<Bin> leastLoaded = new PriorityQueue<>(
+                Comparator.comparingLong((Bin bin) -> bin.load).thenComparingInt(bin -> bin.index));
+        leastLoaded.addAll(bins);
+
+        for (Map.Entry<String, Long> testClass : classes) {
+            Bin bin = leastLoaded.poll();
+            bin.classes.add(testClass.getKey());
+            bin.load += testClass.getValue();
+            leastLoaded.add(bin);
+        }
+        return bins.stream().map(bin -> new Shard(bin.index, List.copyOf(bin.classes), bin.load)).toList();
+    }
+
+    /**
+     * Writes a plan from a duration history, for every shard to read through {@code SHARD_PLAN}.
+     * Arguments: the shard count, the plan file to write, and the history file (default
+     * {@code .test-history/durations.properties}).
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: ShardPlanner <shard count> <plan file> [history file]");
+        }
+        int shardCount = Integer.parseInt(args[0]);
+        DurationHistory history;
+        if (args.length > 2) {
+            history = new DurationHistory(Paths.get(args[2]));
+            history.load();
+        } else {
+            history = DurationHistory.loadDefault();
+        }
+        writePlan(plan(history.getClassEstimates(), shardCount), Paths.get(args[1]));
+    }
+
+    /**
+     * Saves a plan as {@code className=shardIndex} properties.
+     *
+     * @param shards   The plan to save.
+     * @param planFile The file to write.
+     */
+    public static void writePlan(List<Shard> shards, Path planFile) {
+        Properties properties = new Properties();
+        properties.setProperty(PLAN_SHARD_COUNT_KEY, String.valueOf(shards.size()));
+        properties.setProperty(PLAN_RUN_ID_KEY, UUID.randomUUID().toString());
+        for (Shard shard : shards) {
+            shard.classes().forEach(className -> properties.setProperty(className, String.valueOf(shard.index())));
+        }
+        try {
+            Path parent = planFile.toAbsolutePath().getParent();
+            FileManager.createDirIfNotExists(parent.toString());
+            try (Writer writer = Files.newBufferedWriter(planFile)) {
+                properties.store(writer, "Test class to shard assignment");
+            }
+            logger.info("Wrote a plan for {} shards to {}", shards.size(), planFile);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "writePlan", "Failed to write shard plan {}", planFile);
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    /**
+     * Assigns classes to shards from a plan file. Classes the file does not list, e.g. classes added
+     * since it was written, go to the shard given by a hash of their name.
+     *
+     * @param classNames The classes to run across all shards.
+     * @param shardCount The number of shards; must match the plan file.
+     * @param planFile   A file written by {@link #writePlan}.
+     * @return The shards, indexed from 0.
+     * @throws IllegalStateException If the file cannot be read or was written for another shard count.
+     */
+    public static List<Shard> readPlan(Collection<String> classNames, int shardCount, Path planFile) {
+        Properties properties = loadPlan(planFile);
+        String plannedCount = properties.getProperty(PLAN_SHARD_COUNT_KEY);
+        if (!String.valueOf(shardCount).equals(plannedCount)) {
+            throw new IllegalStateException(String.format(
+                    "Shard plan %s was written for %s shards, but %d are running", planFile, plannedCount, shardCount));
+        }
+
+        List<List<String>> assigned = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            assigned.add(new ArrayList<>());
+        }
+        for (String className : new TreeSet<>(classNames)) {
+            String planned = properties.getProperty(className);
+            int index = planned != null ? Integer.parseInt(planned.trim()) : hashShard(className, shardCount);
+            if (index < 0 || index >= shardCount) {
+                throw new IllegalStateException("Shard plan " + planFile + " assigns " + className + " to shard " + index);
+            }
+            assigned.get(index).add(className);
+        }
+
+        List<Shard> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(new Shard(i, List.copyOf(assigned.get(i)), 0));
+        }
+        return shards;
+    }
+
+    /**
+     * Checks that a plan runs every class in exactly one shard.
+     *
+     * @param shards     The plan to check.
+     * @param classNames Every class that must run.
+     * @throws IllegalStateException If a class is missing, planned twice, or not one of the classes.
+     */
+    public static void verifyPartition(List<Shard> shards, Collection<String> classNames) {
+        Set<String> expected = new HashSet<>(classNames);
+        Set<String> planned = new HashSet<>();
+        List<String> problems = new ArrayList<>();
+        for (Shard shard : shards) {
+            for (String className : shard.classes()) {
+                if (!planned.add(className)) {
+                    problems.add(className + " is planned more than once");
+                } else if (!expected.contains(className)) {
+                    problems.add(className + " is not a test class of this run");
+                }
+            }
+        }
+        expected.removeAll(planned);
+        expected.forEach(className -> problems.add(className + " is not planned into any shard"));
+        if (!problems.isEmpty()) {
+            throw new IllegalStateException("Invalid shard plan: " + String.join("; ", problems));
+        }
+    }
+
+    private static Properties loadPlan(Path planFile) {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(planFile)) {
+            properties.load(reader);
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "loadPlan", "Failed to read shard plan {}", planFile);
+            throw new IllegalStateException("Failed to read shard plan " + planFile, error);
+        }
+        return properties;
+    }
+
+    // String.hashCode is specified by the JLS, so every JVM picks the same shard
+    private static int hashShard(String className, int shardCount) {
+        return Math.floorMod(className.hashCode(), shardCount);
+    }
+
+    /**
+     * Reads the plan file path from {@code SHARD_PLAN}.
+     *
+     * @return The plan file, or null when unset.
+     */
+    public static Path getPlanFile() {
+        String value = System.getProperty(SHARD_PLAN_KEY, System.getenv(SHARD_PLAN_KEY));
+        return value == null || value.isBlank() ? null : Paths.get(value.trim());
+    }
+
+    /**
+     * Reads the id shared by every shard of this run from {@code SHARD_RUN_ID}, or else from the plan
+     * file named by {@code SHARD_PLAN}.
+     *
+     * @return The run id, or null when neither is set.
+     */
+    public static String getRunId() {
+        String value = System.getProperty(SHARD_RUN_ID_KEY, System.getenv(SHARD_RUN_ID_KEY));
+        if (value != null && !value.isBlank()) {
+            return value.trim();
+        }
+        Path planFile = getPlanFile();
+        return planFile == null ? null : loadPlan(planFile).getProperty(PLAN_RUN_ID_KEY);
+    }
+
+    /**
+     * Reads the shard index from {@code SHARD_INDEX}; 0 when unset.
+     *
+     * @return The zero-based index of the shard this JVM runs.
+     */
+    public static int getShardIndex() {
+        return readSetting(SHARD_INDEX_KEY, 0);
+    }
+
+    /**
+     * Reads the shard count from {@code SHARD_COUNT}; 1 (no sharding) when unset.
+     *
+     * @return The total number of shards.
+     */
+    public static int getShardCount() {
+        return readSetting(SHARD_COUNT_KEY, 1);
+    }
+
+    private static int readSetting(String key, int defaultValue) {
+        String value = System.getProperty(key, System.getenv(key));
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException error) {
+            throw new IllegalArgumentException("Property '" + key + "' must be a number: " + value, error);
+        }
+    }
+
+    /**
+     * @param index           The zero-based shard index.
+     * @param classes         The test classes assigned to the shard.
+     * @param estimatedMillis The estimated wall-clock time of the shard in milliseconds.
+     */
+    public record Shard(int index, List<String> classes, long estimatedMillis) {
+
+        @Override
+        public String toString() {
+            return String.format("shard %d: %d classes, ~%d ms", index, classes.size(), estimatedMillis);
+        }
+    }
+
+    private static final class Bin {
+        private final int index;
+        private final List<String> classes = new ArrayList<>();
+        private long load;
+
+        private Bin(int index) {
+            this.index = index;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.codebase.scheduling;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.OutputKeys;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TestResultsMerger {
+
+    /**
+     * Combines the {@code testng-results.xml} files written by each shard into one file. Report tools
+     * then see a single run.
+     * <p>
+     * The counters on the root element are summed. Suites with the same name are merged into one
+     * {@code <suite>}, and their {@code <test>} elements are concatenated. Shards run side by side, so a
+     * merged suite reports the longest shard duration and the earliest start and latest finish. It does
+     * not report the sum.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * java -cp ... com.codebase.scheduling.TestResultsMerger target/merged/testng-results.xml \
+     *     shard-0/testng-results.xml shard-1/testng-results.xml
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(TestResultsMerger.class);
+
+    private static final String ROOT_ELEMENT = "testng-results";
+    private static final String[] COUNTER_ATTRIBUTES = {"total", "passed", "failed", "skipped", "ignored"};
+
+    private TestResultsMerger() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Usage: TestResultsMerger <output.xml> <shard-results.xml>...");
+        }
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 1; i < args.length; i++) {
+            inputs.add(Paths.get(args[i]));
+        }
+        merge(inputs, Paths.get(args[0]));
+    }
+
+    /**
+     * Merges shard result files into one.
+     *
+     * @param inputs The {@code testng-results.xml} file of every shard.
+     * @param output The merged file to write.
+     * @throws Exception If a file cannot be read, parsed or written.
+     */
+    public static void merge(List<Path> inputs, Path output) throws Exception {
+        if (inputs == null || inputs.isEmpty()) {
+            throw new IllegalArgumentException("At least one results file is required.");
+        }
+
+        try {
+            DocumentBuilder builder = createDocumentBuilder();
+            Document merged = builder.newDocument();
+            Element mergedRoot = merged.createElement(ROOT_ELEMENT);
+            merged.appendChild(mergedRoot);
+
+            long[] counters = new long[COUNTER_ATTRIBUTES.length];
+            Map<String, Element> suitesByName = new LinkedHashMap<>();
+
+            for (Path input : inputs) {
+                Element root = builder.parse(input.toFile()).getDocumentElement();
+                if (!ROOT_ELEMENT.equals(root.getTagName())) {
+                    throw new IllegalArgumentException("Not a TestNG results file: " + input);
+                }
+                for (int i = 0; i < COUNTER_ATTRIBUTES.length; i++) {
+                    counters[i] += parseLong(root.getAttribute(COUNTER_ATTRIBUTES[i]));
+                }
+                for (Element suite : childElements(root, "suite")) {
+                    mergeSuite(merged, mergedRoot, suitesByName, suite);
+                }
+            }
+
+            for (int i = 0; i < COUNTER_ATTRIBUTES.length; i++) {
+                mergedRoot.setAttribute(COUNTER_ATTRIBUTES[i], String.valueOf(counters[i]));
+            }
+            write(merged, output);
+            logger.info("Merged {} shard result files into {} (total={}, failed={})",
+                    inputs.size(), output, counters[0], counters[2]);
+        } catch (Exception error) {
+            ErrorHandler.logError(error, "merge", "Failed to merge TestNG results into {}", output);
+            throw error;
+        }
+    }
+
+    private static void mergeSuite(Document merged, Element mergedRoot, Map<String, Element> suitesByName, Element suite) {
+        String name = suite.getAttribute("name");
+        Element existing = suitesByName.get(name);
+        if (existing == null) {
+            Element imported = (Element) merged.importNode(suite, true);
+            mergedRoot.appendChild(imported);
+            suitesByName.put(name, imported);
+            return;
+        }
+
+        for (Element test : childElements(suite, "test")) {
+            existing.appendChild(merged.importNode(test, true));
+        }
+        existing.setAttribute("duration-ms", String.valueOf(Math.max(
+                parseLong(existing.getAttribute("duration-ms")), parseLong(suite.getAttribute("duration-ms")))));
+        // TestNG writes ISO-8601 timestamps, so string order is time order within one time zone
+        if (suite.getAttribute("started-at").compareTo(existing.getAttribute("started-at")) < 0) {
+            existing.setAttribute("started-at", suite.getAttribute("started-at"));
+        }
+        if (suite.getAttribute("finished-at").compareTo(existing.getAttribute("finished-at")) > 0) {
+            existing.setAttribute("finished-at", suite.getAttribute("finished-at"));
+        }
+    }
+
+    private static List<Element> childElements(Element parent, String tagName) {
+        List<Element> elements = new ArrayList<>();
+        NodeList children = parent.getChildNodes();
+        for (int i = 0; i < children.getLength(); i++) {
+            Node child = children.item(i);
+            if (child instanceof Element element && tagName.equals(element.getTagName())) {
+                elements.add(element);
+            }
+        }
+        return elements;
+    }
+
+    private static long parseLong(String value) {
+        return value == null || value.isBlank() ? 0 : Long.parseLong(value.trim());
+    }
+
+    private static DocumentBuilder createDocumentBuilder() throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        return factory.newDocumentBuilder();
+    }
+
+    private static void write(Document document, Path output) throws Exception {
+        Path parent = output.toAbsolutePath().getParent();
+        FileManager.createDirIfNotExists(parent.toString());
+
+        Transformer transformer = TransformerFactory.newInstance().newTransformer();
+        transformer.setOutputProperty(OutputKeys.INDENT, "yes");
+        transformer.setOutputProperty(OutputKeys.ENCODING, "UTF-8");
+        transformer.transform(new DOMSource(document), new StreamResult(output.toFile()));
+    }
+}
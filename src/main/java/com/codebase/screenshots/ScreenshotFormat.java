@@ -0,0 +1,17 @@
+package com.codebase.screenshots;
+
+public enum ScreenshotFormat {
+
+    PNG("png"),
+    JPEG("jpg");
+
+    private final String extension;
+
+    ScreenshotFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
@@ -0,0 +1,331 @@
+package com.codebase.screenshots;
+
+import com.codebase.concurrent.FrameworkExecutors;
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+import com.codebase.parameters.AppSettings;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ScreenshotPipeline implements AutoCloseable {
+
+    /**
+     * Moves screenshot encoding and disk I/O off the test thread. The test thread only fetches the
+     * screenshot bytes from the driver and hands them to a bounded queue. Background workers then
+     * hash the bytes and skip writes for identical images. They re-encode the rest with the
+     * configured compression and write them to disk.
+     * <p>
+     * When the workers fall behind and the queue is full, {@link #capture(WebDriver, String)} blocks
+     * until a slot frees up, so a slow disk throttles the capture rate instead of filling the heap.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * CompletableFuture&lt;Path&gt; saved = ScreenshotPipeline.getDefault().capture(driver, "checkout-failed");
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(ScreenshotPipeline.class);
+
+    public static final String DEFAULT_SCREENSHOT_DIRECTORY = "screenshots";
+    private static final float JPEG_QUALITY = 0.85f;
+    private static final ScreenshotTask POISON_PILL = new ScreenshotTask(null, null, null);
+
+    private static volatile ScreenshotPipeline defaultInstance;
+
+    private final Path outputDirectory;
+    private final ScreenshotFormat format;
+    private final BlockingQueue<ScreenshotTask> queue;
+    private final ExecutorService workers;
+    private final int workerCount;
+    private final Map<String, CompletableFuture<Path>> writtenByHash = new ConcurrentHashMap<>();
+    private final AtomicInteger sequence = new AtomicInteger();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder backPressureWaits = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * Creates a pipeline and starts its workers.
+     *
+     * @param outputDirectory The directory screenshots are written to.
+     * @param format          The encoding applied by the workers.
+     * @param workerCount     The number of background workers.
+     * @param queueCapacity   The number of screenshots that may wait for a worker.
+     */
+    public ScreenshotPipeline(Path outputDirectory, ScreenshotFormat format, int workerCount, int queueCapacity) {
+        if (workerCount <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException("Worker count and queue capacity must be greater than zero.");
+        }
+        this.outputDirectory = outputDirectory;
+        this.format = format;
+        this.workerCount = workerCount;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.workers = Executors.newFixedThreadPool(workerCount, runnable -> {
+            Thread thread = new Thread(runnable, "screenshot-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        for (int i = 0; i < workerCount; i++) {
+            workers.submit(this::processQueue);
+        }
+    }
+
+    /**
+     * Returns the shared pipeline writing PNG files to {@link #DEFAULT_SCREENSHOT_DIRECTORY},
+     * sized by {@link AppSettings#SCREENSHOT_WORKER_COUNT} and {@link AppSettings#SCREENSHOT_QUEUE_CAPACITY}.
+     * It is closed by the {@link FrameworkExecutors} shutdown hook, so queued screenshots are written.
+     *
+     * @return The default ScreenshotPipeline instance.
+     */
+    public static ScreenshotPipeline getDefault() {
+        if (defaultInstance == null) {
+            synchronized (ScreenshotPipeline.class) {
+                if (defaultInstance == null) {
+                    defaultInstance = new ScreenshotPipeline(
+                            Paths.get(DEFAULT_SCREENSHOT_DIRECTORY),
+                            ScreenshotFormat.PNG,
+                            AppSettings.SCREENSHOT_WORKER_COUNT.getValue(),
+                            AppSettings.SCREENSHOT_QUEUE_CAPACITY.getValue());
+                    FrameworkExecutors.closeOnShutdown("ScreenshotPipeline", defaultInstance);
+                }
+            }
+        }
+        return defaultInstance;
+    }
+
+    /**
+     * Takes a screenshot on the calling thread and queues it for encoding and writing.
+     *
+     * @param driver The driver to capture; must implement {@link TakesScreenshot}.
+     * @param name   A descriptive name used in the file name.
+     * @return A future completed with the path of the written (or identical, previously written) file.
+     */
+    public CompletableFuture<Path> capture(WebDriver driver, String name) {
+        if (!(driver instanceof TakesScreenshot screenshotDriver)) {
+            throw new IllegalArgumentException("Driver does not support taking screenshots.");
+        }
+        return submit(name, screenshotDriver.getScreenshotAs(OutputType.BYTES));
+    }
+
+    /**
+     * Queues already captured PNG bytes for encoding and writing, blocking while the queue is full.
+     *
+     * @param name     A descriptive name used in the file name.
+     * @param pngBytes The screenshot as returned by the driver.
+     * @return A future completed with the path of the written file.
+     */
+    public CompletableFuture<Path> submit(String name, byte[] pngBytes) {
+        if (closed) {
+            throw new IllegalStateException("Screenshot pipeline is closed.");
+        }
+
+        ScreenshotTask task = new ScreenshotTask(name, pngBytes, new CompletableFuture<>());
+        try {
+            if (!queue.offer(task)) {
+                backPressureWaits.increment();
+                logger.debug("Screenshot queue full, waiting for workers to catch up");
+                queue.put(task);
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            task.result().completeExceptionally(error);
+            return task.result();
+        }
+        // A task queued behind close()'s poison pills would never be taken, so take it back
+        if (closed && queue.remove(task)) {
+            task.result().completeExceptionally(new IllegalStateException("Screenshot pipeline is closed."));
+        }
+        return task.result();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getDuplicateCount() {
+        return duplicates.sum();
+    }
+
+    public long getBackPressureWaits() {
+        return backPressureWaits.sum();
+    }
+
+    public int getQueuedCount() {
+        return queue.size();
+    }
+
+    /**
+     * Stops accepting screenshots, lets the workers drain the queue and waits for them to finish.
+     * Screenshots the workers did not get to, e.g. after the timeout, are completed exceptionally.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (int i = 0; i < workerCount; i++) {
+                queue.put(POISON_PILL);
+            }
+            workers.shutdown();
+            if (!workers.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Screenshot workers did not finish within 30 seconds");
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+        failUnprocessed();
+        logger.info("Screenshot pipeline closed: {} written, {} duplicates skipped, {} back-pressure waits",
+                getWrittenCount(), getDuplicateCount(), getBackPressureWaits());
+    }
+
+    private void failUnprocessed() {
+        List<ScreenshotTask> unprocessed = new ArrayList<>();
+        queue.drainTo(unprocessed);
+        for (ScreenshotTask task : unprocessed) {
+            if (task != POISON_PILL) {
+                task.result().completeExceptionally(
+                        new IllegalStateException("Screenshot pipeline closed before writing: " + task.name()));
+            }
+        }
+    }
+
+    private void processQueue() {
+        while (true) {
+            ScreenshotTask task;
+            try {
+                task = queue.take();
+            } catch (InterruptedException error) {
+                return;
+            }
+            if (task == POISON_PILL) {
+                return;
+            }
+
+            try {
+                String hash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(task.pngBytes()));
+                CompletableFuture<Path> pending = new CompletableFuture<>();
+                CompletableFuture<Path> existing = writtenByHash.putIfAbsent(hash, pending);
+
+                if (existing != null) {
+                    // Identical image already written or being written by another worker
+                    duplicates.increment();
+                    propagate(existing, task.result());
+                    continue;
+                }
+
+                try {
+                    pending.complete(write(task, hash));
+                } catch (Exception error) {
+                    writtenByHash.remove(hash);
+                    pending.completeExceptionally(error);
+                }
+                propagate(pending, task.result());
+            } catch (Exception error) {
+                ErrorHandler.logError(error, "processQueue", "Failed to write screenshot: {}", task.name());
+                task.result().completeExceptionally(error);
+            }
+        }
+    }
+
+    private Path write(ScreenshotTask task, String hash) throws IOException {
+        FileManager.createDirIfNotExists(outputDirectory.toString());
+        String fileName = String.format("%s_%03d_%s.%s",
+                sanitize(task.name()), sequence.incrementAndGet(), hash.substring(0, 8), format.getExtension());
+        Path target = outputDirectory.resolve(fileName);
+
+        Path tempFile = outputDirectory.resolve(fileName + ".tmp");
+        Files.write(tempFile, encode(task.pngBytes()));
+        Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        written.increment();
+        return target;
+    }
+
+    private static void propagate(CompletableFuture<Path> source, CompletableFuture<Path> target) {
+        source.whenComplete((path, error) -> {
+            if (error != null) {
+                target.completeExceptionally(error);
+            } else {
+                target.complete(path);
+            }
+        });
+    }
+
+    /**
+     * Re-encodes the screenshot with maximum PNG compression or as JPEG. Bytes that cannot be decoded
+     * as an image are written unchanged.
+     */
+    private byte[] encode(byte[] pngBytes) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(pngBytes));
+        if (image == null) {
+            return pngBytes;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format == ScreenshotFormat.JPEG ? "jpeg" : "png").next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        if (param.canWriteCompressed()) {
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            // For PNG the quality selects the deflate level: 0.0 is the strongest compression
+            param.setCompressionQuality(format == ScreenshotFormat.JPEG ? JPEG_QUALITY : 0.0f);
+        }
+
+        if (format == ScreenshotFormat.JPEG && image.getColorModel().hasAlpha()) {
+            BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+            rgb.createGraphics().drawImage(image, 0, 0, null);
+            image = rgb;
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream(pngBytes.length);
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        byte[] encoded = output.toByteArray();
+        return format == ScreenshotFormat.PNG && encoded.length >= pngBytes.length ? pngBytes : encoded;
+    }
+
+    private static String sanitize(String name) {
+        String safe = name == null ? "screenshot" : name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return safe.isBlank() ? "screenshot" : safe;
+    }
+
+    private record ScreenshotTask(String name, byte[] pngBytes, CompletableFuture<Path> result) {
+    }
+}
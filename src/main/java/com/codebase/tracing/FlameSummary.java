@@ -0,0 +1,80 @@
+package com.codebase.tracing;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.helpers.FileManager;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Where the suite spent its time, as folded stacks: every distinct path of nested span names, e.g.
+ * {@code test;api.POST;ratelimit}, with the time spent in that frame itself, excluding its children.
+ *
+ * @param tests  The number of test timelines aggregated.
+ * @param frames The stacks, longest self time first.
+ */
+public record FlameSummary(long tests, List<Frame> frames) {
+
+    /**
+     * @param stack     The span names from the root {@code test} frame down, separated by {@code ;}.
+     * @param selfNanos The time spent in this frame and not in a nested span.
+     * @param calls     How many spans ended on this stack.
+     */
+    public record Frame(String stack, long selfNanos, long calls) {
+    }
+
+    public boolean isEmpty() {
+        return frames.isEmpty();
+    }
+
+    public long getTotalNanos() {
+        return frames.stream().mapToLong(Frame::selfNanos).sum();
+    }
+
+    /**
+     * Renders the frames with the most self time as a text table.
+     *
+     * @param limit The maximum number of frames to list.
+     * @return The formatted summary.
+     */
+    public String format(int limit) {
+        long total = Math.max(1, getTotalNanos());
+        StringBuilder text = new StringBuilder();
+        text.append(String.format("Time by span over %d tests (%.1f ms total)%n", tests, total / 1_000_000.0));
+        text.append(String.format("%10s %7s %8s  %s%n", "self ms", "share", "calls", "stack"));
+        frames.stream().limit(limit).forEach(frame -> text.append(String.format("%10.1f %6.1f%% %8d  %s%n",
+                frame.selfNanos / 1_000_000.0, 100.0 * frame.selfNanos / total, frame.calls, frame.stack)));
+        if (frames.size() > limit) {
+            text.append(String.format("... %d more stacks%n", frames.size() - limit));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Writes the frames in the folded format read by flamegraph.pl and speedscope, with self time in
+     * microseconds as the sample count.
+     *
+     * @param output The file to write.
+     */
+    public void writeFolded(Path output) {
+        try {
+            Path parent = output.toAbsolutePath().getParent();
+            FileManager.createDirIfNotExists(parent.toString());
+            try (Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+                for (Frame frame : frames) {
+                    long micros = frame.selfNanos / 1_000;
+                    if (micros > 0) {
+                        writer.write(frame.stack + " " + micros + "\n");
+                    }
+                }
+            }
+        } catch (IOException error) {
+            ErrorHandler.logError(error, "writeFolded", "Failed to write flame summary: {}", output);
+            throw new IllegalStateException("Failed to write flame summary: " + output, error);
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.codebase.tracing;
+
+/**
+ * An open span returned by {@link Tracer#span(String)}. Closing it ends the innermost span still open
+ * on the calling thread, so spans must be closed on the thread that opened them, in reverse order;
+ * try-with-resources does both.
+ */
+public interface Span extends AutoCloseable {
+
+    @Override
+    void close();
+}
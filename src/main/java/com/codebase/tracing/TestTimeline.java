@@ -0,0 +1,59 @@
+package com.codebase.tracing;
+
+import java.util.List;
+
+/**
+ * The spans recorded on one thread between {@link Tracer#startTest(String)} and {@link Tracer#endTest()},
+ * in the order they started.
+ *
+ * @param testName      The name given to {@link Tracer#startTest(String)}.
+ * @param durationNanos The time from test start to test end.
+ * @param entries       The recorded spans.
+ * @param droppedSpans  Spans not recorded because the per-test limit was reached.
+ */
+public record TestTimeline(String testName, long durationNanos, List<Entry> entries, long droppedSpans) {
+
+    private static final int MAX_FORMATTED_ENTRIES = 500;
+
+    /**
+     * @param name              The span name.
+     * @param depth             The nesting level; 0 for spans opened directly in the test.
+     * @param startOffsetNanos  When the span started, relative to the test start.
+     * @param durationNanos     How long the span was open.
+     */
+    public record Entry(String name, int depth, long startOffsetNanos, long durationNanos) {
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /**
+     * Renders the timeline as indented text, one span per line with its start offset and duration.
+     *
+     * @return The formatted timeline.
+     */
+    public String format() {
+        StringBuilder text = new StringBuilder(64 + Math.min(entries.size(), MAX_FORMATTED_ENTRIES) * 48);
+        text.append(String.format("%s: %.1f ms, %d spans%n", testName, toMillis(durationNanos), entries.size()));
+        int shown = Math.min(entries.size(), MAX_FORMATTED_ENTRIES);
+        for (int i = 0; i < shown; i++) {
+            Entry entry = entries.get(i);
+            text.append(String.format("%10.1f ms %10.1f ms  ", toMillis(entry.startOffsetNanos), toMillis(entry.durationNanos)))
+                    .append("  ".repeat(entry.depth))
+                    .append(entry.name)
+                    .append(System.lineSeparator());
+        }
+        if (entries.size() > shown) {
+            text.append(String.format("... %d more spans%n", entries.size() - shown));
+        }
+        if (droppedSpans > 0) {
+            text.append(String.format("... %d spans dropped over the per-test limit%n", droppedSpans));
+        }
+        return text.toString();
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
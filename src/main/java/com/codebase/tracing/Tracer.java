@@ -0,0 +1,258 @@
+package com.codebase.tracing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class Tracer {
+
+    /**
+     * Records where time goes inside a test: driver calls, waits, API calls, config lookups, crypto or
+     * any step a test marks itself. Spans are opened with try-with-resources:
+     * <pre>
+     * try (Span span = Tracer.span("checkout.submit")) {
+     *     page.submit();
+     * }
+     * </pre>
+     * Each thread records into its own buffer of parallel primitive arrays, reused from test to test.
+     * Opening a span stores a name reference and {@link System#nanoTime()}, and closing it stores one
+     * more timestamp. There is no lock, no allocation and no shared write. The span handle is the
+     * buffer itself. Spans are only recorded between {@link #startTest(String)} and {@link #endTest()}
+     * on the same thread. Outside a test, or with {@code -Dtrace.enabled=false}, {@link #span(String)}
+     * returns a shared no-op handle.
+     * <p>
+     * {@link #endTest()} turns the buffer into a {@link TestTimeline} and adds its folded stacks to a
+     * suite-wide {@link FlameSummary}. That work is done once per test, not once per span.
+     */
+
+    public static final String TRACE_ENABLED_PROPERTY = "trace.enabled";
+    public static final String ROOT_FRAME = "test";
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int MAX_SPANS_PER_TEST = 100_000;
+    private static final Span NOOP = () -> {
+    };
+
+    private static final ThreadLocal<SpanBuffer> buffers = ThreadLocal.withInitial(SpanBuffer::new);
+    private static final Map<String, FrameTotals> flameFrames = new ConcurrentHashMap<>();
+    private static final LongAdder tracedTests = new LongAdder();
+    private static volatile boolean enabled =
+            Boolean.parseBoolean(System.getProperty(TRACE_ENABLED_PROPERTY, "true"));
+
+    private Tracer() {
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Tracer.enabled = enabled;
+    }
+
+    /**
+     * Starts recording spans for a test on the calling thread, discarding any unfinished recording.
+     *
+     * @param testName The name the timeline is reported under.
+     */
+    public static void startTest(String testName) {
+        if (enabled) {
+            buffers.get().start(testName);
+        }
+    }
+
+    /**
+     * Opens a span on the calling thread.
+     *
+     * @param name The span name. Keep it low-cardinality, e.g. {@code api.GET} rather than the full URL,
+     *             so the flame summary groups calls together.
+     * @return The handle that ends the span when closed.
+     */
+    public static Span span(String name) {
+        if (!enabled) {
+            return NOOP;
+        }
+        SpanBuffer buffer = buffers.get();
+        return buffer.active ? buffer.open(name) : NOOP;
+    }
+
+    /**
+     * Ends the innermost open span on the calling thread. For callbacks that see the start and end
+     * of an operation separately, such as WebDriver listeners, instead of holding the {@link Span}.
+     */
+    public static void endSpan() {
+        if (enabled) {
+            SpanBuffer buffer = buffers.get();
+            if (buffer.active) {
+                buffer.close();
+            }
+        }
+    }
+
+    /**
+     * Stops recording on the calling thread. Spans still open are ended now.
+     *
+     * @return The test's timeline, or null if no test was started on this thread.
+     */
+    public static TestTimeline endTest() {
+        SpanBuffer buffer = buffers.get();
+        if (!buffer.active) {
+            return null;
+        }
+        TestTimeline timeline = buffer.finish();
+        addToFlameSummary(timeline);
+        return timeline;
+    }
+
+    /**
+     * @return The folded stacks of every test ended so far.
+     */
+    public static FlameSummary getFlameSummary() {
+        List<FlameSummary.Frame> frames = new ArrayList<>(flameFrames.size());
+        flameFrames.forEach((stack, totals) ->
+                frames.add(new FlameSummary.Frame(stack, totals.selfNanos.sum(), totals.calls.sum())));
+        frames.sort(Comparator.comparingLong(FlameSummary.Frame::selfNanos).reversed());
+        return new FlameSummary(tracedTests.sum(), frames);
+    }
+
+    public static void resetFlameSummary() {
+        flameFrames.clear();
+        tracedTests.reset();
+    }
+
+    /**
+     * Folds the timeline into root-to-leaf stacks with self times. Spans are stored in start order and
+     * a child always follows its parent, so one pass with a stack of open ancestors is enough.
+     */
+    private static void addToFlameSummary(TestTimeline timeline) {
+        Map<String, long[]> folded = new HashMap<>();
+        int size = timeline.entries().size();
+        String[] paths = new String[size];
+        long[] childNanos = new long[size];
+        int[] ancestors = new int[size + 1];
+        long topLevelNanos = 0;
+
+        for (int i = 0; i < size; i++) {
+            TestTimeline.Entry entry = timeline.entries().get(i);
+            int depth = entry.depth();
+            if (depth == 0) {
+                paths[i] = ROOT_FRAME + ";" + entry.name();
+                topLevelNanos += entry.durationNanos();
+            } else {
+                int parent = ancestors[depth - 1];
+                paths[i] = paths[parent] + ";" + entry.name();
+                childNanos[parent] += entry.durationNanos();
+            }
+            ancestors[depth] = i;
+        }
+        for (int i = 0; i < size; i++) {
+            long[] totals = folded.computeIfAbsent(paths[i], ignored -> new long[2]);
+            totals[0] += Math.max(0, timeline.entries().get(i).durationNanos() - childNanos[i]);
+            totals[1]++;
+        }
+        long[] root = folded.computeIfAbsent(ROOT_FRAME, ignored -> new long[2]);
+        root[0] += Math.max(0, timeline.durationNanos() - topLevelNanos);
+        root[1]++;
+
+        folded.forEach((stack, totals) -> {
+            FrameTotals frame = flameFrames.computeIfAbsent(stack, ignored -> new FrameTotals());
+            frame.selfNanos.add(totals[0]);
+            frame.calls.add(totals[1]);
+        });
+        tracedTests.increment();
+    }
+
+    private static final class FrameTotals {
+        private final LongAdder selfNanos = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+    }
+
+    /**
+     * One thread's recording. Used only by its own thread, so it needs no synchronization.
+     */
+    private static final class SpanBuffer implements Span {
+        private String testName;
+        private long testStart;
+        private boolean active;
+
+        private String[] names = new String[INITIAL_CAPACITY];
+        private long[] starts = new long[INITIAL_CAPACITY];
+        private long[] ends = new long[INITIAL_CAPACITY];
+        private int[] depths = new int[INITIAL_CAPACITY];
+        private int size;
+
+        // Indices of the open spans, innermost last; -1 marks a span dropped over the limit
+        private int[] open = new int[16];
+        private int openCount;
+        private long dropped;
+
+        private void start(String testName) {
+            this.testName = testName;
+            this.testStart = System.nanoTime();
+            this.active = true;
+            Arrays.fill(names, 0, size, null);
+            size = 0;
+            openCount = 0;
+            dropped = 0;
+        }
+
+        private Span open(String name) {
+            if (openCount == open.length) {
+                open = Arrays.copyOf(open, open.length * 2);
+            }
+            if (size == MAX_SPANS_PER_TEST) {
+                dropped++;
+                open[openCount++] = -1;
+                return this;
+            }
+            if (size == names.length) {
+                grow();
+            }
+            names[size] = name;
+            depths[size] = openCount;
+            ends[size] = -1;
+            open[openCount++] = size;
+            starts[size++] = System.nanoTime();
+            return this;
+        }
+
+        @Override
+        public void close() {
+            long now = System.nanoTime();
+            if (active && openCount > 0) {
+                int index = open[--openCount];
+                if (index >= 0) {
+                    ends[index] = now;
+                }
+            }
+        }
+
+        private TestTimeline finish() {
+            long now = System.nanoTime();
+            List<TestTimeline.Entry> entries = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                long end = ends[i] < 0 ? now : ends[i];
+                entries.add(new TestTimeline.Entry(names[i], depths[i], starts[i] - testStart, end - starts[i]));
+            }
+            TestTimeline timeline = new TestTimeline(testName, now - testStart, entries, dropped);
+            active = false;
+            testName = null;
+            Arrays.fill(names, 0, size, null);
+            size = 0;
+            openCount = 0;
+            return timeline;
+        }
+
+        private void grow() {
+            int capacity = Math.min(names.length * 2, MAX_SPANS_PER_TEST);
+            names = Arrays.copyOf(names, capacity);
+            starts = Arrays.copyOf(starts, capacity);
+            ends = Arrays.copyOf(ends, capacity);
+            depths = Arrays.copyOf(depths, capacity);
+        }
+    }
+}
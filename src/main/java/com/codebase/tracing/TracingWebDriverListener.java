@@ -0,0 +1,45 @@
+package com.codebase.tracing;
+
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class TracingWebDriverListener implements WebDriverListener {
+
+    /**
+     * Records every call made through a decorated driver, and through the elements it returns, as a
+     * {@link Tracer} span named after the method, e.g. {@code driver.get} or {@code element.click}.
+     * The span names are cached per method name, so recording a call does not build a string.
+     */
+
+    private static final Map<String, String> driverSpanNames = new ConcurrentHashMap<>();
+    private static final Map<String, String> elementSpanNames = new ConcurrentHashMap<>();
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (Tracer.isEnabled()) {
+            Tracer.span(spanName(target, method));
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        Tracer.endSpan();
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException error) {
+        Tracer.endSpan();
+    }
+
+    private static String spanName(Object target, Method method) {
+        if (target instanceof WebElement) {
+            return elementSpanNames.computeIfAbsent(method.getName(), name -> "element." + name);
+        }
+        return driverSpanNames.computeIfAbsent(method.getName(), name -> "driver." + name);
+    }
+}
@@ -2,9 +2,22 @@ package com.codebase.utils;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.ThreadContext;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
 
 public final class LoggerUtil {
 
+    /**
+     * The ThreadContext key the log4j2 routing appender uses to pick a per-test log file,
+     * {@code logs/tests/<test name>.log}.
+     */
+    public static final String TEST_NAME_KEY = "testName";
+
+    // Matches the per-test file name in log4j2.xml
+    private static final Path TEST_LOG_DIRECTORY = Paths.get("logs", "tests");
+
     // Private constructor to prevent instantiation
     private LoggerUtil() {}
 
@@ -17,4 +30,35 @@ public final class LoggerUtil {
     public static Logger getLogger(Class<?> clazz) {
         return LogManager.getLogger(clazz);
     }
+
+    /**
+     * Sends everything the current thread logs to the test's own log file as well as the shared ones,
+     * until {@link #endTestLog()}. Threads the test starts itself do not inherit the routing.
+     *
+     * @param testName The test name, e.g. {@code LoginTest.testValidLogin}; characters that are not
+     *                 safe in a file name are replaced.
+     */
+    public static void startTestLog(String testName) {
+        ThreadContext.put(TEST_NAME_KEY, toFileName(testName));
+    }
+
+    /**
+     * Stops routing the current thread's events to a per-test log file.
+     */
+    public static void endTestLog() {
+        ThreadContext.remove(TEST_NAME_KEY);
+    }
+
+    /**
+     * @param testName The test name passed to {@link #startTestLog(String)}.
+     * @return The per-test log file the test's events are routed to.
+     */
+    public static Path getTestLogFile(String testName) {
+        return TEST_LOG_DIRECTORY.resolve(toFileName(testName) + ".log");
+    }
+
+    private static String toFileName(String testName) {
+        String safe = testName == null ? "" : testName.replaceAll("[^A-Za-z0-9._-]", "_");
+        return safe.isBlank() ? "unnamed-test" : safe;
+    }
 }
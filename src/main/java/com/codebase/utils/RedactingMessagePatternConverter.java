@@ -0,0 +1,52 @@
+package com.codebase.utils;
+
+import com.codebase.crypto.SecretRedactor;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.LogEventPatternConverter;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+import org.apache.logging.log4j.message.Message;
+import org.apache.logging.log4j.util.StringBuilderFormattable;
+
+@Plugin(name = "RedactingMessagePatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({"redactedMsg", "rmsg"})
+public final class RedactingMessagePatternConverter extends LogEventPatternConverter {
+
+    /**
+     * The {@code %redactedMsg} layout pattern: the log message, like {@code %msg}, with every secret
+     * registered in {@link SecretRedactor} masked. The message is formatted straight into the layout's
+     * buffer and masked in place, so a message without secrets costs one extra scan and no allocation.
+     */
+
+    private static final RedactingMessagePatternConverter INSTANCE = new RedactingMessagePatternConverter();
+
+    private RedactingMessagePatternConverter() {
+        super("RedactedMessage", "message");
+    }
+
+    /**
+     * Called by log4j2 for each {@code %redactedMsg} in a pattern.
+     *
+     * @param options The pattern options; none are supported.
+     * @return The shared converter.
+     */
+    public static RedactingMessagePatternConverter newInstance(String[] options) {
+        return INSTANCE;
+    }
+
+    @Override
+    public void format(LogEvent event, StringBuilder toAppendTo) {
+        Message message = event.getMessage();
+        if (message == null) {
+            return;
+        }
+        int start = toAppendTo.length();
+        if (message instanceof StringBuilderFormattable formattable) {
+            formattable.formatTo(toAppendTo);
+        } else {
+            toAppendTo.append(message.getFormattedMessage());
+        }
+        SecretRedactor.redact(toAppendTo, start);
+    }
+}
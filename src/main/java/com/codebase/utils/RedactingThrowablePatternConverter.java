@@ -0,0 +1,46 @@
+package com.codebase.utils;
+
+import com.codebase.crypto.SecretRedactor;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.plugins.Plugin;
+import org.apache.logging.log4j.core.pattern.ConverterKeys;
+import org.apache.logging.log4j.core.pattern.PatternConverter;
+import org.apache.logging.log4j.core.pattern.ThrowablePatternConverter;
+
+@Plugin(name = "RedactingThrowablePatternConverter", category = PatternConverter.CATEGORY)
+@ConverterKeys({"redactedThrowable"})
+public final class RedactingThrowablePatternConverter extends ThrowablePatternConverter {
+
+    /**
+     * The {@code %redactedThrowable} layout pattern: the event's throwable, like {@code %throwable} and
+     * with the same options, with every secret registered in {@link SecretRedactor} masked. Exception
+     * messages often quote the value that failed, e.g. a rejected password or token, so the stack trace
+     * is masked as well as the message.
+     */
+
+    private RedactingThrowablePatternConverter(Configuration config, String[] options) {
+        super("RedactedThrowable", "throwable", options, config);
+    }
+
+    /**
+     * Called by log4j2 for each {@code %redactedThrowable} in a pattern.
+     *
+     * @param config  The current configuration.
+     * @param options The {@code %throwable} options, e.g. {@code short} or a line count.
+     * @return A new converter.
+     */
+    public static RedactingThrowablePatternConverter newInstance(Configuration config, String[] options) {
+        return new RedactingThrowablePatternConverter(config, options);
+    }
+
+    @Override
+    public void format(LogEvent event, StringBuilder toAppendTo) {
+        if (event.getThrown() == null) {
+            return;
+        }
+        int start = toAppendTo.length();
+        super.format(event, toAppendTo);
+        SecretRedactor.redact(toAppendTo, start);
+    }
+}
@@ -0,0 +1,292 @@
+package com.codebase.waits;
+
+import com.codebase.parameters.AppSettings;
+import com.codebase.tracing.Span;
+import com.codebase.tracing.Tracer;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+public class AdaptiveWait {
+
+    /**
+     * Polls a condition with a growing interval instead of a fixed sleep or a constant
+     * {@code WebDriverWait} polling period.
+     * <p>
+     * Each wait is recorded against a key (usually the locator), and the first polling interval
+     * of the next wait on that key is tuned from the recorded latency. Conditions that usually
+     * resolve in 40 ms are polled tightly. Conditions that usually take two seconds start with a
+     * longer interval and do not spend round-trips on early polls that are bound to fail. The
+     * interval then grows exponentially up to {@link AppSettings#WAIT_MAX_POLL_MILLIS}.
+     *
+     * <p><b>Usage Example:</b></p>
+     * <pre>
+     * WebElement button = AdaptiveWait.getDefault().until("#submit",
+     *         () -> driver.findElement(By.cssSelector("#submit")), Duration.ofSeconds(10));
+     *
+     * AdaptiveWait.getDefault().untilAll(driver, "checkout-ready", Duration.ofSeconds(10),
+     *         WaitCondition.documentReady(),
+     *         WaitCondition.visible("#total"),
+     *         WaitCondition.invisible(".spinner"));
+     * </pre>
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(AdaptiveWait.class);
+
+    private static final double BACKOFF_MULTIPLIER = 1.5;
+
+    // Returns the index of the first unmet condition, or -1 when all are met
+    private static final String COMBINED_CONDITION_SCRIPT = """
+            var conditions = arguments[0];
+            function isVisible(el) {
+              if (!el) return false;
+              var style = window.getComputedStyle(el);
+              var rect = el.getBoundingClientRect();
+              return style.visibility !== 'hidden' && style.display !== 'none' && rect.width > 0 && rect.height > 0;
+            }
+            for (var i = 0; i < conditions.length; i++) {
+              var type = conditions[i][0], selector = conditions[i][1], expected = conditions[i][2];
+              var el = selector ? document.querySelector(selector) : null;
+              var met;
+              switch (type) {
+                case 'present': met = el !== null; break;
+                case 'visible': met = isVisible(el); break;
+                case 'clickable': met = isVisible(el) && !el.disabled; break;
+                case 'invisible': met = !isVisible(el); break;
+                case 'textContains': met = el !== null && el.textContent.indexOf(expected) >= 0; break;
+                case 'documentReady': met = document.readyState === 'complete'; break;
+                default: throw new Error('Unknown wait condition: ' + type);
+              }
+              if (!met) return i;
+            }
+            return -1;
+            """;
+
+    // Driver messages for a script cut off by a navigation (chromedriver and geckodriver), compared in lower case
+    private static final List<String> NAVIGATION_ERROR_MARKERS = List.of(
+            "document unloaded",
+            "document was unloaded",
+            "execution context was destroyed",
+            "cannot find context with specified id",
+            "cannot determine loading status",
+            "inspected target navigated or closed");
+
+    private static final AdaptiveWait DEFAULT_INSTANCE = new AdaptiveWait(
+            Duration.ofMillis(AppSettings.WAIT_MIN_POLL_MILLIS.getValue()),
+            Duration.ofMillis(AppSettings.WAIT_MAX_POLL_MILLIS.getValue()));
+
+    private final Map<String, WaitStatistics> statistics = new ConcurrentHashMap<>();
+    private final long minPollNanos;
+    private final long maxPollNanos;
+
+    /**
+     * Creates a wait engine with the given polling bounds.
+     *
+     * @param minPoll The shortest polling interval.
+     * @param maxPoll The longest polling interval.
+     */
+    public AdaptiveWait(Duration minPoll, Duration maxPoll) {
+        if (minPoll.isNegative() || minPoll.isZero() || maxPoll.compareTo(minPoll) < 0) {
+            throw new IllegalArgumentException("Polling bounds must satisfy 0 < minPoll <= maxPoll.");
+        }
+        this.minPollNanos = minPoll.toNanos();
+        this.maxPollNanos = maxPoll.toNanos();
+    }
+
+    /**
+     * Returns the shared wait engine, whose statistics cover the whole run.
+     *
+     * @return The default AdaptiveWait instance.
+     */
+    public static AdaptiveWait getDefault() {
+        return DEFAULT_INSTANCE;
+    }
+
+    /**
+     * Waits with the default {@link AppSettings#WAIT_TIMEOUT_SECONDS} timeout.
+     *
+     * @see #until(String, Supplier, Duration)
+     */
+    public <T> T until(String key, Supplier<T> condition) {
+        return until(key, condition, Duration.ofSeconds(AppSettings.WAIT_TIMEOUT_SECONDS.getValue()));
+    }
+
+    /**
+     * Polls a condition until it returns a non-null value other than {@code Boolean.FALSE}.
+     * {@link NotFoundException} and {@link StaleElementReferenceException} are treated as "not yet".
+     *
+     * @param key       The key latency is recorded against, usually the locator.
+     * @param condition The condition to evaluate.
+     * @param timeout   The maximum time to wait.
+     * @return The value returned by the condition.
+     * @throws TimeoutException If the condition was not met in time.
+     */
+    public <T> T until(String key, Supplier<T> condition, Duration timeout) {
+        return until(key, condition, timeout, AdaptiveWait::isElementNotReady);
+    }
+
+    private <T> T until(String key, Supplier<T> condition, Duration timeout, Predicate<WebDriverException> notYet) {
+        try (Span ignored = Tracer.span("wait.until")) {
+            return poll(key, condition, timeout, notYet);
+        }
+    }
+
+    private <T> T poll(String key, Supplier<T> condition, Duration timeout, Predicate<WebDriverException> notYet) {
+        WaitStatistics stats = getStatistics(key);
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long interval = initialInterval(stats);
+        int polls = 0;
+        RuntimeException lastError = null;
+
+        while (true) {
+            polls++;
+            try {
+                T value = condition.get();
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    stats.recordSuccess(System.nanoTime() - start, polls);
+                    return value;
+                }
+            } catch (WebDriverException error) {
+                if (!notYet.test(error)) {
+                    throw error;
+                }
+                lastError = error;
+            }
+
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                stats.recordTimeout(System.nanoTime() - start, polls);
+                String message = String.format("Timed out after %d ms waiting for '%s' (%d polls)",
+                        timeout.toMillis(), key, polls);
+                logger.warn(message);
+                throw new TimeoutException(message, lastError);
+            }
+
+            sleep(Math.min(interval, remaining));
+            interval = Math.min((long) (interval * BACKOFF_MULTIPLIER), maxPollNanos);
+        }
+    }
+
+    /**
+     * Waits until all conditions hold, checking them together in one script execution per poll.
+     * A script that fails while the page is navigating, e.g. because the document unloaded under it,
+     * counts as "not yet". Any other script error, such as an invalid selector, is thrown at once.
+     *
+     * @param driver     The driver to run the check in.
+     * @param key        The key latency is recorded against.
+     * @param timeout    The maximum time to wait.
+     * @param conditions The conditions that must all be met.
+     * @throws TimeoutException If the conditions were not all met in time.
+     */
+    public void untilAll(WebDriver driver, String key, Duration timeout, WaitCondition... conditions) {
+        if (!(driver instanceof JavascriptExecutor executor)) {
+            throw new IllegalArgumentException("Combined conditions require a JavascriptExecutor driver.");
+        }
+        if (conditions.length == 0) {
+            throw new IllegalArgumentException("At least one wait condition is required.");
+        }
+
+        List<List<String>> scriptArgument = new ArrayList<>(conditions.length);
+        for (WaitCondition condition : conditions) {
+            scriptArgument.add(condition.toScriptArgument());
+        }
+
+        long[] lastUnmet = {-1};
+        try {
+            until(key, () -> {
+                Object result = executor.executeScript(COMBINED_CONDITION_SCRIPT, scriptArgument);
+                lastUnmet[0] = result instanceof Number number ? number.longValue() : 0;
+                return lastUnmet[0] < 0;
+            }, timeout, AdaptiveWait::isPageNotReady);
+        } catch (TimeoutException error) {
+            int unmet = (int) lastUnmet[0];
+            String condition = unmet >= 0 && unmet < conditions.length ? conditions[unmet].toString() : "unknown";
+            throw new TimeoutException(error.getMessage() + ", first unmet condition: " + condition, error);
+        }
+    }
+
+    /**
+     * Returns the statistics for a key, creating empty statistics if none were recorded yet.
+     *
+     * @param key The wait key.
+     * @return The statistics recorded for the key.
+     */
+    public WaitStatistics getStatistics(String key) {
+        return statistics.computeIfAbsent(key, ignored -> new WaitStatistics());
+    }
+
+    /**
+     * @return A snapshot of all recorded statistics keyed by wait key.
+     */
+    public Map<String, WaitStatistics> getAllStatistics() {
+        return Map.copyOf(statistics);
+    }
+
+    /**
+     * Logs the recorded statistics for every key, e.g. at the end of a suite.
+     */
+    public void logStatistics() {
+        statistics.forEach((key, stats) -> logger.info("Wait statistics for '{}': {}", key, stats));
+    }
+
+    /**
+     * @param key The wait key.
+     * @return The interval the next wait on the key starts polling with, tuned from its recorded latency.
+     */
+    public Duration getInitialPollInterval(String key) {
+        return Duration.ofNanos(initialInterval(getStatistics(key)));
+    }
+
+    private static boolean isElementNotReady(WebDriverException error) {
+        return error instanceof NotFoundException || error instanceof StaleElementReferenceException;
+    }
+
+    private static boolean isPageNotReady(WebDriverException error) {
+        if (error instanceof NoSuchSessionException || error instanceof UnreachableBrowserException) {
+            return false;
+        }
+        String message = error.getRawMessage();
+        if (message == null) {
+            return false;
+        }
+        String lowerCase = message.toLowerCase(Locale.ROOT);
+        return NAVIGATION_ERROR_MARKERS.stream().anyMatch(lowerCase::contains);
+    }
+
+    /**
+     * Starts polling at a quarter of the smoothed latency of earlier waits, bounded by the polling limits.
+     */
+    private long initialInterval(WaitStatistics stats) {
+        if (stats.getSuccessCount() == 0) {
+            return minPollNanos;
+        }
+        long tuned = stats.getSmoothedLatency().toNanos() / 4;
+        return Math.max(minPollNanos, Math.min(tuned, maxPollNanos));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(Duration.ofNanos(nanos));
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting", error);
+        }
+    }
+}
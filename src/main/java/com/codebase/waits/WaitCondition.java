@@ -0,0 +1,58 @@
+package com.codebase.waits;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A browser-side condition that {@link AdaptiveWait#untilAll} evaluates together with other conditions
+ * in a single script execution. Selectors are CSS selectors.
+ *
+ * @param type     The condition type understood by the combined wait script.
+ * @param selector The CSS selector of the element the condition applies to, if any.
+ * @param expected The expected value (e.g. text), if any.
+ */
+public record WaitCondition(String type, String selector, String expected) {
+
+    static final String PRESENT = "present";
+    static final String VISIBLE = "visible";
+    static final String CLICKABLE = "clickable";
+    static final String TEXT_CONTAINS = "textContains";
+    static final String INVISIBLE = "invisible";
+    static final String DOCUMENT_READY = "documentReady";
+
+    public static WaitCondition present(String cssSelector) {
+        return new WaitCondition(PRESENT, cssSelector, null);
+    }
+
+    public static WaitCondition visible(String cssSelector) {
+        return new WaitCondition(VISIBLE, cssSelector, null);
+    }
+
+    public static WaitCondition clickable(String cssSelector) {
+        return new WaitCondition(CLICKABLE, cssSelector, null);
+    }
+
+    public static WaitCondition invisible(String cssSelector) {
+        return new WaitCondition(INVISIBLE, cssSelector, null);
+    }
+
+    public static WaitCondition textContains(String cssSelector, String text) {
+        return new WaitCondition(TEXT_CONTAINS, cssSelector, text);
+    }
+
+    public static WaitCondition documentReady() {
+        return new WaitCondition(DOCUMENT_READY, null, null);
+    }
+
+    /**
+     * @return The condition as a script argument: {@code [type, selector, expected]}.
+     */
+    List<String> toScriptArgument() {
+        return Arrays.asList(type, selector, expected);
+    }
+
+    @Override
+    public String toString() {
+        return selector == null ? type : type + "(" + selector + (expected == null ? "" : ", '" + expected + "'") + ")";
+    }
+}
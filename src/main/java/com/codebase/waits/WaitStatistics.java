@@ -0,0 +1,76 @@
+package com.codebase.waits;
+
+import java.time.Duration;
+
+public class WaitStatistics {
+
+    /**
+     * Latency statistics recorded for one wait key (usually a locator). The smoothed latency is an
+     * exponentially weighted moving average of successful waits, so recent page behaviour dominates.
+     */
+
+    private static final double SMOOTHING_FACTOR = 0.3;
+
+    private long successCount;
+    private long timeoutCount;
+    private long totalPolls;
+    private long totalNanos;
+    private long maxNanos;
+    private double smoothedNanos;
+
+    synchronized void recordSuccess(long elapsedNanos, int polls) {
+        smoothedNanos = successCount == 0
+                ? elapsedNanos
+                : SMOOTHING_FACTOR * elapsedNanos + (1 - SMOOTHING_FACTOR) * smoothedNanos;
+        successCount++;
+        record(elapsedNanos, polls);
+    }
+
+    synchronized void recordTimeout(long elapsedNanos, int polls) {
+        timeoutCount++;
+        record(elapsedNanos, polls);
+    }
+
+    private void record(long elapsedNanos, int polls) {
+        totalPolls += polls;
+        totalNanos += elapsedNanos;
+        maxNanos = Math.max(maxNanos, elapsedNanos);
+    }
+
+    public synchronized long getSuccessCount() {
+        return successCount;
+    }
+
+    public synchronized long getTimeoutCount() {
+        return timeoutCount;
+    }
+
+    /**
+     * @return The smoothed latency of successful waits, or {@link Duration#ZERO} if none succeeded yet.
+     */
+    public synchronized Duration getSmoothedLatency() {
+        return Duration.ofNanos((long) smoothedNanos);
+    }
+
+    public synchronized Duration getMaxLatency() {
+        return Duration.ofNanos(maxNanos);
+    }
+
+    public synchronized Duration getAverageLatency() {
+        long waits = successCount + timeoutCount;
+        return waits == 0 ? Duration.ZERO : Duration.ofNanos(totalNanos / waits);
+    }
+
+    public synchronized double getAveragePolls() {
+        long waits = successCount + timeoutCount;
+        return waits == 0 ? 0 : (double) totalPolls / waits;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("waits=%d, timeouts=%d, avg=%dms, smoothed=%dms, max=%dms, avgPolls=%.1f",
+                successCount + timeoutCount, timeoutCount,
+                getAverageLatency().toMillis(), getSmoothedLatency().toMillis(),
+                getMaxLatency().toMillis(), getAveragePolls());
+    }
+}
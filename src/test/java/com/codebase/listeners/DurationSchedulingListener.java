@@ -0,0 +1,185 @@
+package com.codebase.listeners;
+
+import com.codebase.parameters.AppSettings;
+import com.codebase.scheduling.DurationHistory;
+import com.codebase.scheduling.LongestFirstScheduler;
+import com.codebase.scheduling.LongestFirstScheduler.ScheduleReport;
+import com.codebase.scheduling.ShardPlanner;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class DurationSchedulingListener implements IMethodInterceptor, ITestListener, ISuiteListener {
+
+    /**
+     * Reorders test methods longest-first from {@link DurationHistory} and records this run's durations back into it.
+     * <p>
+     * With {@code parallel="methods"} every method is scheduled individually. Otherwise classes stay contiguous, so
+     * {@code @BeforeClass} runs once per class. Classes are then ordered by their total estimate, and methods by
+     * theirs within each class. At suite end the listener logs how far the measured run was from the ideal schedule
+     * for the worker count. Registered through META-INF/services.
+     * <p>
+     * When {@code SHARD_COUNT} is above 1, the methods are first narrowed to the classes that
+     * {@link ShardPlanner} assigns to {@code SHARD_INDEX}, from the shared {@code SHARD_PLAN} file if one is set.
+     */
+
+    private static final Logger logger = LoggerUtil.getLogger(DurationSchedulingListener.class);
+
+    private static final long DEFAULT_ESTIMATE_MILLIS = 1_000;
+
+    private final DurationHistory history = DurationHistory.loadDefault();
+    private final RunTimings timings = new RunTimings();
+    private final Map<String, AtomicLong> classTotals = new ConcurrentHashMap<>();
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        XmlSuite suite = context.getSuite().getXmlSuite();
+        boolean parallelMethods = suite.getParallel() == XmlSuite.ParallelMode.METHODS;
+        int workers = workerCount(suite);
+        methods = selectShard(methods);
+
+        List<IMethodInstance> ordered;
+        if (parallelMethods) {
+            ordered = LongestFirstScheduler.order(methods, instance -> estimate(instance.getMethod()));
+        } else {
+            Map<Class<?>, List<IMethodInstance>> byClass = new LinkedHashMap<>();
+            for (IMethodInstance instance : methods) {
+                byClass.computeIfAbsent(instance.getMethod().getRealClass(), ignored -> new ArrayList<>()).add(instance);
+            }
+            List<List<IMethodInstance>> classes = LongestFirstScheduler.order(new ArrayList<>(byClass.values()),
+                    group -> group.stream().mapToLong(instance -> estimate(instance.getMethod())).sum());
+
+            ordered = new ArrayList<>(methods.size());
+            for (List<IMethodInstance> group : classes) {
+                ordered.addAll(LongestFirstScheduler.order(group, instance -> estimate(instance.getMethod())));
+            }
+        }
+
+        List<Long> estimates = ordered.stream().map(instance -> estimate(instance.getMethod())).toList();
+        logger.info("Scheduled {} methods longest-first: predicted {} ms, ideal {} ms on {} workers",
+                ordered.size(),
+                LongestFirstScheduler.simulateMakespan(estimates, workers),
+                LongestFirstScheduler.idealMakespan(estimates, workers),
+                workers);
+        return ordered;
+    }
+
+    /**
+     * Keeps only the methods of classes planned into this JVM's shard. The local duration history differs
+     * between shards, so the plan comes from the shared {@code SHARD_PLAN} file, or from each class's
+     * method count when there is none. Either way every shard computes the same split.
+     */
+    private List<IMethodInstance> selectShard(List<IMethodInstance> methods) {
+        int shardCount = ShardPlanner.getShardCount();
+        if (shardCount <= 1) {
+            return methods;
+        }
+        int shardIndex = ShardPlanner.getShardIndex();
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("Shard index " + shardIndex + " is outside 0.." + (shardCount - 1));
+        }
+
+        // Every method counts as the default estimate, so the shard plan logs a rough duration
+        Map<String, Long> classEstimates = new TreeMap<>();
+        for (IMethodInstance instance : methods) {
+            classEstimates.merge(instance.getMethod().getRealClass().getName(), DEFAULT_ESTIMATE_MILLIS, Long::sum);
+        }
+
+        Path planFile = ShardPlanner.getPlanFile();
+        List<ShardPlanner.Shard> shards;
+        if (planFile != null) {
+            shards = ShardPlanner.readPlan(classEstimates.keySet(), shardCount, planFile);
+        } else {
+            logger.info("No {} file set; balancing shards by test method count", ShardPlanner.SHARD_PLAN_KEY);
+            shards = ShardPlanner.plan(classEstimates, shardCount);
+        }
+        ShardPlanner.verifyPartition(shards, classEstimates.keySet());
+        shards.forEach(shard -> logger.info("Shard plan: {}", shard));
+        Set<String> selected = new HashSet<>(shards.get(shardIndex).classes());
+
+        List<IMethodInstance> shardMethods = methods.stream()
+                .filter(instance -> selected.contains(instance.getMethod().getRealClass().getName()))
+                .toList();
+        logger.info("Running shard {} of {}: {} of {} methods", shardIndex, shardCount, shardMethods.size(), methods.size());
+        return shardMethods;
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        recordDuration(result);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        classTotals.forEach((className, total) -> history.record(className, total.get()));
+        history.save();
+
+        if (!timings.durations.isEmpty()) {
+            ScheduleReport report = LongestFirstScheduler.report(
+                    new ArrayList<>(timings.durations), workerCount(suite.getXmlSuite()),
+                    timings.lastEnd.get() - timings.firstStart.get());
+            logger.info("Schedule for suite '{}': {}", suite.getName(), report);
+        }
+    }
+
+    private void recordDuration(ITestResult result) {
+        long duration = result.getEndMillis() - result.getStartMillis();
+        ITestNGMethod method = result.getMethod();
+        history.record(methodKey(method), duration);
+        classTotals.computeIfAbsent(method.getRealClass().getName(), ignored -> new AtomicLong()).addAndGet(duration);
+
+        timings.durations.add(duration);
+        timings.firstStart.accumulateAndGet(result.getStartMillis(), Math::min);
+        timings.lastEnd.accumulateAndGet(result.getEndMillis(), Math::max);
+    }
+
+    private long estimate(ITestNGMethod method) {
+        return history.estimate(methodKey(method)).orElseGet(() -> {
+            long median = history.medianEstimate();
+            return median > 0 ? median : DEFAULT_ESTIMATE_MILLIS;
+        });
+    }
+
+    private static String methodKey(ITestNGMethod method) {
+        return method.getRealClass().getName() + "#" + method.getMethodName();
+    }
+
+    private static int workerCount(XmlSuite suite) {
+        if (suite.getParallel() == null || !suite.getParallel().isParallel()) {
+            return 1;
+        }
+        int configured = AppSettings.PARALLEL_THREAD_COUNT.getValue();
+        return configured > 0 ? configured : suite.getThreadCount();
+    }
+
+    private static final class RunTimings {
+        private final ConcurrentLinkedQueue<Long> durations = new ConcurrentLinkedQueue<>();
+        private final AtomicLong firstStart = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastEnd = new AtomicLong(Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,90 @@
+package com.codebase.listeners;
+
+import com.codebase.helpers.ErrorHandler;
+import com.codebase.reporting.ExtentReportService;
+import com.codebase.tracing.Tracer;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Feeds every test method into {@link ExtentReportService#getDefault()} and writes the report once more
+ * when a suite finishes. The callbacks run on the test threads but only queue events, so reporting does
+ * not slow the tests down. Each test is traced with {@link Tracer}; its timeline is added to the test
+ * and the suite's flame summary to the report. Registered through META-INF/services.
+ */
+public class ExtentReportListener implements ITestListener, ISuiteListener {
+
+    private static final long SUITE_FLUSH_TIMEOUT_SECONDS = 60;
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        start(result);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        ExtentReportService report = ExtentReportService.getDefault();
+        report.pass("Test passed");
+        finish(report);
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        ExtentReportService report = ExtentReportService.getDefault();
+        if (result.getThrowable() != null) {
+            report.fail(result.getThrowable());
+        } else {
+            report.fail("Test failed");
+        }
+        finish(report);
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        ExtentReportService report = ExtentReportService.getDefault();
+        // Tests skipped by a failed configuration method never reach onTestStart
+        if (!report.hasActiveTest()) {
+            start(result);
+        }
+        report.skip(result.getThrowable() != null ? result.getThrowable().getMessage() : "Test skipped");
+        finish(report);
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        try {
+            ExtentReportService report = ExtentReportService.getDefault();
+            report.addFlameSummary(Tracer.getFlameSummary());
+            report.flush().get(SUITE_FLUSH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException error) {
+            ErrorHandler.logError(error, "onFinish", "Failed to write the Extent report for suite: {}", suite.getName());
+        }
+    }
+
+    private static void start(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        List<String> categories = new ArrayList<>();
+        categories.add(method.getRealClass().getSimpleName());
+        categories.addAll(Arrays.asList(method.getGroups()));
+        ExtentReportService.getDefault().startTest(method.getMethodName(), method.getDescription(),
+                categories.toArray(String[]::new));
+        Tracer.startTest(method.getRealClass().getSimpleName() + "." + method.getMethodName());
+    }
+
+    private static void finish(ExtentReportService report) {
+        report.addTimeline(Tracer.endTest());
+        report.endTest();
+    }
+}
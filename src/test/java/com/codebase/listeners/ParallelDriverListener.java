@@ -0,0 +1,84 @@
+package com.codebase.listeners;
+
+import com.codebase.drivers.DriverFactory;
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.IAlterSuiteListener;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.xml.XmlSuite;
+
+import java.util.List;
+
+/**
+ * Sizes parallel suites from {@link DriverFactory#getMaxConcurrency()} and guarantees that the
+ * driver bound to each test method is quit once the method finishes, including when it times out.
+ * Methods running on a thread whose class setup already opened a driver reuse that driver instead.
+ * The scope is recorded on the method's result and quit from there, because TestNG runs a method with
+ * a time-out on a thread of its own unless the invoking thread is a TestNG pool thread outside
+ * {@code parallel="tests"}; that thread is handed the scope.
+ * Registered through META-INF/services so it applies to every suite.
+ */
+public class ParallelDriverListener implements IAlterSuiteListener, IInvokedMethodListener, ISuiteListener {
+
+    private static final Logger logger = LoggerUtil.getLogger(ParallelDriverListener.class);
+    private static final String OPENED_SCOPE_ATTRIBUTE = "driverScopeOpened";
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        int threadCount = DriverFactory.getMaxConcurrency();
+        for (XmlSuite suite : suites) {
+            if (suite.getParallel() != null && suite.getParallel().isParallel()) {
+                suite.setThreadCount(threadCount);
+                logger.info("Suite '{}' runs {} in parallel on {} threads",
+                        suite.getName(), suite.getParallel(), threadCount);
+            }
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        // A driver opened by class setup stays with the class and is quit by its teardown
+        if (DriverFactory.openScope()) {
+            testResult.setAttribute(OPENED_SCOPE_ATTRIBUTE, DriverFactory.getScope());
+        }
+        if (runsOnOwnThread(method.getTestMethod(), testResult)) {
+            DriverFactory.handOffScope(DriverFactory.getScope());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        DriverFactory.handOffScope(null);
+        if (testResult.getAttribute(OPENED_SCOPE_ATTRIBUTE) instanceof DriverFactory.DriverScope scope) {
+            DriverFactory.quitScope(scope);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        DriverFactory.quitAllDrivers();
+    }
+
+    /**
+     * Mirrors TestNG's MethodInvocationHelper.invokeWithTimeout, which only runs a timed method inline
+     * on threads whose name contains "TestNG" and outside {@code parallel="tests"}.
+     */
+    private static boolean runsOnOwnThread(ITestNGMethod testMethod, ITestResult testResult) {
+        if (testMethod.getTimeOut() <= 0 && testMethod.getInvocationTimeOut() <= 0) {
+            return false;
+        }
+        return !Thread.currentThread().getName().contains("TestNG")
+                || testResult.getTestContext().getCurrentXmlTest().getParallel() == XmlSuite.ParallelMode.TESTS;
+    }
+}
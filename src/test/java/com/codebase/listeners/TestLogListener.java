@@ -0,0 +1,56 @@
+package com.codebase.listeners;
+
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.Logger;
+import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Routes what each test method logs on its own thread to {@code logs/tests/<Class>.<method>.log}, so
+ * parallel tests no longer interleave in one file. Data-driven invocations after the first get their
+ * invocation number appended. The per-test appender appends, so the file an earlier run left under
+ * the same name is deleted before the test starts. Registered through META-INF/services.
+ */
+public class TestLogListener implements ITestListener {
+
+    private static final Logger logger = LoggerUtil.getLogger(TestLogListener.class);
+
+    private final Map<String, AtomicInteger> invocations = new ConcurrentHashMap<>();
+
+    @Override
+    public void onTestStart(ITestResult result) {
+        ITestNGMethod method = result.getMethod();
+        String testName = method.getRealClass().getSimpleName() + "." + method.getMethodName();
+        int invocation = invocations.computeIfAbsent(testName, ignored -> new AtomicInteger()).incrementAndGet();
+        String logName = invocation > 1 ? testName + "-" + invocation : testName;
+        // Each name is used once per run, so no appender in this JVM has the file open yet
+        try {
+            Files.deleteIfExists(LoggerUtil.getTestLogFile(logName));
+        } catch (IOException error) {
+            logger.warn("Failed to delete the previous log of '{}': {}", logName, error.getMessage());
+        }
+        LoggerUtil.startTestLog(logName);
+    }
+
+    @Override
+    public void onTestSuccess(ITestResult result) {
+        LoggerUtil.endTestLog();
+    }
+
+    @Override
+    public void onTestFailure(ITestResult result) {
+        LoggerUtil.endTestLog();
+    }
+
+    @Override
+    public void onTestSkipped(ITestResult result) {
+        LoggerUtil.endTestLog();
+    }
+}
@@ -0,0 +1,188 @@
+package com.codebase.tests;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * In-memory WebDriver used by unit tests that exercise driver management and page helpers
+ * without launching a browser. It records the calls the framework makes so tests can assert on them.
+ */
+public class StubWebDriver implements WebDriver, JavascriptExecutor {
+
+    private final Set<String> windowHandles = new LinkedHashSet<>(List.of("window-1"));
+    private final Map<By, List<WebElement>> elements = new ConcurrentHashMap<>();
+    private volatile Function<Object[], Object> scriptHandler = args -> null;
+    private volatile String currentUrl = "about:blank";
+    private volatile boolean alive = true;
+
+    public final AtomicInteger deleteAllCookiesCalls = new AtomicInteger();
+    public final AtomicInteger executeScriptCalls = new AtomicInteger();
+    public final AtomicInteger findElementCalls = new AtomicInteger();
+    public final AtomicInteger quitCalls = new AtomicInteger();
+
+    public void openWindow(String handle) {
+        windowHandles.add(handle);
+    }
+
+    public void kill() {
+        alive = false;
+    }
+
+    public void addElements(By locator, WebElement... found) {
+        elements.put(locator, new ArrayList<>(List.of(found)));
+    }
+
+    public void setScriptHandler(Function<Object[], Object> scriptHandler) {
+        this.scriptHandler = scriptHandler;
+    }
+
+    @Override
+    public void get(String url) {
+        checkAlive();
+        currentUrl = url;
+    }
+
+    @Override
+    public String getCurrentUrl() {
+        checkAlive();
+        return currentUrl;
+    }
+
+    @Override
+    public String getTitle() {
+        checkAlive();
+        return "";
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+        checkAlive();
+        findElementCalls.incrementAndGet();
+        return elements.getOrDefault(by, List.of());
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+        List<WebElement> found = findElements(by);
+        if (found.isEmpty()) {
+            throw new NoSuchElementException("No stub element registered for " + by);
+        }
+        return found.get(0);
+    }
+
+    @Override
+    public String getPageSource() {
+        checkAlive();
+        return "<html></html>";
+    }
+
+    @Override
+    public void close() {
+        checkAlive();
+        windowHandles.remove(windowHandles.iterator().next());
+    }
+
+    @Override
+    public void quit() {
+        quitCalls.incrementAndGet();
+        alive = false;
+    }
+
+    @Override
+    public Set<String> getWindowHandles() {
+        checkAlive();
+        return new LinkedHashSet<>(windowHandles);
+    }
+
+    @Override
+    public String getWindowHandle() {
+        checkAlive();
+        return windowHandles.iterator().next();
+    }
+
+    @Override
+    public TargetLocator switchTo() {
+        checkAlive();
+        return proxy(TargetLocator.class, (method, args) -> {
+            if (method.equals("window")) {
+                String handle = (String) args[0];
+                windowHandles.remove(handle);
+                Set<String> reordered = new LinkedHashSet<>();
+                reordered.add(handle);
+                reordered.addAll(windowHandles);
+                windowHandles.clear();
+                windowHandles.addAll(reordered);
+            }
+            return this;
+        });
+    }
+
+    @Override
+    public Navigation navigate() {
+        checkAlive();
+        return proxy(Navigation.class, (method, args) -> {
+            if (method.equals("to") && args[0] instanceof String url) {
+                currentUrl = url;
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Options manage() {
+        checkAlive();
+        return proxy(Options.class, (method, args) -> {
+            if (method.equals("deleteAllCookies")) {
+                deleteAllCookiesCalls.incrementAndGet();
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public Object executeScript(String script, Object... args) {
+        checkAlive();
+        executeScriptCalls.incrementAndGet();
+        Object[] scriptArgs = new Object[args.length + 1];
+        scriptArgs[0] = script;
+        System.arraycopy(args, 0, scriptArgs, 1, args.length);
+        return scriptHandler.apply(scriptArgs);
+    }
+
+    @Override
+    public Object executeAsyncScript(String script, Object... args) {
+        return executeScript(script, args);
+    }
+
+    private void checkAlive() {
+        if (!alive) {
+            throw new NoSuchSessionException("Stub session is no longer alive");
+        }
+    }
+
+    private interface StubHandler {
+        Object handle(String method, Object[] args);
+    }
+
+    private static <T> T proxy(Class<T> type, StubHandler handler) {
+        Object proxy = Proxy.newProxyInstance(
+                StubWebDriver.class.getClassLoader(),
+                new Class<?>[]{type},
+                (instance, method, args) -> handler.handle(method.getName(), args == null ? new Object[0] : args));
+        return type.cast(proxy);
+    }
+}
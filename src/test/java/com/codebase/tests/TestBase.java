@@ -4,11 +4,13 @@ import com.codebase.ConfigPaths.DotEnvFilePaths;
 import com.codebase.config.DotenvConfig;
 import com.codebase.config.DotenvConfigManager;
 import com.codebase.config.TestBaseConfig;
+import com.codebase.drivers.DriverFactory;
 import com.codebase.helpers.ErrorHandler;
 import com.codebase.parameters.EnvironmentAliases;
 import com.codebase.parameters.EnvironmentTypes;
 import com.codebase.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
 import org.testng.annotations.AfterClass;
 import org.testng.annotations.BeforeClass;
 
@@ -51,11 +53,20 @@ public class TestBase {
         }
     }
 
+    /**
+     * Returns the browser session bound to the current test thread, launching it on first use.
+     *
+     * @return The WebDriver for the current thread.
+     */
+    protected WebDriver getDriver() {
+        return DriverFactory.getDriver();
+    }
+
     @AfterClass
     public void tearDown() {
         try {
-            // Perform cleanup actions, such as quitting the browser
-            System.out.println("Executing tearDown method");
+            // Quit a browser opened during class-level setup; test methods are cleaned up by ParallelDriverListener
+            DriverFactory.quitDriver();
         } catch (Exception error) {
             ErrorHandler.logError(error, "tearDown", "Failed to quit and close the browser");
             throw new RuntimeException("Failed to quit and close the browser: " + error.getMessage(), error);
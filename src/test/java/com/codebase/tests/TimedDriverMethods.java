@@ -0,0 +1,35 @@
+package com.codebase.tests;
+
+import com.codebase.drivers.DriverFactory;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Timed test methods that use the thread's driver, run through a nested TestNG by DriverFactoryTest.
+ * The name keeps surefire from picking the class up on its own.
+ */
+public class TimedDriverMethods {
+
+    public static final List<StubWebDriver> drivers = new CopyOnWriteArrayList<>();
+    public static final Set<Thread> driverThreads = ConcurrentHashMap.newKeySet();
+
+    @Test(timeOut = 30_000)
+    public void finishesInTime() {
+        useDriver();
+    }
+
+    @Test(timeOut = 500)
+    public void timesOut() throws InterruptedException {
+        useDriver();
+        Thread.sleep(30_000);
+    }
+
+    private static void useDriver() {
+        drivers.add((StubWebDriver) DriverFactory.getDriver());
+        driverThreads.add(Thread.currentThread());
+    }
+}
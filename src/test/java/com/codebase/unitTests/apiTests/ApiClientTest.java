@@ -0,0 +1,96 @@
+package com.codebase.unitTests.apiTests;
+
+import com.codebase.api.ApiClient;
+import com.codebase.api.PoolStatistics;
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class ApiClientTest {
+
+    public record PathBody(String path) {
+    }
+
+    private final Set<Integer> clientPorts = ConcurrentHashMap.newKeySet();
+    private HttpServer server;
+    private ApiClient apiClient;
+
+    @BeforeClass
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/booking", exchange -> {
+            clientPorts.add(exchange.getRemoteAddress().getPort());
+            byte[] body = ("{\"path\":\"" + exchange.getRequestURI().getPath() + "\",\"server\":\"test\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/ping", exchange -> {
+            exchange.sendResponseHeaders(202, -1);
+            exchange.close();
+        });
+        server.start();
+
+        apiClient = new ApiClient("http://127.0.0.1:" + server.getAddress().getPort(), 4, 2, Duration.ofSeconds(30));
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopServer() {
+        apiClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testSequentialRequestsReuseOneConnection() {
+        clientPorts.clear();
+        for (int i = 1; i <= 5; i++) {
+            Response response = apiClient.request("/booking").get("/{id}", i);
+
+            Assert.assertEquals(response.statusCode(), 200);
+            Assert.assertEquals(response.jsonPath().getString("path"), "/booking/" + i);
+        }
+
+        Assert.assertEquals(clientPorts.size(), 1, "All requests should use one kept-alive connection");
+        PoolStatistics statistics = apiClient.getPoolStatistics();
+        Assert.assertEquals(statistics.leased(), 0);
+        Assert.assertEquals(statistics.available(), 1);
+        Assert.assertEquals(statistics.max(), 4);
+    }
+
+    @Test
+    public void testEmptyResponsesReleaseTheirConnection() {
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(apiClient.request("/ping").get().statusCode(), 202);
+        }
+
+        Assert.assertEquals(apiClient.getPoolStatistics().leased(), 0);
+    }
+
+    @Test
+    public void testSpecificationIsCachedPerBasePath() {
+        Assert.assertSame(apiClient.getSpecification("/booking"), apiClient.getSpecification("/booking"));
+        Assert.assertNotSame(apiClient.getSpecification("/booking"), apiClient.getSpecification("/auth"));
+    }
+
+    @Test
+    public void testBodiesUseTheSharedObjectMapper() {
+        Assert.assertSame(apiClient.getRestAssuredConfig().getObjectMapperConfig()
+                .jackson2ObjectMapperFactory().create(PathBody.class, "UTF-8"), ObjectMapperRegistry.getMapper());
+
+        // The shared mapper ignores the unknown "server" field
+        PathBody body = apiClient.request("/booking").get("/{id}", 7).as(PathBody.class);
+        Assert.assertEquals(body, new PathBody("/booking/7"));
+    }
+}
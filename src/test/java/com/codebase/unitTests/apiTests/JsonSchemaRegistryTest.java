@@ -0,0 +1,70 @@
+package com.codebase.unitTests.apiTests;
+
+import com.codebase.api.JsonSchemaRegistry;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class JsonSchemaRegistryTest {
+
+    private static final String BOOKING_SCHEMA = """
+            {
+              "$schema": "http://json-schema.org/draft-04/schema#",
+              "type": "object",
+              "required": ["firstname", "totalprice"],
+              "properties": {
+                "firstname": {"type": "string"},
+                "totalprice": {"type": "integer", "minimum": 0}
+              }
+            }
+            """;
+
+    private JsonSchemaRegistry registry;
+
+    @BeforeClass
+    public void loadSchemas() throws Exception {
+        Path directory = Files.createTempDirectory("schemas");
+        Files.createDirectories(directory.resolve("booking"));
+        Files.writeString(directory.resolve("booking/get-response.json"), BOOKING_SCHEMA);
+        Files.writeString(directory.resolve("auth-response.json"),
+                "{\"type\": \"object\", \"required\": [\"token\"]}");
+
+        registry = new JsonSchemaRegistry(directory);
+    }
+
+    @Test
+    public void testSchemasAreNamedByRelativePath() {
+        Assert.assertEquals(registry.size(), 2);
+        Assert.assertTrue(registry.contains("booking/get-response"));
+        Assert.assertTrue(registry.contains("auth-response"));
+        Assert.assertSame(registry.getSchema("auth-response"), registry.getSchema("auth-response"));
+    }
+
+    @Test
+    public void testValidateReportsViolations() {
+        Assert.assertTrue(registry.validate("booking/get-response", "{\"firstname\":\"Jim\",\"totalprice\":111}").isSuccess());
+        Assert.assertFalse(registry.validate("booking/get-response", "{\"firstname\":\"Jim\",\"totalprice\":-1}").isSuccess());
+        Assert.assertFalse(registry.validate("auth-response", "{\"reason\":\"Bad credentials\"}").isSuccess());
+    }
+
+    @Test
+    public void testMatcher() {
+        MatcherAssert.assertThat("{\"token\":\"abc123\"}", registry.matches("auth-response"));
+        MatcherAssert.assertThat("{}", Matchers.not(registry.matches("auth-response")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> registry.matches("unknown"));
+    }
+
+    @Test
+    public void testInvalidSchemaFailsAtLoad() throws Exception {
+        Path directory = Files.createTempDirectory("schemas");
+        Files.writeString(directory.resolve("broken.json"), "{\"type\": \"no-such-type\"}");
+
+        Assert.assertThrows(IOException.class, () -> new JsonSchemaRegistry(directory));
+    }
+}
@@ -0,0 +1,161 @@
+package com.codebase.unitTests.apiTests;
+
+import com.codebase.api.ApiClient;
+import com.codebase.api.RateLimitFilter;
+import com.codebase.api.RateLimitStatistics;
+import com.codebase.api.RateLimiter;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class RateLimiterTest {
+
+    @Test
+    public void testBurstIsAllowedThenRequestsMustWait() {
+        RateLimiter limiter = new RateLimiter("burst", 10, 3);
+
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertTrue(limiter.tryAcquire());
+        Assert.assertFalse(limiter.tryAcquire());
+        Assert.assertEquals(limiter.getStatistics().permits(), 3);
+    }
+
+    @Test
+    public void testConcurrentCallersAreSpacedAtTheConfiguredRate() throws Exception {
+        RateLimiter limiter = new RateLimiter("shared", 100, 1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        long start = System.nanoTime();
+        try {
+            List<Callable<Void>> callers = Collections.nCopies(4, () -> acquire(limiter, 10));
+            for (Future<Void> caller : executor.invokeAll(callers)) {
+                caller.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 40 permits at 100/s: the first goes at once, the other 39 are 10 ms apart
+        Assert.assertTrue(elapsedMillis >= 380, "Finished too fast: " + elapsedMillis + " ms");
+        RateLimitStatistics statistics = limiter.getStatistics();
+        Assert.assertEquals(statistics.permits(), 40);
+        Assert.assertEquals(statistics.delayed(), 39);
+        Assert.assertTrue(statistics.totalWaitMillis() > 0, statistics.toString());
+    }
+
+    @Test
+    public void testPauseHoldsBackTheNextRequest() {
+        RateLimiter limiter = new RateLimiter("paused", 1000, 10);
+        limiter.pause(Duration.ofMillis(200));
+
+        long waitedNanos = limiter.acquire();
+
+        Assert.assertTrue(TimeUnit.NANOSECONDS.toMillis(waitedNanos) >= 190, "Waited " + waitedNanos + " ns");
+    }
+
+    @Test
+    public void testFilterRoutesRequestsToHostAndEndpointLimiters() throws Exception {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            exchange.sendResponseHeaders(200, 2);
+            exchange.getResponseBody().write("{}".getBytes());
+            exchange.close();
+        });
+        server.start();
+        RateLimitFilter filter = RateLimitFilter.fromProperties(Map.of(
+                "API_RATE_LIMIT.127.0.0.1", "1000,100",
+                "API_RATE_LIMIT.127.0.0.1/auth", "10"));
+
+        try (ApiClient client = new ApiClient("http://127.0.0.1:" + server.getAddress().getPort(), 4, 4, Duration.ofSeconds(30))) {
+            client.addFilter(filter);
+            for (int i = 0; i < 5; i++) {
+                client.request("/booking").get().asString();
+                client.request("/auth").post().asString();
+            }
+            client.request("/auth/token").post().asString();
+            client.request("/authors").get().asString();
+
+            // Every request counts towards the host limit; only /auth and below towards the endpoint limit
+            List<RateLimitStatistics> statistics = client.getRateLimitStatistics();
+            Assert.assertEquals(statistics.size(), 2);
+            Assert.assertEquals(statistics.get(0).name(), "127.0.0.1");
+            Assert.assertEquals(statistics.get(0).permits(), 12);
+            Assert.assertEquals(statistics.get(1).name(), "127.0.0.1/auth");
+            Assert.assertEquals(statistics.get(1).permits(), 6);
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void testRetryAfterHoldsBackRequestsAlreadyWaiting() throws Exception {
+        AtomicBoolean limited = new AtomicBoolean();
+        AtomicLong rateLimitedAt = new AtomicLong();
+        List<Long> arrivals = new CopyOnWriteArrayList<>();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/", exchange -> {
+            long now = System.nanoTime();
+            if (limited.compareAndSet(false, true)) {
+                rateLimitedAt.set(now);
+                exchange.getResponseHeaders().add("Retry-After", "1");
+                exchange.sendResponseHeaders(429, -1);
+            } else {
+                arrivals.add(now);
+                exchange.sendResponseHeaders(200, 2);
+                exchange.getResponseBody().write("{}".getBytes());
+            }
+            exchange.close();
+        });
+        ExecutorService serverExecutor = Executors.newFixedThreadPool(4);
+        server.setExecutor(serverExecutor);
+        server.start();
+        RateLimitFilter filter = RateLimitFilter.fromProperties(Map.of("API_RATE_LIMIT.127.0.0.1", "10"));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (ApiClient client = new ApiClient("http://127.0.0.1:" + server.getAddress().getPort(), 4, 4, Duration.ofSeconds(30))) {
+            client.addFilter(filter);
+            // The first request is answered 429 while the other three sleep on slots 100 to 300 ms later
+            List<Callable<Integer>> callers = Collections.nCopies(4, () -> client.request("/booking").get().statusCode());
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> caller : executor.invokeAll(callers)) {
+                statuses.add(caller.get());
+            }
+
+            Assert.assertEquals(statuses.stream().filter(status -> status == 429).count(), 1);
+            Assert.assertEquals(arrivals.size(), 3);
+            for (long arrival : arrivals) {
+                long afterRateLimitMillis = TimeUnit.NANOSECONDS.toMillis(arrival - rateLimitedAt.get());
+                Assert.assertTrue(afterRateLimitMillis >= 950,
+                        "Request sent " + afterRateLimitMillis + " ms after the 429, inside its Retry-After");
+            }
+            Assert.assertEquals(client.getRateLimitStatistics().get(0).permits(), 4);
+        } finally {
+            executor.shutdownNow();
+            server.stop(0);
+            serverExecutor.shutdownNow();
+        }
+    }
+
+    private static Void acquire(RateLimiter limiter, int times) {
+        for (int i = 0; i < times; i++) {
+            limiter.acquire();
+        }
+        return null;
+    }
+}
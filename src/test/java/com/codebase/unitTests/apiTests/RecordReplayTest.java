@@ -0,0 +1,179 @@
+package com.codebase.unitTests.apiTests;
+
+import com.codebase.api.ApiClient;
+import com.codebase.api.RecordingFilter;
+import com.codebase.api.RecordingStore;
+import com.codebase.api.ReplayServer;
+import com.sun.net.httpserver.HttpServer;
+import io.restassured.response.Response;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+public class RecordReplayTest {
+
+    private static final String GZIP_BODY = "{\"compressed\":true}";
+    private static final String LARGE_BODY = "{\"notes\":\"" + "x".repeat(20_000) + "\"}";
+
+    private final AtomicInteger liveRequests = new AtomicInteger();
+    private HttpServer liveServer;
+    private Path recordingsDir;
+
+    @BeforeClass
+    public void recordLiveApi() throws Exception {
+        liveServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        liveServer.createContext("/booking", exchange -> {
+            liveRequests.incrementAndGet();
+            String path = exchange.getRequestURI().getPath();
+            byte[] body = (path.endsWith("/large") ? LARGE_BODY : "{\"path\":\"" + exchange.getRequestURI() + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("X-Booking-Source", "live");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        liveServer.createContext("/auth", exchange -> {
+            liveRequests.incrementAndGet();
+            String credentials = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            byte[] body = ("{\"token\":\"" + (credentials.contains("admin") ? "admin-token" : "guest-token") + "\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        liveServer.createContext("/gzip", exchange -> {
+            liveRequests.incrementAndGet();
+            // Like most live APIs, compress when the client accepts it, which rest-assured does by default
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+                gzip.write(GZIP_BODY.getBytes(StandardCharsets.UTF_8));
+            }
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+            exchange.sendResponseHeaders(200, compressed.size());
+            exchange.getResponseBody().write(compressed.toByteArray());
+            exchange.close();
+        });
+        liveServer.start();
+
+        recordingsDir = Files.createTempDirectory("api-recordings");
+        try (RecordingStore store = RecordingStore.open(recordingsDir);
+             ApiClient live = new ApiClient("http://127.0.0.1:" + liveServer.getAddress().getPort(), 4, 4, Duration.ofSeconds(30))) {
+            live.addFilter(new RecordingFilter(store));
+            live.request("/booking").get("/{id}", 1).asString();
+            live.request("/booking").queryParam("firstname", "Jim").get().asString();
+            live.request("/booking").get("/large").asString();
+            live.request("/auth").body("{\"username\":\"admin\"}").post().asString();
+            live.request("/auth").body("{\"username\":\"guest\"}").post().asString();
+            live.request("/gzip").get().asString();
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void cleanUp() throws IOException {
+        liveServer.stop(0);
+        try (Stream<Path> files = Files.walk(recordingsDir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+        }
+    }
+
+    @Test
+    public void testReplayServesRecordedResponsesWithoutTheLiveApi() {
+        int liveRequestsBefore = liveRequests.get();
+        try (RecordingStore store = RecordingStore.open(recordingsDir);
+             ReplayServer replay = ReplayServer.start(store, Duration.ZERO, Duration.ZERO);
+             ApiClient client = new ApiClient(replay.getBaseUrl(), 4, 4, Duration.ofSeconds(30))) {
+
+            Response booking = client.request("/booking").get("/{id}", 1);
+            Assert.assertEquals(booking.statusCode(), 200);
+            Assert.assertEquals(booking.jsonPath().getString("path"), "/booking/1");
+            Assert.assertEquals(booking.getHeader("X-Booking-Source"), "live");
+
+            Assert.assertEquals(client.request("/booking").queryParam("firstname", "Jim").get().jsonPath().getString("path"),
+                    "/booking?firstname=Jim");
+            Assert.assertEquals(client.request("/booking").get("/large").asString(), LARGE_BODY);
+            Assert.assertEquals(client.request("/auth").body("{\"username\":\"admin\"}").post().jsonPath().getString("token"), "admin-token");
+            Assert.assertEquals(client.request("/auth").body("{\"username\":\"guest\"}").post().jsonPath().getString("token"), "guest-token");
+
+            Assert.assertEquals(replay.getHitCount(), 5);
+        }
+        Assert.assertEquals(liveRequests.get(), liveRequestsBefore, "Replay must not reach the live API");
+    }
+
+    @Test
+    public void testGzipResponseReplaysAsPlainBody() {
+        try (RecordingStore store = RecordingStore.open(recordingsDir);
+             ReplayServer replay = ReplayServer.start(store, Duration.ZERO, Duration.ZERO);
+             ApiClient client = new ApiClient(replay.getBaseUrl(), 4, 4, Duration.ofSeconds(30))) {
+
+            Response response = client.request("/gzip").get();
+
+            Assert.assertEquals(response.statusCode(), 200);
+            Assert.assertNull(response.getHeader("Content-Encoding"));
+            Assert.assertTrue(response.jsonPath().getBoolean("compressed"));
+        }
+    }
+
+    @Test
+    public void testUnrecordedRequestIsAMiss() {
+        try (RecordingStore store = RecordingStore.open(recordingsDir);
+             ReplayServer replay = ReplayServer.start(store, Duration.ZERO, Duration.ZERO);
+             ApiClient client = new ApiClient(replay.getBaseUrl(), 4, 4, Duration.ofSeconds(30))) {
+
+            Response response = client.request("/booking").get("/{id}", 99);
+
+            Assert.assertEquals(response.statusCode(), 404);
+            Assert.assertEquals(response.getHeader(ReplayServer.REPLAY_MISS_HEADER), "true");
+            Assert.assertEquals(replay.getMissCount(), 1);
+        }
+    }
+
+    @Test
+    public void testInjectedLatencyDelaysResponses() {
+        try (RecordingStore store = RecordingStore.open(recordingsDir);
+             ReplayServer replay = ReplayServer.start(store, Duration.ofMillis(150), Duration.ZERO);
+             ApiClient client = new ApiClient(replay.getBaseUrl(), 4, 4, Duration.ofSeconds(30))) {
+
+            long start = System.nanoTime();
+            client.request("/booking").get("/{id}", 1).asString();
+
+            Assert.assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() >= 150);
+        }
+    }
+
+    @Test
+    public void testIndexIsRebuiltWhenMissing() throws IOException {
+        Path copy = Files.createTempDirectory("api-recordings-copy");
+        Files.copy(recordingsDir.resolve("recordings.dat"), copy.resolve("recordings.dat"));
+
+        try (RecordingStore store = RecordingStore.open(copy)) {
+            Assert.assertEquals(store.size(), 6);
+            Assert.assertTrue(store.contains(RecordingStore.key("GET", "/booking/1", null)));
+            Assert.assertEquals(new String(store.find(RecordingStore.key("GET", "/booking/large", null)).orElseThrow().body(),
+                    StandardCharsets.UTF_8), LARGE_BODY);
+        } finally {
+            try (Stream<Path> files = Files.walk(copy)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void testLargeBodiesAreStoredCompressed() throws IOException {
+        Assert.assertTrue(Files.size(recordingsDir.resolve("recordings.dat")) < LARGE_BODY.length());
+    }
+}
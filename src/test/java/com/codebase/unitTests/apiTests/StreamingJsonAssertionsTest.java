@@ -0,0 +1,93 @@
+package com.codebase.unitTests.apiTests;
+
+import com.codebase.api.StreamingJsonAssertions;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+
+public class StreamingJsonAssertionsTest {
+
+    private static final String BOOKINGS = """
+            {
+              "meta": {"status": "complete", "total": 3},
+              "bookings": [
+                {"id": 1, "firstname": "Jim", "totalprice": 111.0, "deposit": true, "notes": null},
+                {"id": 2, "firstname": "Sally", "totalprice": 250, "deposit": false, "tags": ["vip", "late"]},
+                {"id": 3, "firstname": "Eric", "totalprice": 75, "deposit": true}
+              ]
+            }
+            """;
+
+    @Test
+    public void testPassingExpectations() {
+        StreamingJsonAssertions.expect()
+                .equalTo("$.meta.status", "complete")
+                .equalTo("meta.total", 3)
+                .count("bookings[*]", 3)
+                .count("bookings[1].tags[*]", 2)
+                .equalTo("bookings[0].totalprice", 111)
+                .equalTo("bookings[0].notes", null)
+                .each("bookings[*].id", id -> Integer.parseInt(id) > 0, "a positive id")
+                .exists("bookings[2].firstname")
+                .verify(stream(BOOKINGS));
+    }
+
+    @Test
+    public void testAllFailuresAreReportedTogether() {
+        AssertionError error = Assert.expectThrows(AssertionError.class, () -> StreamingJsonAssertions.expect()
+                .equalTo("bookings[*].deposit", true)
+                .count("bookings[*]", 4)
+                .exists("bookings[0].checkin")
+                .verify(stream(BOOKINGS)));
+
+        String message = error.getMessage();
+        Assert.assertTrue(message.contains("'bookings[*].deposit' to equal true, but value #2 was false"), message);
+        Assert.assertTrue(message.contains("'bookings[*]' to match 4 values, but matched 3"), message);
+        Assert.assertTrue(message.contains("'bookings[0].checkin' to exist, but no value found"), message);
+    }
+
+    @Test
+    public void testLargeStreamedDocument() {
+        int rows = 200_000;
+        StreamingJsonAssertions.expect()
+                .count("rows[*]", rows)
+                .each("rows[*].value", value -> value.startsWith("row-"), "a row value")
+                .equalTo("rows[199999].id", 199_999)
+                .verify(generateRows(rows));
+    }
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Produces the document piece by piece, so the test itself never holds the whole payload.
+     */
+    private static InputStream generateRows(int rows) {
+        return new SequenceInputStream(new Enumeration<>() {
+            private int next = -1;
+
+            @Override
+            public boolean hasMoreElements() {
+                return next <= rows;
+            }
+
+            @Override
+            public InputStream nextElement() {
+                int row = next++;
+                if (row < 0) {
+                    return stream("{\"rows\":[");
+                }
+                if (row == rows) {
+                    return stream("]}");
+                }
+                return stream((row > 0 ? "," : "") + "{\"id\":" + row + ",\"value\":\"row-" + row + "\"}");
+            }
+        });
+    }
+}
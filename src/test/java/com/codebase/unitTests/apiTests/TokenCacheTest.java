@@ -0,0 +1,166 @@
+package com.codebase.unitTests.apiTests;
+
+import com.codebase.api.AuthToken;
+import com.codebase.api.TokenCache;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TokenCacheTest {
+
+    @Test
+    public void testConcurrentCallersShareOneFetch() throws Exception {
+        MutableClock clock = new MutableClock();
+        AtomicInteger fetches = new AtomicInteger();
+        TokenCache cache = new TokenCache(() -> {
+            Thread.sleep(200);
+            return new AuthToken("token-" + fetches.incrementAndGet(), clock.instant().plusSeconds(600));
+        }, Duration.ofSeconds(60), clock);
+
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<String>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.getToken();
+                }));
+            }
+            start.countDown();
+
+            Set<String> tokens = new HashSet<>();
+            for (Future<String> result : results) {
+                tokens.add(result.get());
+            }
+            Assert.assertEquals(tokens, Set.of("token-1"));
+            Assert.assertEquals(cache.getFetchCount(), 1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTokenIsRefreshedAheadOfExpiry() {
+        MutableClock clock = new MutableClock();
+        AtomicInteger fetches = new AtomicInteger();
+        TokenCache cache = new TokenCache(
+                () -> new AuthToken("token-" + fetches.incrementAndGet(), clock.instant().plusSeconds(600)),
+                Duration.ofSeconds(60), clock);
+
+        Assert.assertEquals(cache.getToken(), "token-1");
+        clock.advance(Duration.ofSeconds(500));
+        Assert.assertEquals(cache.getToken(), "token-1");
+
+        clock.advance(Duration.ofSeconds(50));
+        Assert.assertEquals(cache.getToken(), "token-2", "Token inside the refresh window should be renewed");
+        Assert.assertEquals(cache.getFetchCount(), 2);
+    }
+
+    @Test
+    public void testFailedEarlyRefreshKeepsValidToken() {
+        MutableClock clock = new MutableClock();
+        AtomicInteger fetches = new AtomicInteger();
+        TokenCache cache = new TokenCache(() -> {
+            if (fetches.incrementAndGet() > 1) {
+                throw new IllegalStateException("auth service down");
+            }
+            return new AuthToken("token-1", clock.instant().plusSeconds(600));
+        }, Duration.ofSeconds(60), clock);
+
+        cache.getToken();
+        clock.advance(Duration.ofSeconds(570));
+
+        Assert.assertEquals(cache.getToken(), "token-1");
+        clock.advance(Duration.ofSeconds(60));
+        Assert.assertThrows(IllegalStateException.class, cache::getToken);
+    }
+
+    @Test
+    public void testFetchErrorReleasesWaitingThreads() throws Exception {
+        MutableClock clock = new MutableClock();
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch releaseFetch = new CountDownLatch(1);
+        TokenCache cache = new TokenCache(() -> {
+            fetchStarted.countDown();
+            releaseFetch.await();
+            throw new AssertionError("Expected status code <200> but was <403>.");
+        }, Duration.ofSeconds(60), clock);
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> fetching = executor.submit(cache::getToken);
+            Assert.assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+            Future<String> waiting = executor.submit(cache::getToken);
+            // Give the second caller time to park on the in-flight refresh
+            Thread.sleep(200);
+            releaseFetch.countDown();
+
+            ExecutionException fetchError = Assert.expectThrows(ExecutionException.class,
+                    () -> fetching.get(5, TimeUnit.SECONDS));
+            ExecutionException waitError = Assert.expectThrows(ExecutionException.class,
+                    () -> waiting.get(5, TimeUnit.SECONDS));
+            Assert.assertTrue(fetchError.getCause() instanceof AssertionError, String.valueOf(fetchError.getCause()));
+            Assert.assertTrue(waitError.getCause() instanceof AssertionError, String.valueOf(waitError.getCause()));
+        } finally {
+            releaseFetch.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testInvalidateForcesNewFetch() {
+        MutableClock clock = new MutableClock();
+        AtomicInteger fetches = new AtomicInteger();
+        TokenCache cache = new TokenCache(
+                () -> new AuthToken("token-" + fetches.incrementAndGet(), clock.instant().plusSeconds(600)),
+                Duration.ofSeconds(60), clock);
+
+        String first = cache.getToken();
+        cache.invalidate("some-other-token");
+        Assert.assertEquals(cache.getToken(), first);
+
+        cache.invalidate(first);
+        Assert.assertEquals(cache.getToken(), "token-2");
+    }
+
+    private static final class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
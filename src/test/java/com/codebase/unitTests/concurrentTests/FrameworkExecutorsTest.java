@@ -0,0 +1,163 @@
+package com.codebase.unitTests.concurrentTests;
+
+import com.codebase.concurrent.ExecutorStats;
+import com.codebase.concurrent.FrameworkExecutors;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class FrameworkExecutorsTest {
+
+    @Test
+    public void testVirtualExecutorRunsTasksOnVirtualThreads() throws Exception {
+        Future<Boolean> virtual = FrameworkExecutors.virtual().submit(() -> Thread.currentThread().isVirtual());
+
+        Assert.assertTrue(virtual.get(5, TimeUnit.SECONDS));
+        Assert.assertSame(FrameworkExecutors.virtual(), FrameworkExecutors.virtual());
+        Assert.assertNotNull(FrameworkExecutors.getStats(FrameworkExecutors.VIRTUAL_EXECUTOR_NAME));
+    }
+
+    @Test
+    public void testBoundedPoolReportsActiveQueuedAndFailedTasks() throws Exception {
+        String name = "test-metrics";
+        ExecutorService pool = FrameworkExecutors.bounded(name, 1, 4);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch running = new CountDownLatch(1);
+        try {
+            Future<?> blocker = pool.submit(() -> {
+                running.countDown();
+                release.await();
+                return null;
+            });
+            Assert.assertTrue(running.await(5, TimeUnit.SECONDS));
+            Future<?> queued = pool.submit(() -> {
+            });
+            Future<?> failing = pool.submit(() -> {
+                throw new IllegalStateException("expected failure");
+            });
+
+            ExecutorStats busy = FrameworkExecutors.getStats(name);
+            Assert.assertEquals(busy.activeTasks(), 1);
+            Assert.assertEquals(busy.queuedTasks(), 2);
+            Assert.assertEquals(busy.threads(), 1);
+
+            release.countDown();
+            blocker.get(5, TimeUnit.SECONDS);
+            queued.get(5, TimeUnit.SECONDS);
+            Assert.expectThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+
+            // The counters are updated after the future completes
+            ExecutorStats done = FrameworkExecutors.getStats(name);
+            for (int i = 0; i < 100 && done.completedTasks() + done.failedTasks() < 3; i++) {
+                Thread.sleep(10);
+                done = FrameworkExecutors.getStats(name);
+            }
+            Assert.assertEquals(done.completedTasks(), 2);
+            Assert.assertEquals(done.failedTasks(), 1);
+            Assert.assertEquals(done.activeTasks(), 0);
+            Assert.assertEquals(done.queuedTasks(), 0);
+        } finally {
+            release.countDown();
+            FrameworkExecutors.shutdown(name, Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    public void testFailedCompletableFutureTaskIsCountedOnce() throws Exception {
+        String name = "test-async-metrics";
+        ExecutorService pool = FrameworkExecutors.bounded(name, 1, 4);
+        try {
+            CompletableFuture<String> succeeding = FrameworkExecutors.supplyAsync(() -> "done", pool);
+            CompletableFuture<String> failing = FrameworkExecutors.supplyAsync(() -> {
+                throw new IllegalStateException("expected failure");
+            }, pool);
+
+            Assert.assertEquals(succeeding.get(5, TimeUnit.SECONDS), "done");
+            Assert.expectThrows(Exception.class, () -> failing.get(5, TimeUnit.SECONDS));
+
+            ExecutorStats done = FrameworkExecutors.getStats(name);
+            for (int i = 0; i < 100 && done.completedTasks() + done.failedTasks() < 2; i++) {
+                Thread.sleep(10);
+                done = FrameworkExecutors.getStats(name);
+            }
+            Assert.assertEquals(done.completedTasks(), 1);
+            Assert.assertEquals(done.failedTasks(), 1);
+        } finally {
+            FrameworkExecutors.shutdown(name, Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    public void testFullQueueRunsTaskOnCallingThread() throws Exception {
+        String name = "test-backpressure";
+        ExecutorService pool = FrameworkExecutors.bounded(name, 1, 1);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            pool.execute(() -> awaitQuietly(release));
+            pool.execute(() -> awaitQuietly(release));
+            Thread caller = Thread.currentThread();
+
+            Future<Thread> overflow = pool.submit(Thread::currentThread);
+
+            Assert.assertSame(overflow.get(5, TimeUnit.SECONDS), caller);
+        } finally {
+            release.countDown();
+            FrameworkExecutors.shutdown(name, Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    public void testSharedExecutorsCannotBeShutDownByCallers() {
+        ExecutorService pool = FrameworkExecutors.bounded("test-shared", 1, 1);
+        try {
+            Assert.assertSame(FrameworkExecutors.bounded("test-shared", 8, 8), pool);
+            Assert.expectThrows(IllegalStateException.class, pool::shutdown);
+            Assert.expectThrows(IllegalStateException.class, pool::shutdownNow);
+            Assert.assertFalse(pool.isShutdown());
+        } finally {
+            FrameworkExecutors.shutdown("test-shared", Duration.ofSeconds(5));
+        }
+    }
+
+    @Test
+    public void testShutdownDrainsPoolAndRejectsLaterTasks() throws Exception {
+        String name = "test-shutdown";
+        ExecutorService pool = FrameworkExecutors.bounded(name, 2, 8);
+        CompletableFuture<String> pending = CompletableFuture.supplyAsync(() -> {
+            sleepQuietly(100);
+            return "done";
+        }, pool);
+
+        Assert.assertTrue(FrameworkExecutors.shutdown(name, Duration.ofSeconds(5)));
+
+        Assert.assertEquals(pending.getNow(null), "done");
+        Assert.assertTrue(pool.isShutdown());
+        Assert.assertNull(FrameworkExecutors.getStats(name));
+        Assert.expectThrows(RejectedExecutionException.class, () -> pool.execute(() -> {
+        }));
+        Assert.assertThrows(IllegalArgumentException.class, () -> FrameworkExecutors.bounded(name, 0, 1));
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,8 +6,11 @@ import com.codebase.parameters.ConfigFileAliases;
 import com.codebase.tests.TestBase;
 import com.codebase.utils.LoggerUtil;
 import org.apache.logging.log4j.Logger;
+import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.util.Map;
+
 
 public class LoadConfigPropertiesTest extends TestBase {
 
@@ -36,4 +39,14 @@ public class LoadConfigPropertiesTest extends TestBase {
             throw new RuntimeException(error);
         }
     }
+
+    @Test
+    public void testPropertiesWithPrefixComeFromLoadedFile() {
+        Map<String, String> apiProperties = ConfigPropertiesLoader.getPropertiesWithPrefix(
+                ConfigFileAliases.UAT_FILE.getAliasName(), "API_");
+
+        Assert.assertTrue(apiProperties.containsKey("API_BASE_URL"), apiProperties.toString());
+        Assert.assertThrows(IllegalStateException.class,
+                () -> ConfigPropertiesLoader.getPropertiesWithPrefix("NotLoadedConfig", "API_"));
+    }
 }
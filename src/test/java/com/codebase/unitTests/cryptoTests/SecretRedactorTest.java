@@ -0,0 +1,132 @@
+package com.codebase.unitTests.cryptoTests;
+
+import com.codebase.crypto.CryptoService;
+import com.codebase.crypto.CryptoUtil;
+import com.codebase.crypto.SecretRedactor;
+import com.codebase.utils.RedactingMessagePatternConverter;
+import com.codebase.utils.RedactingThrowablePatternConverter;
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.impl.Log4jLogEvent;
+import org.apache.logging.log4j.message.ParameterizedMessage;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.crypto.SecretKey;
+
+public class SecretRedactorTest {
+
+    // Secrets are registered globally for the JVM, so every test uses values no other test logs
+
+    @Test
+    public void testRedactsEverySecretInOnePass() {
+        SecretRedactor.register("redact-alpha-7781");
+        SecretRedactor.register("redact-beta-7781");
+
+        String redacted = SecretRedactor.redact("user=redact-alpha-7781 token=redact-beta-7781 end");
+
+        Assert.assertEquals(redacted, "user=" + SecretRedactor.MASK + " token=" + SecretRedactor.MASK + " end");
+    }
+
+    @Test
+    public void testOverlappingAndNestedSecretsAreMaskedAsOneRange() {
+        SecretRedactor.register("ovl-abcdef");
+        SecretRedactor.register("defghi-ovl");
+        SecretRedactor.register("nest-outer-inner-x");
+        SecretRedactor.register("outer-inner");
+
+        Assert.assertEquals(SecretRedactor.redact("[ovl-abcdefghi-ovl]"), "[" + SecretRedactor.MASK + "]");
+        Assert.assertEquals(SecretRedactor.redact("<nest-outer-inner-x>"), "<" + SecretRedactor.MASK + ">");
+        Assert.assertEquals(SecretRedactor.redact("<nest-outer-inner-y>"), "<nest-" + SecretRedactor.MASK + "-y>");
+    }
+
+    @Test
+    public void testTextWithoutSecretsIsReturnedUnchanged() {
+        SecretRedactor.register("unchanged-secret-2290");
+        String text = "nothing to hide here";
+
+        Assert.assertSame(SecretRedactor.redact(text), text);
+        Assert.assertNull(SecretRedactor.redact((String) null));
+    }
+
+    @Test
+    public void testShortValuesAreNotRegistered() {
+        int before = SecretRedactor.getSecretCount();
+        SecretRedactor.register("abc");
+        SecretRedactor.register("");
+        SecretRedactor.register(null);
+
+        Assert.assertEquals(SecretRedactor.getSecretCount(), before);
+        Assert.assertEquals(SecretRedactor.redact("abc"), "abc");
+    }
+
+    @Test
+    public void testManySecretsAreMatched() {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            SecretRedactor.register("bulk-secret-" + i + "-q");
+        }
+        for (int i = 0; i < 1000; i += 97) {
+            text.append("bulk-secret-").append(i).append("-q ");
+        }
+
+        String redacted = SecretRedactor.redact(text.toString());
+
+        Assert.assertFalse(redacted.contains("bulk-secret-"), redacted);
+    }
+
+    @Test
+    public void testRedactsBuilderFromOffsetOnly() {
+        SecretRedactor.register("offset-secret-4410");
+        StringBuilder builder = new StringBuilder("offset-secret-4410 | offset-secret-4410");
+
+        SecretRedactor.redact(builder, 10);
+
+        Assert.assertEquals(builder.toString(), "offset-secret-4410 | " + SecretRedactor.MASK);
+    }
+
+    @Test
+    public void testDecryptedValuesAreRegistered() throws Exception {
+        SecretKey secretKey = CryptoUtil.generateSecretKey();
+        String encrypted = CryptoService.encrypt(secretKey, "decrypted-secret-5531");
+
+        CryptoService.decrypt(secretKey, encrypted);
+
+        Assert.assertEquals(SecretRedactor.redact("pw=decrypted-secret-5531"), "pw=" + SecretRedactor.MASK);
+    }
+
+    @Test
+    public void testPatternConverterMasksFormattedMessage() {
+        SecretRedactor.register("converter-secret-8812");
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setLevel(Level.INFO)
+                .setMessage(new ParameterizedMessage("login with {}", "converter-secret-8812"))
+                .build();
+        StringBuilder output = new StringBuilder("prefix converter-secret-8812 ");
+
+        RedactingMessagePatternConverter.newInstance(new String[0]).format(event, output);
+
+        Assert.assertEquals(output.toString(),
+                "prefix converter-secret-8812 login with " + SecretRedactor.MASK);
+    }
+
+    @Test
+    public void testThrowableConverterMasksStackTrace() {
+        SecretRedactor.register("throwable-secret-4471");
+        LogEvent event = Log4jLogEvent.newBuilder()
+                .setLevel(Level.ERROR)
+                .setMessage(new ParameterizedMessage("login failed"))
+                .setThrown(new IllegalStateException("rejected token throwable-secret-4471",
+                        new IllegalArgumentException("cause throwable-secret-4471")))
+                .build();
+        StringBuilder output = new StringBuilder("prefix throwable-secret-4471 ");
+
+        RedactingThrowablePatternConverter.newInstance(null, new String[0]).format(event, output);
+
+        String text = output.toString();
+        Assert.assertTrue(text.startsWith("prefix throwable-secret-4471 "), text);
+        Assert.assertTrue(text.contains("IllegalStateException: rejected token " + SecretRedactor.MASK), text);
+        Assert.assertTrue(text.contains("IllegalArgumentException: cause " + SecretRedactor.MASK), text);
+        Assert.assertEquals(text.indexOf("throwable-secret-4471", 1), "prefix ".length(), text);
+    }
+}
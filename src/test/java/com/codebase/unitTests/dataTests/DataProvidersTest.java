@@ -0,0 +1,174 @@
+package com.codebase.unitTests.dataTests;
+
+import com.codebase.data.DataProviders;
+import com.codebase.data.RowFilter;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+public class DataProvidersTest {
+
+    private static final int STREAMED_ROWS = 50;
+
+    private final Set<String> executedRows = ConcurrentHashMap.newKeySet();
+
+    public record User(String name, String country, int age) {
+    }
+
+    @Test
+    public void testCsvQuotingAndFilter() throws IOException {
+        Path file = write("users.csv", """
+                name,country,notes
+                "Smith, Jim",ZA,"said ""hi""
+                on two lines"
+                Sally,UK,
+                Eric,ZA,plain
+                """);
+
+        List<Object[]> all = drain(DataProviders.csv(file, RowFilter.all()));
+        Assert.assertEquals(all.size(), 3);
+        Assert.assertEquals(all.get(0), new Object[]{"Smith, Jim", "ZA", "said \"hi\"\non two lines"});
+        Assert.assertEquals(all.get(1), new Object[]{"Sally", "UK", ""});
+
+        List<Object[]> southAfrican = drain(DataProviders.csv(file, RowFilter.all().where("country", "ZA")));
+        Assert.assertEquals(southAfrican.size(), 2);
+        Assert.assertEquals(southAfrican.get(1)[0], "Eric");
+    }
+
+    @Test
+    public void testSamplingIsRepeatableAndLimitStopsEarly() throws IOException {
+        StringBuilder csv = new StringBuilder("id\n");
+        for (int i = 0; i < 10_000; i++) {
+            csv.append(i).append('\n');
+        }
+        Path file = write("ids.csv", csv.toString());
+
+        List<Object[]> first = drain(DataProviders.csv(file, RowFilter.all().sample(0.1, 7)));
+        List<Object[]> second = drain(DataProviders.csv(file, RowFilter.all().sample(0.1, 7)));
+        Assert.assertEquals(first.size(), second.size());
+        Assert.assertTrue(first.size() > 800 && first.size() < 1200, "Sample size was " + first.size());
+        Assert.assertEquals(first.get(0)[0], second.get(0)[0]);
+
+        Assert.assertEquals(drain(DataProviders.csv(file, RowFilter.all().limit(25))).size(), 25);
+    }
+
+    @Test
+    public void testJsonRowsAreBoundToType() throws IOException {
+        Path file = write("users.json", """
+                [
+                  {"name": "Jim", "country": "ZA", "age": 41, "extra": {"ignored": true}},
+                  {"name": "Sally", "country": "UK", "age": 35},
+                  {"name": "Eric", "country": "ZA", "age": 29}
+                ]
+                """);
+
+        List<Object[]> users = drain(DataProviders.json(file, User.class, RowFilter.all().where("country", "ZA")));
+        Assert.assertEquals(users.size(), 2);
+        Assert.assertEquals(users.get(1)[0], new User("Eric", "ZA", 29));
+
+        List<Object[]> maps = drain(DataProviders.json(file, Map.class, RowFilter.all().limit(1)));
+        Assert.assertEquals(((Map<?, ?>) maps.get(0)[0]).get("age"), 41);
+    }
+
+    @Test
+    public void testMissingFilterColumnIsRejected() throws IOException {
+        Path file = write("users.csv", "name,country\nJim,ZA\n");
+
+        Assert.assertThrows(IllegalArgumentException.class,
+                () -> DataProviders.csv(file, RowFilter.all().where("city", "Durban")));
+    }
+
+    @DataProvider(name = "streamedRows", parallel = true)
+    public Iterator<Object[]> streamedRows() throws IOException {
+        StringBuilder csv = new StringBuilder("id,value\n");
+        for (int i = 0; i < STREAMED_ROWS; i++) {
+            csv.append(i).append(",value-").append(i).append('\n');
+        }
+        return DataProviders.csv(write("streamed.csv", csv.toString()), RowFilter.all());
+    }
+
+    @Test
+    public void testClosingIteratorStopsReader() throws Exception {
+        Path file = write("closed.csv", idsCsv(10_000));
+        Iterator<Object[]> rows = DataProviders.csv(file, RowFilter.all());
+        Assert.assertEquals(rows.next(), new Object[]{"0"});
+
+        ((AutoCloseable) rows).close();
+
+        Assert.assertFalse(rows.hasNext());
+        Assert.assertTrue(awaitReaderExit("closed.csv", () -> { }), "Reader should stop once the iterator is closed");
+    }
+
+    @Test
+    public void testAbandonedIteratorStopsReader() throws Exception {
+        Path file = write("abandoned.csv", idsCsv(10_000));
+        readFirstRow(file);
+
+        // The iterator is unreachable now; the reader stops once it has been collected
+        Assert.assertTrue(awaitReaderExit("abandoned.csv", System::gc), "Reader of an abandoned iterator should stop");
+    }
+
+    @Test(dataProvider = "streamedRows")
+    public void testParallelDataProvider(String id, String value) {
+        Assert.assertEquals(value, "value-" + id);
+        executedRows.add(id);
+    }
+
+    @AfterClass
+    public void verifyEveryRowExecuted() {
+        Assert.assertEquals(executedRows.size(), STREAMED_ROWS);
+    }
+
+    private static Path write(String name, String content) {
+        try {
+            return Files.writeString(Files.createTempDirectory("data").resolve(name), content);
+        } catch (IOException error) {
+            throw new UncheckedIOException(error);
+        }
+    }
+
+    private static void readFirstRow(Path file) {
+        Assert.assertEquals(DataProviders.csv(file, RowFilter.all()).next(), new Object[]{"0"});
+    }
+
+    private static String idsCsv(int count) {
+        StringBuilder csv = new StringBuilder("id\n");
+        for (int i = 0; i < count; i++) {
+            csv.append(i).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static boolean awaitReaderExit(String fileName, Runnable eachPoll) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            eachPoll.run();
+            boolean running = Thread.getAllStackTraces().keySet().stream()
+                    .anyMatch(thread -> thread.getName().equals("data-prefetch-" + fileName));
+            if (!running) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+
+    private static List<Object[]> drain(Iterator<Object[]> rows) {
+        List<Object[]> result = new ArrayList<>();
+        rows.forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,66 @@
+package com.codebase.unitTests.domTests;
+
+import com.codebase.dom.DomBatchReader;
+import com.codebase.dom.DomBatchResult;
+import com.codebase.dom.DomProperty;
+import com.codebase.dom.DomQuery;
+import com.codebase.dom.ElementState;
+import com.codebase.tests.StubWebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+public class DomBatchReaderTest {
+
+    @Test
+    public void testAllQueriesAreReadInOneRoundTrip() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.setScriptHandler(args -> {
+            List<?> queries = (List<?>) args[1];
+            Assert.assertEquals(queries.size(), 2);
+            Assert.assertEquals(((Map<?, ?>) queries.get(1)).get("strategy"), "xpath");
+            return """
+                    {"names":[{"text":"Alice","visible":true},{"text":"Bob \\"B\\"","visible":false}],
+                     "rows":[{"tag":"tr","enabled":true,"attributes":{"data-id":"7","title":null}}]}
+                    """;
+        });
+
+        DomBatchResult result = DomBatchReader.read(driver,
+                DomQuery.css("names", "#grid td.name").properties(DomProperty.TEXT, DomProperty.VISIBLE),
+                DomQuery.xpath("rows", "//tr").properties(DomProperty.TAG_NAME, DomProperty.ENABLED)
+                        .attributes("data-id", "title"));
+
+        Assert.assertEquals(driver.executeScriptCalls.get(), 1);
+        Assert.assertEquals(result.getTexts("names"), List.of("Alice", "Bob \"B\""));
+        Assert.assertFalse(result.get("names").get(1).isVisible());
+
+        ElementState row = result.get("rows").get(0);
+        Assert.assertEquals(row.getTagName(), "tr");
+        Assert.assertTrue(row.isEnabled());
+        Assert.assertEquals(row.getAttribute("data-id"), "7");
+        Assert.assertNull(row.getAttribute("title"));
+        Assert.assertNull(row.getText(), "Unrequested properties should stay null");
+    }
+
+    @Test
+    public void testUnmatchedQueryReturnsEmptyList() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.setScriptHandler(args -> "{\"missing\":[]}");
+
+        DomBatchResult result = DomBatchReader.read(driver, DomQuery.css("missing", ".none").properties(DomProperty.TEXT));
+
+        Assert.assertEquals(result.count("missing"), 0);
+        Assert.assertTrue(result.get("unknown").isEmpty());
+    }
+
+    @Test
+    public void testMalformedResultIsRejected() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.setScriptHandler(args -> "[1,2]");
+
+        Assert.assertThrows(IllegalStateException.class,
+                () -> DomBatchReader.read(driver, DomQuery.css("cells", "td").properties(DomProperty.TEXT)));
+    }
+}
@@ -0,0 +1,129 @@
+package com.codebase.unitTests.driverTests;
+
+import com.codebase.drivers.DriverFactory;
+import com.codebase.listeners.DurationSchedulingListener;
+import com.codebase.listeners.ExtentReportListener;
+import com.codebase.listeners.TestLogListener;
+import com.codebase.tests.StubWebDriver;
+import com.codebase.tests.TimedDriverMethods;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.TestNG;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class DriverFactoryTest {
+
+    @BeforeClass
+    public void useStubDriver() {
+        DriverFactory.setDriverSupplier(StubWebDriver::new);
+    }
+
+    @Test
+    public void testDriverIsCreatedLazilyAndBoundPerThread() throws Exception {
+        Assert.assertFalse(DriverFactory.hasDriver());
+        WebDriver driver = DriverFactory.getDriver();
+        Assert.assertSame(DriverFactory.getDriver(), driver, "Same thread should reuse its driver");
+        DriverFactory.quitDriver();
+
+        // Session slots are sized from the cores, so workers release their driver before finishing
+        Set<WebDriver> otherThreadDrivers = ConcurrentHashMap.newKeySet();
+        Runnable worker = () -> {
+            DriverFactory.openScope();
+            otherThreadDrivers.add(DriverFactory.getDriver());
+            DriverFactory.quitDriver();
+        };
+        Thread first = new Thread(worker);
+        Thread second = new Thread(worker);
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+
+        Assert.assertEquals(otherThreadDrivers.size(), 2, "Each thread should get its own driver");
+        Assert.assertFalse(otherThreadDrivers.contains(driver));
+    }
+
+    @Test
+    public void testScopedTaskUsesCallerDriverOnAnotherThread() throws Exception {
+        AtomicReference<WebDriver> workerDriver = new AtomicReference<>();
+
+        Thread worker = new Thread(DriverFactory.inCurrentScope(() -> workerDriver.set(DriverFactory.getDriver())));
+        worker.start();
+        worker.join();
+
+        Assert.assertTrue(DriverFactory.hasDriver(), "Scoped task should bind into the caller's scope");
+        Assert.assertSame(DriverFactory.getDriver(), workerDriver.get());
+        DriverFactory.quitDriver();
+
+        StubWebDriver stub = (StubWebDriver) workerDriver.get();
+        Assert.assertEquals(stub.quitCalls.get(), 1);
+        Assert.assertFalse(DriverFactory.hasDriver());
+    }
+
+    @Test
+    public void testThreadsStartedDuringTestDoNotInheritItsDriver() throws Exception {
+        WebDriver driver = DriverFactory.getDriver();
+        AtomicReference<Boolean> workerHasDriver = new AtomicReference<>();
+        try {
+            Thread worker = new Thread(() -> workerHasDriver.set(DriverFactory.hasDriver()));
+            worker.start();
+            worker.join();
+
+            Assert.assertFalse(workerHasDriver.get(), "A plain thread must not see the test's driver");
+            Assert.assertSame(DriverFactory.getDriver(), driver);
+        } finally {
+            DriverFactory.quitDriver();
+        }
+    }
+
+    @Test
+    public void testOpenScopeKeepsClassScopeDriver() {
+        // Simulates a @BeforeClass that opened a driver before the listener's openScope
+        StubWebDriver classDriver = (StubWebDriver) DriverFactory.getDriver();
+        try {
+            Assert.assertFalse(DriverFactory.openScope(), "An open scope must not be replaced");
+            Assert.assertSame(DriverFactory.getDriver(), classDriver);
+            Assert.assertEquals(classDriver.quitCalls.get(), 0);
+        } finally {
+            DriverFactory.quitDriver();
+        }
+        Assert.assertEquals(classDriver.quitCalls.get(), 1);
+        Assert.assertTrue(DriverFactory.openScope());
+        DriverFactory.quitDriver();
+    }
+
+    @Test
+    public void testTimedMethodsOnPlainThreadQuitTheirDrivers() throws Exception {
+        TimedDriverMethods.drivers.clear();
+        TimedDriverMethods.driverThreads.clear();
+        // TestNG runs timed methods on a thread of its own when the invoking thread is not a TestNG thread
+        Thread runner = new Thread(() -> {
+            TestNG testng = new TestNG(false);
+            testng.setVerbose(0);
+            testng.setTestClasses(new Class<?>[]{TimedDriverMethods.class});
+            testng.setListenersToSkipFromBeingWiredInViaServiceLoaders(DurationSchedulingListener.class.getName(),
+                    ExtentReportListener.class.getName(), TestLogListener.class.getName());
+            testng.run();
+        }, "plain-runner");
+        runner.start();
+        runner.join(60_000);
+        Assert.assertFalse(runner.isAlive(), "Nested TestNG run did not finish");
+
+        Assert.assertEquals(TimedDriverMethods.drivers.size(), 2);
+        Assert.assertFalse(TimedDriverMethods.driverThreads.contains(runner),
+                "Timed methods should have run on TestNG's own threads");
+        for (StubWebDriver driver : TimedDriverMethods.drivers) {
+            Assert.assertEquals(driver.quitCalls.get(), 1, "Each invocation's driver should be quit once");
+        }
+    }
+
+    @Test
+    public void testMaxConcurrencyDefaultsToAvailableCores() {
+        Assert.assertEquals(DriverFactory.getMaxConcurrency(), Runtime.getRuntime().availableProcessors());
+    }
+}
@@ -0,0 +1,210 @@
+package com.codebase.unitTests.driverTests;
+
+import com.codebase.drivers.DriverResolutionCache;
+import com.codebase.drivers.DriverResolutionCache.ResolvedDriver;
+import com.codebase.parameters.BrowserTypes;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+public class DriverResolutionCacheTest {
+
+    // resolve() sets the global driver system properties; put them back for the rest of the suite
+    private final Map<String, String> savedDriverProperties = new HashMap<>();
+
+    @BeforeClass
+    public void saveDriverProperties() {
+        for (BrowserTypes browserType : BrowserTypes.values()) {
+            savedDriverProperties.put(browserType.getDriverSystemProperty(),
+                    System.getProperty(browserType.getDriverSystemProperty()));
+        }
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void restoreDriverProperties() {
+        savedDriverProperties.forEach((property, value) -> {
+            if (value == null) {
+                System.clearProperty(property);
+            } else {
+                System.setProperty(property, value);
+            }
+        });
+    }
+
+    @Test
+    public void testResolvedDriverIsReusedByLaterRuns() throws Exception {
+        Path cacheDir = Files.createTempDirectory("driver-cache");
+        Path driverBinary = createFakeDriver(cacheDir);
+        AtomicInteger lookups = new AtomicInteger();
+        Function<BrowserTypes, ResolvedDriver> resolver = browser -> {
+            lookups.incrementAndGet();
+            return new ResolvedDriver(driverBinary.toString(), "131.0.6778.85");
+        };
+
+        Path cacheFile = cacheDir.resolve("driver-resolution.properties");
+        ResolvedDriver first = new DriverResolutionCache(cacheFile, resolver).resolve(BrowserTypes.CHROME);
+
+        // A new instance on the same file behaves like a later JVM fork
+        ResolvedDriver second = new DriverResolutionCache(cacheFile, resolver).resolve(BrowserTypes.CHROME);
+
+        Assert.assertEquals(lookups.get(), 1, "Later runs should not look the driver up again");
+        Assert.assertEquals(second, first);
+        Assert.assertEquals(System.getProperty(BrowserTypes.CHROME.getDriverSystemProperty()), driverBinary.toString());
+    }
+
+    @Test
+    public void testConcurrentResolutionLooksUpOnce() throws Exception {
+        Path cacheDir = Files.createTempDirectory("driver-cache");
+        Path driverBinary = createFakeDriver(cacheDir);
+        AtomicInteger lookups = new AtomicInteger();
+        Path cacheFile = cacheDir.resolve("driver-resolution.properties");
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<ResolvedDriver>> results = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                results.add(executor.submit(() -> new DriverResolutionCache(cacheFile, browser -> {
+                    lookups.incrementAndGet();
+                    return new ResolvedDriver(driverBinary.toString(), "131.0");
+                }).resolve(BrowserTypes.FIREFOX)));
+            }
+            for (Future<ResolvedDriver> result : results) {
+                Assert.assertEquals(result.get().driverPath(), driverBinary.toString());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Assert.assertEquals(lookups.get(), 1);
+    }
+
+    @Test
+    public void testMissingBinaryIsResolvedAgain() throws Exception {
+        Path cacheDir = Files.createTempDirectory("driver-cache");
+        Path driverBinary = createFakeDriver(cacheDir);
+        AtomicInteger lookups = new AtomicInteger();
+        DriverResolutionCache cache = new DriverResolutionCache(cacheDir.resolve("cache.properties"), browser -> {
+            lookups.incrementAndGet();
+            return new ResolvedDriver(driverBinary.toString(), "1.0");
+        });
+
+        cache.resolve(BrowserTypes.EDGE);
+        Files.delete(driverBinary);
+        cache.resolve(BrowserTypes.EDGE);
+
+        Assert.assertEquals(lookups.get(), 2);
+    }
+
+    @Test
+    public void testRejectedCachedDriverIsResolvedAgainOnce() throws Exception {
+        Path cacheDir = Files.createTempDirectory("driver-cache");
+        Path driverBinary = createFakeDriver(cacheDir);
+        AtomicInteger lookups = new AtomicInteger();
+        DriverResolutionCache cache = new DriverResolutionCache(cacheDir.resolve("cache.properties"), browser ->
+                new ResolvedDriver(driverBinary.toString(), "13" + lookups.incrementAndGet() + ".0"));
+        cache.resolve(BrowserTypes.EDGE);
+
+        // The browser updated and only accepts the newly resolved driver
+        String session = cache.launch(BrowserTypes.EDGE, driver -> {
+            if (driver.driverVersion().equals("131.0")) {
+                throw new SessionNotCreatedException("This version of Microsoft Edge WebDriver only supports Microsoft Edge version 131");
+            }
+            return "session with " + driver.driverVersion();
+        });
+        Assert.assertEquals(session, "session with 132.0");
+        Assert.assertEquals(lookups.get(), 2);
+
+        Assert.assertThrows(SessionNotCreatedException.class, () -> cache.launch(BrowserTypes.EDGE, driver -> {
+            throw new SessionNotCreatedException("Browser not installed");
+        }));
+        Assert.assertEquals(lookups.get(), 3, "A failing launch should be retried only once");
+    }
+
+    @Test
+    public void testFailedResolutionKeepsCachedEntry() throws Exception {
+        Path cacheDir = Files.createTempDirectory("driver-cache");
+        Path driverBinary = createFakeDriver(cacheDir);
+        Path cacheFile = cacheDir.resolve("cache.properties");
+        new DriverResolutionCache(cacheFile, browser -> new ResolvedDriver(driverBinary.toString(), "131.0"))
+                .resolve(BrowserTypes.EDGE);
+        String prePopulated = Files.readString(cacheFile);
+
+        // An air-gapped runner cannot look the driver up, and the browser failed to start once
+        DriverResolutionCache offline = new DriverResolutionCache(cacheFile, browser -> {
+            throw new IllegalStateException("No network access");
+        });
+        SessionNotCreatedException error = Assert.expectThrows(SessionNotCreatedException.class,
+                () -> offline.launch(BrowserTypes.EDGE, driver -> {
+                    throw new SessionNotCreatedException("Chrome failed to start: crashed");
+                }));
+
+        Assert.assertEquals(error.getSuppressed().length, 1, "The resolution failure should be attached");
+        Assert.assertEquals(Files.readString(cacheFile), prePopulated, "The cached entry should be kept");
+        Assert.assertEquals(offline.launch(BrowserTypes.EDGE, ResolvedDriver::driverVersion), "131.0");
+    }
+
+    @Test
+    public void testConcurrentRejectionsShareOneResolution() throws Exception {
+        Path cacheDir = Files.createTempDirectory("driver-cache");
+        Path driverBinary = createFakeDriver(cacheDir);
+        AtomicInteger lookups = new AtomicInteger();
+        DriverResolutionCache cache = new DriverResolutionCache(cacheDir.resolve("cache.properties"), browser ->
+                new ResolvedDriver(driverBinary.toString(), "13" + lookups.incrementAndGet() + ".0"));
+        cache.resolve(BrowserTypes.EDGE);
+
+        int threads = 4;
+        CountDownLatch allRejected = new CountDownLatch(threads);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<String>> sessions = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                sessions.add(executor.submit(() -> cache.launch(BrowserTypes.EDGE, driver -> {
+                    if (driver.driverVersion().equals("131.0")) {
+                        // Every thread fails with the old driver before any of them resolves again
+                        allRejected.countDown();
+                        awaitQuietly(allRejected);
+                        throw new SessionNotCreatedException("Browser was updated");
+                    }
+                    return driver.driverVersion();
+                })));
+            }
+            for (Future<String> session : sessions) {
+                Assert.assertEquals(session.get(), "132.0");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Assert.assertEquals(lookups.get(), 2, "Concurrent failures should share one resolution");
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path createFakeDriver(Path directory) throws Exception {
+        Path driver = directory.resolve("fakedriver");
+        Files.writeString(driver, "#!/bin/sh\n");
+        driver.toFile().setExecutable(true);
+        return driver;
+    }
+}
@@ -0,0 +1,117 @@
+package com.codebase.unitTests.driverTests;
+
+import com.codebase.drivers.WebDriverSessionPool;
+import com.codebase.tests.StubWebDriver;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class WebDriverSessionPoolTest {
+
+    private static final Duration LEASE_TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    public void testLeasedSessionIsResetOnRelease() throws Exception {
+        List<StubWebDriver> launched = new CopyOnWriteArrayList<>();
+
+        try (WebDriverSessionPool pool = new WebDriverSessionPool(1, () -> launch(launched))) {
+            StubWebDriver driver = (StubWebDriver) pool.lease(LEASE_TIMEOUT);
+            driver.openWindow("window-2");
+            driver.get("https://example.com");
+
+            pool.release(driver);
+
+            Assert.assertEquals(driver.getWindowHandles().size(), 1, "Extra windows should be closed");
+            Assert.assertEquals(driver.getCurrentUrl(), "about:blank");
+            Assert.assertEquals(driver.deleteAllCookiesCalls.get(), 1);
+            Assert.assertEquals(driver.executeScriptCalls.get(), 1, "Storage should be cleared via script");
+            Assert.assertSame(pool.lease(LEASE_TIMEOUT), driver, "Released session should be reused");
+            Assert.assertEquals(launched.size(), 1);
+        }
+    }
+
+    @Test
+    public void testDeadSessionIsReplacedWhenLeased() throws Exception {
+        List<StubWebDriver> launched = new CopyOnWriteArrayList<>();
+
+        try (WebDriverSessionPool pool = new WebDriverSessionPool(1, () -> launch(launched))) {
+            StubWebDriver first = (StubWebDriver) pool.lease(LEASE_TIMEOUT);
+            pool.release(first);
+            first.kill();
+
+            WebDriver replacement = pool.lease(LEASE_TIMEOUT);
+
+            Assert.assertNotSame(replacement, first);
+            Assert.assertEquals(pool.getReplacedCount(), 1);
+            Assert.assertEquals(launched.size(), 2);
+        }
+    }
+
+    @Test
+    public void testCloseQuitsIdleAndLeasedSessions() throws Exception {
+        List<StubWebDriver> launched = new CopyOnWriteArrayList<>();
+        WebDriverSessionPool pool = new WebDriverSessionPool(2, () -> launch(launched));
+
+        pool.lease(LEASE_TIMEOUT);
+        pool.lease(LEASE_TIMEOUT);
+        pool.close();
+
+        Assert.assertEquals(launched.size(), 2);
+        launched.forEach(driver -> Assert.assertEquals(driver.quitCalls.get(), 1));
+        Assert.assertThrows(IllegalStateException.class, () -> pool.lease(LEASE_TIMEOUT));
+    }
+
+    @Test
+    public void testLeaseTimesOutWhenPoolIsExhausted() throws Exception {
+        try (WebDriverSessionPool pool = new WebDriverSessionPool(1, StubWebDriver::new)) {
+            pool.lease(LEASE_TIMEOUT);
+            Assert.assertThrows(IllegalStateException.class, () -> pool.lease(Duration.ofMillis(50)));
+        }
+    }
+
+    @Test
+    public void testFailedLaunchIsRetriedOnLease() throws Exception {
+        List<StubWebDriver> launched = new CopyOnWriteArrayList<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        try (WebDriverSessionPool pool = new WebDriverSessionPool(1, () -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new SessionNotCreatedException("browser failed to start");
+            }
+            return launch(launched);
+        })) {
+            WebDriver driver = pool.lease(LEASE_TIMEOUT);
+
+            Assert.assertSame(driver, launched.get(0));
+            Assert.assertEquals(attempts.get(), 2);
+            Assert.assertEquals(pool.getMissingCount(), 0);
+        }
+    }
+
+    @Test
+    public void testLeaseFailsFastWhenLaunchesFail() {
+        try (WebDriverSessionPool pool = new WebDriverSessionPool(1, () -> {
+            throw new SessionNotCreatedException("browser not installed");
+        })) {
+            long start = System.nanoTime();
+            IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+                    () -> pool.lease(Duration.ofSeconds(60)));
+
+            Assert.assertTrue(error.getCause() instanceof SessionNotCreatedException, String.valueOf(error.getCause()));
+            Assert.assertTrue(System.nanoTime() - start < Duration.ofSeconds(30).toNanos(),
+                    "Lease should not wait out its timeout when no session can be launched");
+        }
+    }
+
+    private static StubWebDriver launch(List<StubWebDriver> launched) {
+        StubWebDriver driver = new StubWebDriver();
+        launched.add(driver);
+        return driver;
+    }
+}
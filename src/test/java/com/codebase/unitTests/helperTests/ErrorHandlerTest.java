@@ -0,0 +1,112 @@
+package com.codebase.unitTests.helperTests;
+
+import com.codebase.helpers.ErrorHandler;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.core.LogEvent;
+import org.apache.logging.log4j.core.Logger;
+import org.apache.logging.log4j.core.appender.AbstractAppender;
+import org.apache.logging.log4j.core.config.Property;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ErrorHandlerTest {
+
+    private static final String MARKER = "log-once-7713";
+
+    @Test
+    public void testStackTraceIsLoggedOncePerError() throws InterruptedException {
+        CapturingAppender appender = new CapturingAppender();
+        Logger logger = (Logger) LogManager.getLogger(ErrorHandler.class);
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            IllegalStateException error = new IllegalStateException("mac mismatch " + MARKER);
+            ErrorHandler.logError(error, "verifyMac", "MAC verification failed");
+            ErrorHandler.logError(error, "decryptData", "Failed to decrypt data");
+            ErrorHandler.logError(new RuntimeException("wrapped " + MARKER, error), "decrypt", "Failed to decrypt {}", "data");
+
+            List<LogEvent> events = appender.await(3);
+            Assert.assertNotNull(events.get(0).getThrown());
+            Assert.assertNull(events.get(1).getThrown());
+            Assert.assertNull(events.get(2).getThrown());
+            Assert.assertTrue(events.get(1).getMessage().getFormattedMessage().contains("'decryptData'"));
+            Assert.assertTrue(events.get(2).getMessage().getFormattedMessage().contains("Failed to decrypt data"));
+        } finally {
+            logger.removeAppender(appender);
+            appender.stop();
+        }
+    }
+
+    @Test
+    public void testWasLoggedFollowsCauseChain() {
+        IllegalArgumentException root = new IllegalArgumentException("root");
+        RuntimeException wrapper = new RuntimeException(root);
+
+        Assert.assertFalse(ErrorHandler.wasLogged(wrapper));
+        ErrorHandler.logError(root, "testWasLoggedFollowsCauseChain", "root failure");
+
+        Assert.assertTrue(ErrorHandler.wasLogged(root));
+        Assert.assertTrue(ErrorHandler.wasLogged(wrapper));
+        Assert.assertFalse(ErrorHandler.wasLogged(new RuntimeException("unrelated")));
+        Assert.assertFalse(ErrorHandler.wasLogged(null));
+    }
+
+    @Test
+    public void testLogAndThrowErrorLogsTheExceptionItThrows() throws InterruptedException {
+        CapturingAppender appender = new CapturingAppender();
+        Logger logger = (Logger) LogManager.getLogger(ErrorHandler.class);
+        appender.start();
+        logger.addAppender(appender);
+        try {
+            RuntimeException thrown = Assert.expectThrows(RuntimeException.class,
+                    () -> ErrorHandler.logAndThrowError("Missing value " + MARKER, "KEY"));
+
+            Assert.assertTrue(ErrorHandler.wasLogged(thrown));
+            List<LogEvent> events = appender.await(1);
+            Assert.assertNotNull(events.get(0).getThrown());
+            Assert.assertEquals(events.get(0).getThrown().getMessage(), thrown.getMessage());
+        } finally {
+            logger.removeAppender(appender);
+            appender.stop();
+        }
+    }
+
+    @Test
+    public void testInvalidArgumentsAreRejected() {
+        Assert.expectThrows(IllegalArgumentException.class,
+                () -> ErrorHandler.logError(null, "method", "message"));
+        Assert.expectThrows(IllegalArgumentException.class,
+                () -> ErrorHandler.logError(new RuntimeException(), " ", "message"));
+        Assert.expectThrows(IllegalArgumentException.class,
+                () -> ErrorHandler.logError(new RuntimeException(), null, "message {}", "argument"));
+    }
+
+    private static final class CapturingAppender extends AbstractAppender {
+        private final List<LogEvent> events = new CopyOnWriteArrayList<>();
+
+        private CapturingAppender() {
+            super("ErrorHandlerTestAppender", null, null, true, Property.EMPTY_ARRAY);
+        }
+
+        @Override
+        public void append(LogEvent event) {
+            // Other tests may log errors at the same time; keep only this test's events
+            if (event.getMessage().getFormattedMessage().contains(MARKER)) {
+                events.add(event.toImmutable());
+            }
+        }
+
+        // Loggers are asynchronous, so events reach the appender on the logging thread
+        private List<LogEvent> await(int count) throws InterruptedException {
+            long deadline = System.currentTimeMillis() + 5000;
+            while (events.size() < count && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            Assert.assertEquals(events.size(), count, events.toString());
+            return events;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.codebase.unitTests.helperTests;
+
+import com.codebase.helpers.ObjectMapperRegistry;
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+public class ObjectMapperRegistryTest {
+
+    public record BookingDates(String checkin, String checkout) {
+    }
+
+    public record Booking(String firstname, int totalprice, BookingDates bookingdates, String additionalneeds) {
+    }
+
+    @Test
+    public void testReadersAndWritersAreCachedPerType() {
+        ObjectMapperRegistry.registerModels(Booking.class, BookingDates.class);
+
+        Assert.assertSame(ObjectMapperRegistry.reader(Booking.class), ObjectMapperRegistry.reader(Booking.class));
+        Assert.assertSame(ObjectMapperRegistry.writer(Booking.class), ObjectMapperRegistry.writer(Booking.class));
+        Assert.assertSame(ObjectMapperRegistry.reader(new TypeReference<List<Booking>>() { }),
+                ObjectMapperRegistry.reader(new TypeReference<List<Booking>>() { }));
+        Assert.assertNotSame(ObjectMapperRegistry.reader(Booking.class), ObjectMapperRegistry.reader(BookingDates.class));
+    }
+
+    @Test
+    public void testRoundTripUsesSharedConfiguration() {
+        Booking booking = new Booking("Jim", 111, new BookingDates("2024-01-01", "2024-01-05"), null);
+
+        String json = ObjectMapperRegistry.toJson(booking);
+        Assert.assertFalse(json.contains("additionalneeds"), "Null fields should be omitted: " + json);
+
+        Booking read = ObjectMapperRegistry.fromJson(
+                "{\"firstname\":\"Jim\",\"totalprice\":111,\"bookingdates\":{\"checkin\":\"2024-01-01\",\"checkout\":\"2024-01-05\"},\"depositpaid\":true}",
+                Booking.class);
+        Assert.assertEquals(read, booking, "Unknown fields should be ignored");
+    }
+
+    @Test
+    public void testInvalidJsonIsReported() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> ObjectMapperRegistry.fromJson("{not json", Booking.class));
+    }
+
+    @Test
+    public void testConfiguredModelsMustExist() {
+        String previous = System.getProperty(ObjectMapperRegistry.MODELS_PROPERTY);
+        try {
+            System.setProperty(ObjectMapperRegistry.MODELS_PROPERTY, Booking.class.getName() + ", com.example.Missing");
+            Assert.assertThrows(IllegalStateException.class, ObjectMapperRegistry::registerConfiguredModels);
+
+            System.setProperty(ObjectMapperRegistry.MODELS_PROPERTY, Booking.class.getName() + "," + BookingDates.class.getName());
+            ObjectMapperRegistry.registerConfiguredModels();
+        } finally {
+            if (previous == null) {
+                System.clearProperty(ObjectMapperRegistry.MODELS_PROPERTY);
+            } else {
+                System.setProperty(ObjectMapperRegistry.MODELS_PROPERTY, previous);
+            }
+        }
+    }
+}
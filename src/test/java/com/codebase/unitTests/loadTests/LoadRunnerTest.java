@@ -0,0 +1,92 @@
+package com.codebase.unitTests.loadTests;
+
+import com.codebase.api.ApiClient;
+import com.codebase.load.LatencyHistogram;
+import com.codebase.load.LoadProfile;
+import com.codebase.load.LoadReport;
+import com.codebase.load.LoadRunner;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+
+public class LoadRunnerTest {
+
+    private static final int MAX_CONNECTIONS = 16;
+
+    private HttpServer server;
+    private ApiClient apiClient;
+
+    @BeforeClass
+    public void startStubServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newFixedThreadPool(4));
+        server.createContext("/booking", exchange -> {
+            byte[] body = "[{\"bookingid\":1}]".getBytes();
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.createContext("/broken", exchange -> {
+            exchange.sendResponseHeaders(500, -1);
+            exchange.close();
+        });
+        server.start();
+        apiClient = new ApiClient("http://127.0.0.1:" + server.getAddress().getPort(), MAX_CONNECTIONS, MAX_CONNECTIONS, Duration.ofSeconds(30));
+        // The first rest-assured call loads its Groovy runtime; keep that out of the measured runs
+        apiClient.request("/booking").get().asString();
+    }
+
+    @AfterClass(alwaysRun = true)
+    public void stopStubServer() {
+        apiClient.close();
+        server.stop(0);
+    }
+
+    @Test
+    public void testHistogramPercentilesAreWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        Assert.assertEquals(histogram.getCount(), 100_000);
+        Assert.assertEquals(histogram.getMaxMicros(), 100_000);
+        Assert.assertEquals(histogram.getPercentileMicros(50), 50_000, 50_000 * 0.016);
+        Assert.assertEquals(histogram.getPercentileMicros(99), 99_000, 99_000 * 0.016);
+        Assert.assertEquals(histogram.getPercentileMicros(100), 100_000);
+        Assert.assertEquals(histogram.getMeanMicros(), 50_000.5, 0.001);
+    }
+
+    @Test
+    public void testClosedLoadReportsPerEndpoint() {
+        LoadReport report = new LoadRunner()
+                .maxInFlight(MAX_CONNECTIONS)
+                .endpoint("list-bookings", 3, () -> apiClient.request("/booking").get())
+                .endpoint("broken", 1, () -> apiClient.request("/broken").get())
+                .run(LoadProfile.concurrency(4, Duration.ofMillis(750)));
+
+        LoadReport.EndpointReport bookings = report.getEndpoint("list-bookings");
+        LoadReport.EndpointReport broken = report.getEndpoint("broken");
+        Assert.assertTrue(bookings.requests() > 0, report.toString());
+        Assert.assertEquals(bookings.errors(), 0);
+        Assert.assertEquals(broken.errors(), broken.requests());
+        Assert.assertTrue(bookings.throughput() > 0);
+        Assert.assertTrue(bookings.p50Millis() <= bookings.p99Millis() && bookings.p99Millis() <= bookings.maxMillis());
+    }
+
+    @Test
+    public void testOpenLoadHoldsTargetRate() {
+        LoadReport report = new LoadRunner()
+                .maxInFlight(MAX_CONNECTIONS)
+                .endpoint("list-bookings", () -> apiClient.request("/booking").get())
+                .run(LoadProfile.rate(40, Duration.ofSeconds(1)));
+
+        Assert.assertEquals(report.getEndpoint("list-bookings").requests(), 40);
+    }
+}
@@ -0,0 +1,94 @@
+package com.codebase.unitTests.loggingTests;
+
+import com.codebase.utils.LoggerUtil;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.async.AsyncLoggerContext;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class LoggingThroughputTest {
+
+    private static final Logger logger = LoggerUtil.getLogger(LoggingThroughputTest.class);
+
+    private static final int THREADS = 4;
+    private static final int MESSAGES_PER_THREAD = 20_000;
+
+    @Test
+    public void testLoggersAreAsynchronous() {
+        Assert.assertTrue(LogManager.getContext(false) instanceof AsyncLoggerContext,
+                "Expected the AsyncLoggerContextSelector from log4j2.component.properties");
+    }
+
+    @Test
+    public void testParallelTestsLogToTheirOwnFilesWithoutBlocking() throws Exception {
+        // The per-test appender appends, so drop what an earlier run left
+        for (int worker = 0; worker < THREADS; worker++) {
+            Files.deleteIfExists(LoggerUtil.getTestLogFile("LoggingThroughputTest.worker-" + worker));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int worker = thread;
+                workers.add(executor.submit(() -> {
+                    LoggerUtil.startTestLog("LoggingThroughputTest.worker-" + worker);
+                    try {
+                        for (int i = 0; i < MESSAGES_PER_THREAD; i++) {
+                            logger.debug("worker {} message {} of {}", worker, i, MESSAGES_PER_THREAD);
+                        }
+                    } finally {
+                        LoggerUtil.endTestLog();
+                    }
+                }));
+            }
+            for (Future<?> future : workers) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long messages = (long) THREADS * MESSAGES_PER_THREAD;
+        logger.info("Logged {} messages from {} threads in {} ms: {} messages/s on the calling threads",
+                messages, THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                messages * TimeUnit.SECONDS.toNanos(1) / Math.max(1, elapsedNanos));
+
+        for (int worker = 0; worker < THREADS; worker++) {
+            Path logFile = LoggerUtil.getTestLogFile("LoggingThroughputTest.worker-" + worker);
+            String lastMessage = "worker " + worker + " message " + (MESSAGES_PER_THREAD - 1) + " of";
+            String content = awaitContent(logFile, lastMessage);
+
+            Assert.assertTrue(content.contains(lastMessage), "Background thread did not write " + logFile);
+            Assert.assertEquals(content.lines().count(), MESSAGES_PER_THREAD, "Unexpected line count in " + logFile);
+            int otherWorker = (worker + 1) % THREADS;
+            Assert.assertFalse(content.contains("worker " + otherWorker + " message"),
+                    "Another test's events leaked into " + logFile);
+        }
+    }
+
+    private static String awaitContent(Path logFile, String expected) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        String content = "";
+        while (System.nanoTime() < deadline) {
+            if (Files.exists(logFile)) {
+                content = Files.readString(logFile);
+                if (content.contains(expected)) {
+                    return content;
+                }
+            }
+            Thread.sleep(50);
+        }
+        return content;
+    }
+}
@@ -0,0 +1,142 @@
+package com.codebase.unitTests.pageTests;
+
+import com.codebase.pages.BasePage;
+import com.codebase.pages.CacheStatistics;
+import com.codebase.pages.ElementCache;
+import com.codebase.tests.StubWebDriver;
+import com.codebase.tracing.TestTimeline;
+import com.codebase.tracing.Tracer;
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class ElementCacheTest {
+
+    private static final By SUBMIT = By.id("submit");
+
+    @Test
+    public void testRepeatedLookupsAreServedFromCache() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.addElements(SUBMIT, stubElement("Submit", new AtomicBoolean()));
+        ElementCache cache = new ElementCache(driver);
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(cache.perform(SUBMIT, WebElement::getText), "Submit");
+        }
+
+        CacheStatistics stats = cache.getStatistics();
+        Assert.assertEquals(driver.findElementCalls.get(), 1);
+        Assert.assertEquals(stats.hits(), 4);
+        Assert.assertEquals(stats.misses(), 1);
+        Assert.assertEquals(stats.hitRate(), 0.8, 0.0001);
+    }
+
+    @Test
+    public void testOnlyStaleLocatorIsReResolved() {
+        StubWebDriver driver = new StubWebDriver();
+        AtomicBoolean submitStale = new AtomicBoolean();
+        By title = By.tagName("h1");
+        driver.addElements(SUBMIT, stubElement("Submit", submitStale));
+        driver.addElements(title, stubElement("Title", new AtomicBoolean()));
+        ElementCache cache = new ElementCache(driver);
+        cache.find(SUBMIT);
+        cache.find(title);
+
+        submitStale.set(true);
+        driver.addElements(SUBMIT, stubElement("Submit again", new AtomicBoolean()));
+
+        Assert.assertEquals(cache.perform(SUBMIT, WebElement::getText), "Submit again");
+        Assert.assertEquals(cache.perform(title, WebElement::getText), "Title");
+        Assert.assertEquals(driver.findElementCalls.get(), 3, "Only the stale locator should be found again");
+        Assert.assertEquals(cache.getStatistics().staleRefreshes(), 1);
+    }
+
+    @Test
+    public void testElementListsAreLookedUpEveryTime() {
+        StubWebDriver driver = new StubWebDriver();
+        By rows = By.cssSelector("tr");
+        driver.addElements(rows, stubElement("Row 1", new AtomicBoolean()));
+        ElementCache cache = new ElementCache(driver);
+        Assert.assertEquals(cache.findAll(rows).size(), 1);
+
+        // A row is added without the first one going stale
+        driver.addElements(rows, stubElement("Row 1", new AtomicBoolean()), stubElement("Row 2", new AtomicBoolean()));
+
+        Assert.assertEquals(cache.findAll(rows).size(), 2);
+        Assert.assertEquals(cache.size(), 0);
+    }
+
+    @Test
+    public void testNavigationThroughPageClearsCache() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.addElements(SUBMIT, stubElement("Submit", new AtomicBoolean()));
+        LoginPage page = new LoginPage(driver);
+
+        page.submitText();
+        page.open("https://example.com/login");
+        page.submitText();
+
+        Assert.assertEquals(driver.findElementCalls.get(), 2);
+        Assert.assertEquals(page.getCacheStatistics().misses(), 2);
+    }
+
+    @Test
+    public void testPageInteractionsAreTraced() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.addElements(SUBMIT, stubElement("Submit", new AtomicBoolean()));
+        LoginPage page = new LoginPage(driver);
+        // The listeners already started a recording for this method; record this page's calls on their own
+        Tracer.endTest();
+        Tracer.startTest("page-click");
+
+        page.submit();
+        page.submit();
+
+        List<String> spans = Tracer.endTest().entries().stream().map(TestTimeline.Entry::name).toList();
+        Assert.assertEquals(spans, List.of("driver.findElement", "element.click", "element.click"));
+    }
+
+    private static WebElement stubElement(String text, AtomicBoolean stale) {
+        return (WebElement) Proxy.newProxyInstance(
+                ElementCacheTest.class.getClassLoader(),
+                new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> {
+                    if (stale.get()) {
+                        throw new StaleElementReferenceException("stale");
+                    }
+                    return switch (method.getName()) {
+                        case "getText" -> text;
+                        case "hashCode" -> System.identityHashCode(proxy);
+                        case "equals" -> proxy == args[0];
+                        case "toString" -> "StubElement(" + text + ")";
+                        default -> null;
+                    };
+                });
+    }
+
+    private static class LoginPage extends BasePage {
+
+        LoginPage(WebDriver driver) {
+            super(driver);
+        }
+
+        void open(String url) {
+            driver.get(url);
+        }
+
+        String submitText() {
+            return getText(SUBMIT);
+        }
+
+        void submit() {
+            click(SUBMIT);
+        }
+    }
+}
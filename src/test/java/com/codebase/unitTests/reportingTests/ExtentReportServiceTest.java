@@ -0,0 +1,122 @@
+package com.codebase.unitTests.reportingTests;
+
+import com.codebase.reporting.ExtentReportService;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class ExtentReportServiceTest {
+
+    @Test
+    public void testParallelThreadsKeepTheirOwnTests() throws Exception {
+        Path reportFile = Files.createTempDirectory("extent").resolve("report.html");
+
+        try (ExtentReportService report = new ExtentReportService(reportFile, Duration.ofMinutes(1))) {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < 4; i++) {
+                    String name = "parallel-test-" + i;
+                    futures.add(executor.submit(() -> {
+                        report.startTest(name, null, "reporting");
+                        for (int step = 0; step < 25; step++) {
+                            report.info(name + " step " + step);
+                        }
+                        report.pass(name + " done");
+                        report.endTest();
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                executor.shutdownNow();
+            }
+
+            report.flush().get(30, TimeUnit.SECONDS);
+
+            // 4 x (start + 25 info + pass + end)
+            Assert.assertEquals(report.getEventCount(), 112);
+            Assert.assertEquals(report.getOrphanEventCount(), 0);
+            String html = Files.readString(reportFile);
+            for (int i = 0; i < 4; i++) {
+                Assert.assertTrue(html.contains("parallel-test-" + i + " done"), "Missing test " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testReportIsWrittenOnTheFlushInterval() throws Exception {
+        Path reportFile = Files.createTempDirectory("extent").resolve("report.html");
+
+        try (ExtentReportService report = new ExtentReportService(reportFile, Duration.ofMillis(100))) {
+            report.startTest("timed-flush", "Written without an explicit flush");
+            report.pass("timed-flush passed");
+            report.endTest();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (report.getFlushCount() == 0 && System.nanoTime() < deadline) {
+                Thread.sleep(50);
+            }
+            Assert.assertTrue(report.getFlushCount() > 0, "Report was never flushed");
+            Assert.assertTrue(Files.readString(reportFile).contains("timed-flush passed"));
+        }
+    }
+
+    @Test
+    public void testWriterSurvivesAnErrorInAnEvent() throws Exception {
+        Path reportFile = Files.createTempDirectory("extent").resolve("report.html");
+
+        try (ExtentReportService report = new ExtentReportService(reportFile, Duration.ofMinutes(1))) {
+            report.startTest("broken-event", null);
+            report.fail(new RuntimeException("unprintable") {
+                @Override
+                public void printStackTrace(PrintWriter writer) {
+                    throw new LinkageError("reporter failed to render the stack trace");
+                }
+            });
+            report.pass("logged after the broken event");
+            report.endTest();
+
+            report.flush().get(30, TimeUnit.SECONDS);
+
+            Assert.assertTrue(Files.readString(reportFile).contains("logged after the broken event"));
+        }
+    }
+
+    @Test
+    public void testFlushAfterCloseFails() throws Exception {
+        Path reportFile = Files.createTempDirectory("extent").resolve("report.html");
+        ExtentReportService report = new ExtentReportService(reportFile, Duration.ofMinutes(1));
+        report.close();
+
+        CompletableFuture<Void> flushed = report.flush();
+
+        Assert.assertTrue(flushed.isCompletedExceptionally());
+        Assert.assertEquals(report.getQueuedCount(), 0);
+    }
+
+    @Test
+    public void testLogsOutsideATestAreDropped() throws Exception {
+        Path reportFile = Files.createTempDirectory("extent").resolve("report.html");
+
+        try (ExtentReportService report = new ExtentReportService(reportFile, Duration.ofMinutes(1))) {
+            report.info("nobody is listening");
+
+            Assert.assertFalse(report.hasActiveTest());
+            Assert.assertEquals(report.getOrphanEventCount(), 1);
+            Assert.assertEquals(report.getQueuedCount(), 0);
+        }
+    }
+}
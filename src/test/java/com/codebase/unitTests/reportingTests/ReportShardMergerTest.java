@@ -0,0 +1,140 @@
+package com.codebase.unitTests.reportingTests;
+
+import com.codebase.reporting.ExtentReportService;
+import com.codebase.reporting.ReportShardMerger;
+import com.codebase.reporting.ReportShardRecord;
+import com.codebase.reporting.ReportShardWriter;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+public class ReportShardMergerTest {
+
+    @Test
+    public void testForkShardsMergeIntoOneReport() throws Exception {
+        Path directory = Files.createTempDirectory("report-shards");
+
+        for (int shard = 0; shard < 2; shard++) {
+            ReportShardWriter shardWriter = new ReportShardWriter(ReportShardWriter.shardFile(directory, shard));
+            try (ExtentReportService report = new ExtentReportService(
+                    directory.resolve("report-" + shard + ".html"), Duration.ofMinutes(1), shardWriter)) {
+                report.startTest("passes-in-shard-" + shard, null, "shard" + shard);
+                report.pass("ok");
+                report.endTest();
+
+                report.startTest("fails-in-shard-" + shard, "Compares <a> & <b>", "shard" + shard);
+                report.fail(new AssertionError("expected [1] but found [2]"));
+                report.endTest();
+            }
+        }
+
+        Path output = directory.resolve("merged.html");
+        long tests = ReportShardMerger.merge(List.of(directory), output);
+
+        Assert.assertEquals(tests, 4);
+        String html = Files.readString(output);
+        for (int shard = 0; shard < 2; shard++) {
+            Assert.assertTrue(html.contains("passes-in-shard-" + shard), "Missing passing test of shard " + shard);
+            Assert.assertTrue(html.contains("fails-in-shard-" + shard), "Missing failing test of shard " + shard);
+        }
+        Assert.assertTrue(html.contains("Compares &lt;a&gt; &amp; &lt;b&gt;"));
+        Assert.assertTrue(html.contains("expected [1] but found [2]"));
+        Assert.assertTrue(html.contains("<td class=\"fail\">FAIL</td><td>2</td>"));
+    }
+
+    @Test
+    public void testLargeRunIsStreamedIntoOneReport() throws Exception {
+        Path directory = Files.createTempDirectory("report-shards");
+        int shards = 4;
+        int testsPerShard = 5_000;
+        long start = System.currentTimeMillis();
+
+        for (int shard = 0; shard < shards; shard++) {
+            try (ReportShardWriter writer = new ReportShardWriter(ReportShardWriter.shardFile(directory, shard))) {
+                for (int i = 0; i < testsPerShard; i++) {
+                    String status = i % 100 == 0 ? "FAIL" : "PASS";
+                    writer.write(new ReportShardRecord("test-" + shard + "-" + i, null, status, start, start + i,
+                            List.of("Class" + (i % 10)),
+                            List.of(new ReportShardRecord.LogEntry(start, status, "step " + i, null, null)), null));
+                }
+            }
+        }
+
+        Path output = directory.resolve("merged.html");
+        long tests = ReportShardMerger.merge(List.of(directory), output);
+
+        Assert.assertEquals(tests, shards * testsPerShard);
+        String html = Files.readString(output);
+        Assert.assertTrue(html.contains("test-3-4999"));
+        Assert.assertTrue(html.contains("<td class=\"fail\">FAIL</td><td>200</td>"));
+        Assert.assertTrue(html.contains("<tr><td>Class0</td><td>2000</td><td>200</td></tr>"));
+    }
+
+    @Test
+    public void testShardsOfAnEarlierRunAreNotMerged() throws Exception {
+        Path directory = Files.createTempDirectory("report-shards");
+        // An earlier run with four forks, then this run with two, writing into the same directory
+        writeRun(directory, "run-1", 4);
+        FileTime earlier = FileTime.from(Instant.now().minus(Duration.ofHours(1)));
+        for (int shard = 0; shard < 4; shard++) {
+            Files.setLastModifiedTime(ReportShardWriter.shardFile(directory, shard), earlier);
+        }
+        writeRun(directory, "run-2", 2);
+
+        Path output = directory.resolve("merged.html");
+        long tests = ReportShardMerger.merge(List.of(directory), output);
+
+        Assert.assertEquals(tests, 2);
+        String html = Files.readString(output);
+        Assert.assertTrue(html.contains("run-2-test-0") && html.contains("run-2-test-1"));
+        Assert.assertFalse(html.contains("run-1-test"), "Shards of the earlier run must not be merged");
+    }
+
+    @Test
+    public void testReportNotesMissingShards() throws Exception {
+        Path directory = Files.createTempDirectory("report-shards");
+        writeRun(directory, "run-1", 3);
+        Files.delete(ReportShardWriter.shardFile(directory, 1));
+
+        Path output = directory.resolve("merged.html");
+        long tests = ReportShardMerger.merge(List.of(directory), output);
+
+        Assert.assertEquals(tests, 2);
+        Assert.assertTrue(Files.readString(output).contains("2 tests from 2 shards (1 of 3 missing)"));
+    }
+
+    private static void writeRun(Path directory, String runId, int shardCount) throws Exception {
+        for (int shard = 0; shard < shardCount; shard++) {
+            Path shardFile = ReportShardWriter.shardFile(directory, shard);
+            ReportShardWriter.ShardHeader header = new ReportShardWriter.ShardHeader(runId, shard, shardCount);
+            try (ReportShardWriter writer = new ReportShardWriter(shardFile, header)) {
+                writer.write(new ReportShardRecord(runId + "-test-" + shard, null, "PASS", 0, 1,
+                        List.of(), List.of(), null));
+            }
+        }
+    }
+
+    @Test
+    public void testTruncatedShardIsMergedUpToTheLastCompleteTest() throws Exception {
+        Path directory = Files.createTempDirectory("report-shards");
+        Path shardFile = ReportShardWriter.shardFile(directory, 0);
+        try (ReportShardWriter writer = new ReportShardWriter(shardFile)) {
+            for (int i = 0; i < 3; i++) {
+                writer.write(new ReportShardRecord("complete-" + i, null, "PASS", 0, 1, List.of(), List.of(), null));
+            }
+        }
+        // A fork killed while writing leaves half a line behind
+        Files.writeString(shardFile, "\n{\"name\":\"broken\",\"sta", StandardOpenOption.APPEND);
+
+        long tests = ReportShardMerger.merge(List.of(shardFile), directory.resolve("merged.html"));
+
+        Assert.assertEquals(tests, 3);
+    }
+}
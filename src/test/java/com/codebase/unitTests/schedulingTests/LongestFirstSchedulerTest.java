@@ -0,0 +1,74 @@
+package com.codebase.unitTests.schedulingTests;
+
+import com.codebase.scheduling.DurationHistory;
+import com.codebase.scheduling.LongestFirstScheduler;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+public class LongestFirstSchedulerTest {
+
+    @Test
+    public void testLongestFirstBeatsSubmissionOrder() {
+        List<Long> submitted = List.of(10L, 10L, 10L, 10L, 40L);
+        List<Long> ordered = LongestFirstScheduler.order(submitted, Long::longValue);
+
+        Assert.assertEquals(ordered, List.of(40L, 10L, 10L, 10L, 10L));
+        Assert.assertEquals(LongestFirstScheduler.simulateMakespan(submitted, 2), 60);
+        Assert.assertEquals(LongestFirstScheduler.simulateMakespan(ordered, 2), 40);
+        Assert.assertEquals(LongestFirstScheduler.idealMakespan(ordered, 2), 40);
+    }
+
+    @Test
+    public void testOrderIsStableForEqualEstimates() {
+        Map<String, Long> estimates = Map.of("a", 5L, "b", 5L, "c", 9L);
+        List<String> ordered = LongestFirstScheduler.order(List.of("a", "b", "c"), estimates::get);
+
+        Assert.assertEquals(ordered, List.of("c", "a", "b"));
+    }
+
+    @Test
+    public void testReportSlowdown() {
+        LongestFirstScheduler.ScheduleReport report = LongestFirstScheduler.report(List.of(30L, 30L), 2, 45);
+
+        Assert.assertEquals(report.idealMakespan(), 30);
+        Assert.assertEquals(report.totalWork(), 60);
+        Assert.assertEquals(report.slowdown(), 1.5, 0.0001);
+    }
+
+    @Test
+    public void testHistoryRoundTripAndMerge() throws Exception {
+        Path file = Files.createTempDirectory("history").resolve("durations.properties");
+
+        DurationHistory first = new DurationHistory(file);
+        first.record("LoginTest#testValidLogin", 1000);
+        first.record("LoginTest#testValidLogin", 2000);
+        first.save();
+
+        DurationHistory otherFork = new DurationHistory(file);
+        otherFork.record("SearchTest#testSearch", 300);
+        otherFork.save();
+
+        DurationHistory reloaded = new DurationHistory(file);
+        reloaded.load();
+        Assert.assertEquals(reloaded.estimate("LoginTest#testValidLogin").getAsLong(), 1500);
+        Assert.assertEquals(reloaded.estimate("SearchTest#testSearch").getAsLong(), 300);
+        Assert.assertTrue(reloaded.estimate("Unknown#test").isEmpty());
+    }
+
+    @Test
+    public void testMedianIgnoresClassTotals() throws Exception {
+        DurationHistory history = new DurationHistory(Files.createTempDirectory("history").resolve("durations.properties"));
+        history.record("LoginTest#testValidLogin", 100);
+        history.record("LoginTest#testInvalidLogin", 200);
+        history.record("LoginTest#testLockedAccount", 300);
+        history.record("LoginTest", 600);
+        history.record("SearchTest", 900);
+
+        Assert.assertEquals(history.medianEstimate(), 200);
+    }
+}
@@ -0,0 +1,113 @@
+package com.codebase.unitTests.schedulingTests;
+
+import com.codebase.scheduling.ShardPlanner;
+import com.codebase.scheduling.TestResultsMerger;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class ShardPlannerTest {
+
+    @Test
+    public void testShardsAreBalancedAndCoverEveryClass() {
+        Map<String, Long> estimates = Map.of(
+                "LoginTest", 80L, "SearchTest", 70L, "CartTest", 40L,
+                "CheckoutTest", 30L, "ProfileTest", 20L, "LogoutTest", 10L);
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.plan(estimates, 2);
+
+        Set<String> planned = new HashSet<>();
+        shards.forEach(shard -> planned.addAll(shard.classes()));
+        Assert.assertEquals(planned, estimates.keySet());
+        Assert.assertEquals(shards.get(0).estimatedMillis() + shards.get(1).estimatedMillis(), 250);
+        Assert.assertTrue(Math.abs(shards.get(0).estimatedMillis() - shards.get(1).estimatedMillis()) <= 10,
+                "Shards should be balanced: " + shards);
+    }
+
+    @Test
+    public void testPlanIsDeterministic() {
+        Map<String, Long> estimates = Map.of("A", 10L, "B", 10L, "C", 10L, "D", 10L);
+
+        Assert.assertEquals(ShardPlanner.plan(estimates, 3), ShardPlanner.plan(Map.copyOf(estimates), 3));
+    }
+
+    @Test
+    public void testShardsReadingOnePlanFileRunEveryClassExactlyOnce() throws Exception {
+        Path planFile = Files.createTempDirectory("shard-plan").resolve("plan.properties");
+        ShardPlanner.writePlan(ShardPlanner.plan(Map.of("LoginTest", 80L, "SearchTest", 70L, "CartTest", 40L), 3), planFile);
+        // A class added after the plan was written
+        Set<String> classes = Set.of("LoginTest", "SearchTest", "CartTest", "NewFeatureTest");
+
+        Set<String> ran = new HashSet<>();
+        int runs = 0;
+        for (int shardIndex = 0; shardIndex < 3; shardIndex++) {
+            // Each shard reads the plan on its own, as separate JVMs would
+            List<ShardPlanner.Shard> shards = ShardPlanner.readPlan(classes, 3, planFile);
+            ShardPlanner.verifyPartition(shards, classes);
+            ran.addAll(shards.get(shardIndex).classes());
+            runs += shards.get(shardIndex).classes().size();
+        }
+
+        Assert.assertEquals(ran, classes);
+        Assert.assertEquals(runs, classes.size(), "No class may run on two shards");
+    }
+
+    @Test
+    public void testPlanFileForAnotherShardCountIsRejected() throws Exception {
+        Path planFile = Files.createTempDirectory("shard-plan").resolve("plan.properties");
+        ShardPlanner.writePlan(ShardPlanner.plan(Map.of("LoginTest", 80L), 2), planFile);
+
+        Assert.assertThrows(IllegalStateException.class, () -> ShardPlanner.readPlan(Set.of("LoginTest"), 3, planFile));
+    }
+
+    @Test
+    public void testVerifyPartitionRejectsMissingAndDuplicatedClasses() {
+        List<ShardPlanner.Shard> duplicated = List.of(
+                new ShardPlanner.Shard(0, List.of("LoginTest", "CartTest"), 0),
+                new ShardPlanner.Shard(1, List.of("CartTest"), 0));
+
+        IllegalStateException error = Assert.expectThrows(IllegalStateException.class,
+                () -> ShardPlanner.verifyPartition(duplicated, Set.of("LoginTest", "CartTest", "SearchTest")));
+
+        Assert.assertTrue(error.getMessage().contains("CartTest is planned more than once"), error.getMessage());
+        Assert.assertTrue(error.getMessage().contains("SearchTest is not planned"), error.getMessage());
+    }
+
+    @Test
+    public void testMergeSumsCountersAndCombinesSuites() throws Exception {
+        Path directory = Files.createTempDirectory("shards");
+        Path first = directory.resolve("shard-0.xml");
+        Path second = directory.resolve("shard-1.xml");
+        Files.writeString(first, results(3, 2, 1, "LoginTest", 1200));
+        Files.writeString(second, results(2, 2, 0, "SearchTest", 1500));
+        Path merged = directory.resolve("merged/testng-results.xml");
+
+        TestResultsMerger.merge(List.of(first, second), merged);
+
+        String xml = Files.readString(merged);
+        Assert.assertTrue(xml.contains("total=\"5\""), xml);
+        Assert.assertTrue(xml.contains("passed=\"4\""), xml);
+        Assert.assertTrue(xml.contains("failed=\"1\""), xml);
+        Assert.assertEquals(xml.split("<suite ").length - 1, 1, "Same-named suites should be merged");
+        Assert.assertTrue(xml.contains("name=\"LoginTest\"") && xml.contains("name=\"SearchTest\""), xml);
+        Assert.assertTrue(xml.contains("duration-ms=\"1500\""), xml);
+    }
+
+    private static String results(int total, int passed, int failed, String testName, long duration) {
+        return """
+                <?xml version="1.0" encoding="UTF-8"?>
+                <testng-results ignored="0" total="%d" passed="%d" failed="%d" skipped="0">
+                  <reporter-output/>
+                  <suite name="Suite" duration-ms="%d" started-at="2024-01-01T10:00:00Z" finished-at="2024-01-01T10:00:02Z">
+                    <test name="%s" duration-ms="%d"/>
+                  </suite>
+                </testng-results>
+                """.formatted(total, passed, failed, duration, testName, duration).stripLeading();
+    }
+}
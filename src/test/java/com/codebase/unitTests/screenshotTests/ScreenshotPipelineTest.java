@@ -0,0 +1,128 @@
+package com.codebase.unitTests.screenshotTests;
+
+import com.codebase.screenshots.ScreenshotFormat;
+import com.codebase.screenshots.ScreenshotPipeline;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+public class ScreenshotPipelineTest {
+
+    @Test
+    public void testIdenticalScreenshotsAreWrittenOnce() throws Exception {
+        Path directory = Files.createTempDirectory("screenshots");
+        byte[] image = createPng(Color.BLUE);
+
+        try (ScreenshotPipeline pipeline = new ScreenshotPipeline(directory, ScreenshotFormat.PNG, 2, 8)) {
+            Path first = pipeline.submit("step one", image).get();
+            Path second = pipeline.submit("step two", image).get();
+
+            Assert.assertEquals(second, first);
+            Assert.assertTrue(Files.exists(first));
+            Assert.assertTrue(first.getFileName().toString().startsWith("step_one_"));
+            Assert.assertEquals(pipeline.getWrittenCount(), 1);
+            Assert.assertEquals(pipeline.getDuplicateCount(), 1);
+            Assert.assertNotNull(ImageIO.read(first.toFile()), "Written file should be a readable image");
+        }
+    }
+
+    @Test
+    public void testSmallQueueThrottlesInsteadOfDropping() throws Exception {
+        Path directory = Files.createTempDirectory("screenshots");
+        List<byte[]> images = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            // Large enough that encoding one image takes far longer than queueing the rest
+            images.add(createPng(new Color(i * 10, 0, 0), 1600, 1200));
+        }
+        List<CompletableFuture<Path>> results = new ArrayList<>();
+
+        try (ScreenshotPipeline pipeline = new ScreenshotPipeline(directory, ScreenshotFormat.JPEG, 1, 1)) {
+            for (int i = 0; i < images.size(); i++) {
+                results.add(pipeline.submit("shot-" + i, images.get(i)));
+            }
+            CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).get();
+
+            Assert.assertEquals(pipeline.getWrittenCount(), 20);
+            Assert.assertTrue(pipeline.getBackPressureWaits() > 0, "Full queue should have blocked the submitter");
+        }
+
+        try (var files = Files.list(directory)) {
+            Assert.assertEquals(files.filter(file -> file.toString().endsWith(".jpg")).count(), 20);
+        }
+    }
+
+    @Test
+    public void testClosedPipelineRejectsScreenshots() throws Exception {
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(Files.createTempDirectory("screenshots"), ScreenshotFormat.PNG, 1, 1);
+        pipeline.close();
+
+        Assert.assertThrows(IllegalStateException.class, () -> pipeline.submit("late", createPng(Color.RED)));
+    }
+
+    @Test
+    public void testScreenshotsSubmittedDuringCloseAreAllCompleted() throws Exception {
+        ScreenshotPipeline pipeline = new ScreenshotPipeline(Files.createTempDirectory("screenshots"), ScreenshotFormat.PNG, 1, 1);
+        List<CompletableFuture<Path>> results = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService submitters = Executors.newFixedThreadPool(4);
+        try {
+            for (int thread = 0; thread < 4; thread++) {
+                int submitter = thread;
+                submitters.submit(() -> {
+                    // Distinct bytes that are cheap to make, so the submitters keep the queue full
+                    for (int i = 0; ; i++) {
+                        try {
+                            results.add(pipeline.submit("race", ("not a png " + submitter + "-" + i).getBytes()));
+                        } catch (IllegalStateException closed) {
+                            return null;
+                        }
+                    }
+                });
+            }
+            Thread.sleep(200);
+            pipeline.close();
+        } finally {
+            submitters.shutdown();
+            Assert.assertTrue(submitters.awaitTermination(10, TimeUnit.SECONDS), "Submitters did not stop");
+        }
+
+        for (CompletableFuture<Path> result : results) {
+            // Written or rejected, but never left pending
+            try {
+                result.get(10, TimeUnit.SECONDS);
+            } catch (ExecutionException rejected) {
+                Assert.assertTrue(rejected.getCause() instanceof IllegalStateException, rejected.toString());
+            }
+        }
+    }
+
+    private static byte[] createPng(Color color) throws Exception {
+        return createPng(color, 64, 48);
+    }
+
+    private static byte[] createPng(Color color, int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(color);
+        graphics.fillRect(0, 0, width, height);
+        graphics.dispose();
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", output);
+        return output.toByteArray();
+    }
+}
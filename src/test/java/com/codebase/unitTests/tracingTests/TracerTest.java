@@ -0,0 +1,127 @@
+package com.codebase.unitTests.tracingTests;
+
+import com.codebase.tracing.FlameSummary;
+import com.codebase.tracing.Span;
+import com.codebase.tracing.TestTimeline;
+import com.codebase.tracing.Tracer;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+public class TracerTest {
+
+    @Test
+    public void testNestedSpansFormATimelineAndFlameStacks() throws Exception {
+        Tracer.startTest("nested");
+        try (Span outer = Tracer.span("tracer-test.outer")) {
+            Thread.sleep(10);
+            try (Span inner = Tracer.span("tracer-test.inner")) {
+                Thread.sleep(20);
+            }
+        }
+        TestTimeline timeline = Tracer.endTest();
+
+        Assert.assertEquals(timeline.entries().size(), 2);
+        TestTimeline.Entry outer = timeline.entries().get(0);
+        TestTimeline.Entry inner = timeline.entries().get(1);
+        Assert.assertEquals(outer.name(), "tracer-test.outer");
+        Assert.assertEquals(outer.depth(), 0);
+        Assert.assertEquals(inner.depth(), 1);
+        Assert.assertTrue(inner.startOffsetNanos() >= outer.startOffsetNanos() + TimeUnit.MILLISECONDS.toNanos(9));
+        Assert.assertTrue(outer.durationNanos() >= inner.durationNanos() + TimeUnit.MILLISECONDS.toNanos(9));
+        Assert.assertTrue(timeline.format().contains("  tracer-test.inner"));
+
+        FlameSummary summary = Tracer.getFlameSummary();
+        FlameSummary.Frame outerFrame = frame(summary, "test;tracer-test.outer");
+        FlameSummary.Frame innerFrame = frame(summary, "test;tracer-test.outer;tracer-test.inner");
+        // The outer frame's self time excludes the 20 ms spent in the inner span
+        Assert.assertTrue(innerFrame.selfNanos() >= TimeUnit.MILLISECONDS.toNanos(19));
+        Assert.assertTrue(outerFrame.selfNanos() < innerFrame.selfNanos(), summary.format(10));
+
+        Path folded = Files.createTempDirectory("flame").resolve("suite.folded");
+        summary.writeFolded(folded);
+        Assert.assertTrue(Files.readString(folded).contains("test;tracer-test.outer;tracer-test.inner "));
+    }
+
+    @Test
+    public void testSpansOutsideATestAreNotRecorded() {
+        Tracer.endTest();
+        try (Span span = Tracer.span("tracer-test.orphan")) {
+            Assert.assertNotNull(span);
+        }
+        Tracer.endSpan();
+
+        Assert.assertNull(Tracer.endTest());
+    }
+
+    @Test
+    public void testDisabledTracerRecordsNothing() {
+        Tracer.endTest();
+        Tracer.setEnabled(false);
+        try {
+            Tracer.startTest("disabled");
+            try (Span span = Tracer.span("tracer-test.disabled")) {
+                Assert.assertNotNull(span);
+            }
+            Assert.assertNull(Tracer.endTest());
+        } finally {
+            Tracer.setEnabled(true);
+        }
+    }
+
+    @Test
+    public void testThreadsRecordIntoTheirOwnBuffers() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<TestTimeline>> futures = new ArrayList<>();
+            for (int thread = 0; thread < 4; thread++) {
+                String testName = "parallel-" + thread;
+                futures.add(executor.submit(() -> {
+                    Tracer.startTest(testName);
+                    for (int i = 0; i < 1_000; i++) {
+                        try (Span span = Tracer.span("tracer-test.step")) {
+                            Tracer.span("tracer-test.child").close();
+                        }
+                    }
+                    return Tracer.endTest();
+                }));
+            }
+            for (int thread = 0; thread < 4; thread++) {
+                TestTimeline timeline = futures.get(thread).get();
+                Assert.assertEquals(timeline.testName(), "parallel-" + thread);
+                Assert.assertEquals(timeline.entries().size(), 2_000);
+                Assert.assertEquals(timeline.droppedSpans(), 0);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSpansOverThePerTestLimitAreCountedNotStored() {
+        Tracer.startTest("limit");
+        for (int i = 0; i < 150_000; i++) {
+            Tracer.span("tracer-test.tight-loop").close();
+        }
+        TestTimeline timeline = Tracer.endTest();
+
+        Assert.assertEquals(timeline.entries().size(), 100_000);
+        Assert.assertEquals(timeline.droppedSpans(), 50_000);
+        Assert.assertTrue(timeline.format().contains("50000 spans dropped"));
+    }
+
+    private static FlameSummary.Frame frame(FlameSummary summary, String stack) {
+        return summary.frames().stream()
+                .filter(frame -> frame.stack().equals(stack))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("Missing stack " + stack + " in " + summary.format(20)));
+    }
+}
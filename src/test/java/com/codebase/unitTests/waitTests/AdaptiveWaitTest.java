@@ -0,0 +1,134 @@
+package com.codebase.unitTests.waitTests;
+
+import com.codebase.tests.StubWebDriver;
+import com.codebase.waits.AdaptiveWait;
+import com.codebase.waits.WaitCondition;
+import com.codebase.waits.WaitStatistics;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AdaptiveWaitTest {
+
+    private final AdaptiveWait wait = new AdaptiveWait(Duration.ofMillis(5), Duration.ofMillis(100));
+
+    @Test
+    public void testWaitRecordsLatencyPerKey() {
+        // Counted from the first poll, which the wait's own clock never starts after
+        long[] readyAt = {0};
+
+        String value = wait.until("#slow", () -> {
+            if (readyAt[0] == 0) {
+                readyAt[0] = System.nanoTime() + Duration.ofMillis(80).toNanos();
+            }
+            if (System.nanoTime() < readyAt[0]) {
+                throw new NoSuchElementException("not yet");
+            }
+            return "found";
+        }, Duration.ofSeconds(2));
+
+        WaitStatistics stats = wait.getStatistics("#slow");
+        Assert.assertEquals(value, "found");
+        Assert.assertEquals(stats.getSuccessCount(), 1);
+        Assert.assertTrue(stats.getSmoothedLatency().toMillis() >= 80);
+        Assert.assertTrue(stats.getAveragePolls() < 16, "Backoff should keep polls low: " + stats);
+    }
+
+    @Test
+    public void testPollingIsTunedFromHistory() {
+        Assert.assertEquals(wait.getInitialPollInterval("#tuned"), Duration.ofMillis(5));
+
+        // The wait cannot end before readyAt, so its recorded latency is at least 200 ms however slow the machine is
+        long readyAt = System.nanoTime() + Duration.ofMillis(200).toNanos();
+        wait.until("#tuned", () -> System.nanoTime() >= readyAt, Duration.ofSeconds(10));
+
+        Duration tuned = wait.getInitialPollInterval("#tuned");
+        Assert.assertTrue(tuned.compareTo(Duration.ofMillis(50)) >= 0, "Polling should start at a quarter of the latency: " + tuned);
+        Assert.assertTrue(tuned.compareTo(Duration.ofMillis(100)) <= 0, "Polling should stay within the maximum: " + tuned);
+    }
+
+    @Test
+    public void testTimeoutIsRecordedAndThrown() {
+        Assert.assertThrows(TimeoutException.class,
+                () -> wait.until("#missing", () -> false, Duration.ofMillis(50)));
+        Assert.assertEquals(wait.getStatistics("#missing").getTimeoutCount(), 1);
+    }
+
+    @Test
+    public void testCombinedConditionsUseOneScriptPerPoll() {
+        StubWebDriver driver = new StubWebDriver();
+        AtomicInteger calls = new AtomicInteger();
+        driver.setScriptHandler(args -> {
+            List<?> conditions = (List<?>) args[1];
+            Assert.assertEquals(conditions.size(), 3);
+            return calls.incrementAndGet() < 3 ? 1L : -1L;
+        });
+
+        wait.untilAll(driver, "checkout", Duration.ofSeconds(2),
+                WaitCondition.documentReady(),
+                WaitCondition.visible("#total"),
+                WaitCondition.invisible(".spinner"));
+
+        Assert.assertEquals(driver.executeScriptCalls.get(), 3);
+    }
+
+    @Test
+    public void testCombinedConditionsKeepPollingThroughNavigation() {
+        StubWebDriver driver = new StubWebDriver();
+        AtomicInteger calls = new AtomicInteger();
+        driver.setScriptHandler(args -> switch (calls.incrementAndGet()) {
+            case 1 -> throw new JavascriptException("javascript error: document unloaded while waiting for result");
+            case 2 -> throw new WebDriverException("unknown error: cannot determine loading status");
+            default -> -1L;
+        });
+
+        wait.untilAll(driver, "navigating", Duration.ofSeconds(2), WaitCondition.documentReady());
+
+        Assert.assertEquals(calls.get(), 3);
+    }
+
+    @Test
+    public void testCombinedConditionsStopWhenSessionIsGone() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.setScriptHandler(args -> {
+            throw new NoSuchSessionException("invalid session id");
+        });
+
+        Assert.assertThrows(NoSuchSessionException.class,
+                () -> wait.untilAll(driver, "closed", Duration.ofSeconds(2), WaitCondition.documentReady()));
+        Assert.assertEquals(driver.executeScriptCalls.get(), 1);
+    }
+
+    @Test
+    public void testCombinedConditionsFailFastOnInvalidSelector() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.setScriptHandler(args -> {
+            throw new JavascriptException("javascript error: Failed to execute 'querySelector' on 'Document': "
+                    + "'#total[' is not a valid selector.");
+        });
+
+        Assert.assertThrows(JavascriptException.class,
+                () -> wait.untilAll(driver, "bad-selector", Duration.ofSeconds(2), WaitCondition.visible("#total[")));
+        Assert.assertEquals(driver.executeScriptCalls.get(), 1, "A script error should not be polled again");
+    }
+
+    @Test
+    public void testCombinedTimeoutNamesUnmetCondition() {
+        StubWebDriver driver = new StubWebDriver();
+        driver.setScriptHandler(args -> 1L);
+
+        TimeoutException error = Assert.expectThrows(TimeoutException.class,
+                () -> wait.untilAll(driver, "blocked", Duration.ofMillis(50),
+                        WaitCondition.documentReady(), WaitCondition.textContains("#status", "Done")));
+
+        Assert.assertTrue(error.getMessage().contains("textContains(#status, 'Done')"), error.getMessage());
+    }
+}